@@ -25,6 +25,7 @@ type FileVersionSummary = {
   fileName: string;
   version: number;
   latest: boolean;
+  createdAt: string;
 };
 
 type SignerInfo = {
@@ -80,6 +81,23 @@ function signingStatusLabel(signer: SignerInfo | undefined) {
   };
 }
 
+const FILE_VERSIONS_PAGE_SIZE = 200;
+
+// The endpoint is keyset-paginated; contracts can point at any version, so read every page.
+async function loadFileVersions(projectId: string) {
+  const versions: FileVersionSummary[] = [];
+  let cursor = "";
+  while (true) {
+    const page = await apiFetch<FileVersionSummary[]>(`/api/projects/${projectId}/file-versions?size=${FILE_VERSIONS_PAGE_SIZE}${cursor}`);
+    versions.push(...page);
+    if (page.length < FILE_VERSIONS_PAGE_SIZE) {
+      return versions;
+    }
+    const last = page[page.length - 1];
+    cursor = `&before=${encodeURIComponent(last.createdAt)}&beforeId=${last.id}`;
+  }
+}
+
 export default function ClientContractsPage() {
   const params = useParams<{ projectId: string }>();
   const router = useRouter();
@@ -131,7 +149,7 @@ export default function ClientContractsPage() {
     try {
       const [contractData, versionData] = await Promise.all([
         apiFetch<Contract[]>(`/api/projects/${projectId}/contracts`),
-        apiFetch<FileVersionSummary[]>(`/api/projects/${projectId}/file-versions`),
+        loadFileVersions(projectId),
       ]);
       setContracts(contractData);
       setFileVersions(versionData);
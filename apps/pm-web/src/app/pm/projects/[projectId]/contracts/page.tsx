@@ -27,6 +27,7 @@ type FileVersionSummary = {
   fileName: string;
   version: number;
   latest: boolean;
+  createdAt: string;
 };
 
 type PresignResponse = {
@@ -125,6 +126,23 @@ function sortContracts(items: Contract[]) {
   });
 }
 
+const FILE_VERSIONS_PAGE_SIZE = 200;
+
+// The endpoint is keyset-paginated; contracts can point at any version, so read every page.
+async function loadFileVersions(projectId: string) {
+  const versions: FileVersionSummary[] = [];
+  let cursor = "";
+  while (true) {
+    const page = await apiFetch<FileVersionSummary[]>(`/api/projects/${projectId}/file-versions?size=${FILE_VERSIONS_PAGE_SIZE}${cursor}`);
+    versions.push(...page);
+    if (page.length < FILE_VERSIONS_PAGE_SIZE) {
+      return versions;
+    }
+    const last = page[page.length - 1];
+    cursor = `&before=${encodeURIComponent(last.createdAt)}&beforeId=${last.id}`;
+  }
+}
+
 export default function ProjectContractsPage() {
   const projectId = useProjectId();
   const router = useRouter();
@@ -441,7 +459,7 @@ export default function ProjectContractsPage() {
     try {
       const [contractData, versionData, memberData] = await Promise.all([
         apiFetch<Contract[]>(`/api/projects/${projectId}/contracts`),
-        apiFetch<FileVersionSummary[]>(`/api/projects/${projectId}/file-versions`),
+        loadFileVersions(projectId),
         apiFetch<ProjectMemberAccount[]>(`/api/projects/${projectId}/members`),
       ]);
       setContracts(contractData);
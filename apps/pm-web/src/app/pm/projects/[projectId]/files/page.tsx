@@ -38,15 +38,33 @@ type FileVersion = {
 };
 
 type PresignResponse = {
-  uploadUrl: string;
+  uploadUrl?: string;
   objectKey: string;
   version: number;
   contentType: string;
   size: number;
   checksum: string;
   uploadTicket: string;
+  deduplicated: boolean;
 };
 
+type MultipartSession = {
+  uploadId: string;
+  objectKey: string;
+  version: number;
+  partSize: number;
+  partCount: number;
+  uploadTicket: string;
+};
+
+type UploadedPart = { partNumber: number; size: number };
+type PartUrl = { partNumber: number; uploadUrl: string };
+
+// Files at or above this size go through resumable multipart upload; parts are sent in parallel.
+const MULTIPART_THRESHOLD = 64 * 1024 * 1024;
+const MULTIPART_CONCURRENCY = 4;
+const MULTIPART_URL_BATCH = 20;
+
 type LatestVersionMap = Record<string, FileVersion | null>;
 type DragPayload = { kind: "file"; fileId: string; sourceFolder: string } | { kind: "folder"; sourcePath: string };
 type FileTreeRow =
@@ -105,6 +123,18 @@ function formatFileSize(bytes?: number) {
   return `${value.toFixed(value >= 10 ? 0 : 1)} ${units[unitIndex]}`;
 }
 
+function fileIdentity(file: File) {
+  return `${file.name}-${file.size}-${file.lastModified}`;
+}
+
+// A real content hash lets the server reuse bytes it already stores. Web Crypto is only available in
+// secure contexts, so plain-http deployments fall back to the identity checksum and always upload.
+async function contentChecksum(file: File) {
+  if (!globalThis.crypto?.subtle) return fileIdentity(file);
+  const digest = new Uint8Array(await globalThis.crypto.subtle.digest("SHA-256", await file.arrayBuffer()));
+  return `sha256:${Array.from(digest, (byte) => byte.toString(16).padStart(2, "0")).join("")}`;
+}
+
 function buildTreeRows(items: FileItem[], folders: FileFolder[], collapsedFolders: Set<string>) {
   const normalizedItems = items.map((item) => ({ ...item, folder: normalizeFolderPath(item.folder) }));
   const filesByFolder = new Map<string, FileItem[]>();
@@ -319,9 +349,88 @@ export default function ProjectFilesPage() {
     setEditAttachment(event.target.files?.[0] ?? null);
   }
 
+  async function uploadMultipart(fileId: string, uploadFile: File, contentType: string, checksum: string) {
+    const sessionKey = `bridge.multipart.${fileId}.${checksum}`;
+    let session: MultipartSession | null = null;
+    let uploaded = new Set<number>();
+    const stored = window.localStorage.getItem(sessionKey);
+    if (stored) {
+      try {
+        const candidate = JSON.parse(stored) as MultipartSession;
+        const parts = await apiFetch<UploadedPart[]>(`/api/files/${fileId}/versions/multipart/status`, {
+          method: "POST",
+          body: JSON.stringify({ objectKey: candidate.objectKey, uploadId: candidate.uploadId, uploadTicket: candidate.uploadTicket }),
+        });
+        session = candidate;
+        uploaded = new Set(parts.map((part) => part.partNumber));
+      } catch {
+        window.localStorage.removeItem(sessionKey);
+      }
+    }
+    if (!session) {
+      session = await apiFetch<MultipartSession>(`/api/files/${fileId}/versions/multipart`, {
+        method: "POST",
+        body: JSON.stringify({ contentType, size: uploadFile.size, checksum }),
+      });
+      window.localStorage.setItem(sessionKey, JSON.stringify(session));
+    }
+    const active = session;
+    const pending: number[] = [];
+    for (let partNumber = 1; partNumber <= active.partCount; partNumber += 1) {
+      if (!uploaded.has(partNumber)) {
+        pending.push(partNumber);
+      }
+    }
+
+    for (let offset = 0; offset < pending.length; offset += MULTIPART_URL_BATCH) {
+      const partUrls = await apiFetch<PartUrl[]>(`/api/files/${fileId}/versions/multipart/parts`, {
+        method: "POST",
+        body: JSON.stringify({
+          objectKey: active.objectKey,
+          uploadId: active.uploadId,
+          uploadTicket: active.uploadTicket,
+          partNumbers: pending.slice(offset, offset + MULTIPART_URL_BATCH),
+        }),
+      });
+      const queue = [...partUrls];
+      const worker = async () => {
+        for (let next = queue.shift(); next; next = queue.shift()) {
+          const start = (next.partNumber - 1) * active.partSize;
+          const response = await fetch(next.uploadUrl, {
+            method: "PUT",
+            body: uploadFile.slice(start, Math.min(start + active.partSize, uploadFile.size)),
+          });
+          if (!response.ok) {
+            throw new Error("첨부 파일 업로드에 실패했습니다. 다시 시도하면 이어서 업로드합니다.");
+          }
+        }
+      };
+      await Promise.all(Array.from({ length: Math.min(MULTIPART_CONCURRENCY, queue.length) }, worker));
+    }
+
+    await apiFetch(`/api/files/${fileId}/versions/multipart/complete`, {
+      method: "POST",
+      body: JSON.stringify({
+        version: active.version,
+        objectKey: active.objectKey,
+        uploadId: active.uploadId,
+        contentType,
+        size: uploadFile.size,
+        checksum,
+        uploadTicket: active.uploadTicket,
+      }),
+    });
+    window.localStorage.removeItem(sessionKey);
+  }
+
   async function uploadFileVersion(fileId: string, uploadFile: File) {
     const contentType = uploadFile.type || "application/octet-stream";
-    const checksum = `${uploadFile.name}-${uploadFile.size}-${uploadFile.lastModified}`;
+    if (uploadFile.size >= MULTIPART_THRESHOLD) {
+      // Hashing would read the whole file up front, so large uploads keep the cheap identity checksum.
+      await uploadMultipart(fileId, uploadFile, contentType, fileIdentity(uploadFile));
+      return;
+    }
+    const checksum = await contentChecksum(uploadFile);
     const presign = await apiFetch<PresignResponse>(`/api/files/${fileId}/versions/presign`, {
       method: "POST",
       body: JSON.stringify({
@@ -331,14 +440,17 @@ export default function ProjectFilesPage() {
       }),
     });
 
-    const uploadResponse = await fetch(presign.uploadUrl, {
-      method: "PUT",
-      headers: { "Content-Type": contentType },
-      body: uploadFile,
-    });
+    // The server already stores identical bytes, so only the version needs recording.
+    if (!presign.deduplicated && presign.uploadUrl) {
+      const uploadResponse = await fetch(presign.uploadUrl, {
+        method: "PUT",
+        headers: { "Content-Type": contentType },
+        body: uploadFile,
+      });
 
-    if (!uploadResponse.ok) {
-      throw new Error("첨부 파일 업로드에 실패했습니다.");
+      if (!uploadResponse.ok) {
+        throw new Error("첨부 파일 업로드에 실패했습니다.");
+      }
     }
 
     await apiFetch(`/api/files/${fileId}/versions/complete`, {
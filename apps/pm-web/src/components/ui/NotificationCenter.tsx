@@ -25,6 +25,7 @@ export function NotificationCenter() {
     let stream: EventSource | null = null;
     let reconnectTimer: number | null = null;
     let reconnectAttempts = 0;
+    let lastEventId: string | null = null;
     const RECOVERING_MESSAGE_ATTEMPTS = 5;
     const MAX_RECONNECT_DELAY_MS = 10000;
     const BASE_RECONNECT_DELAY_MS = 1000;
@@ -44,7 +45,9 @@ export function NotificationCenter() {
 
     const buildStreamRequest = () => {
       return {
-        url: `${API_BASE}/api/notifications/stream?app=pm`,
+        url: `${API_BASE}/api/notifications/stream?app=pm${
+          lastEventId ? `&lastEventId=${encodeURIComponent(lastEventId)}` : ""
+        }`,
         withCredentials: true,
       };
     };
@@ -56,7 +59,14 @@ export function NotificationCenter() {
       }
     };
 
+    const rememberEventId = (event: MessageEvent) => {
+      if (event.lastEventId) {
+        lastEventId = event.lastEventId;
+      }
+    };
+
     const onCreated = (event: MessageEvent) => {
+      rememberEventId(event);
       try {
         const payload = JSON.parse(event.data) as Notice;
         setItems((prev) => [payload, ...prev].slice(0, 20));
@@ -65,6 +75,26 @@ export function NotificationCenter() {
       }
     };
 
+    // A coalesced notification got more events; swap in the new count and message in place.
+    const onUpdated = (event: MessageEvent) => {
+      rememberEventId(event);
+      try {
+        const payload = JSON.parse(event.data) as Notice;
+        setItems((prev) =>
+          prev.some((item) => item.id === payload.id)
+            ? prev.map((item) => (item.id === payload.id ? payload : item))
+            : [payload, ...prev].slice(0, 20)
+        );
+      } catch {
+        // ignore malformed payloads
+      }
+    };
+
+    // The server could not replay everything missed while disconnected, so reload the list.
+    const onResync = () => {
+      void load();
+    };
+
     const onOpen = () => {
       reconnectAttempts = 0;
       if (active) {
@@ -78,6 +108,9 @@ export function NotificationCenter() {
       }
       stream.removeEventListener("open", onOpen as EventListener);
       stream.removeEventListener("notification.created", onCreated as EventListener);
+      stream.removeEventListener("notification.updated", onUpdated as EventListener);
+      stream.removeEventListener("system.ping", rememberEventId as EventListener);
+      stream.removeEventListener("system.resync", onResync as EventListener);
       stream.removeEventListener("error", onError as EventListener);
       stream.close();
       stream = null;
@@ -133,6 +166,9 @@ export function NotificationCenter() {
       stream = new EventSource(request.url, { withCredentials: request.withCredentials });
       stream.addEventListener("open", onOpen as EventListener);
       stream.addEventListener("notification.created", onCreated as EventListener);
+      stream.addEventListener("notification.updated", onUpdated as EventListener);
+      stream.addEventListener("system.ping", rememberEventId as EventListener);
+      stream.addEventListener("system.resync", onResync as EventListener);
       stream.addEventListener("error", onError as EventListener);
     };
 
@@ -2,13 +2,15 @@ package com.bridge.backend;
 
 import com.bridge.backend.common.security.JwtProperties;
 import com.bridge.backend.config.SecurityProperties;
+import com.bridge.backend.domain.notification.EmailProperties;
+import com.bridge.backend.domain.notification.OutboxProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableConfigurationProperties({JwtProperties.class, SecurityProperties.class})
+@EnableConfigurationProperties({JwtProperties.class, SecurityProperties.class, OutboxProperties.class, EmailProperties.class})
 @EnableScheduling
 public class BackendApplication {
 
@@ -0,0 +1,8 @@
+package com.bridge.backend.common.model.enums;
+
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.bridge.backend.common.model.enums;
+
+public enum NotificationAudience {
+    ALL,
+    PM,
+    CLIENT
+}
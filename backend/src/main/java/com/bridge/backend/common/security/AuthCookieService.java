@@ -13,12 +13,14 @@ import org.springframework.stereotype.Service;
 import java.time.Duration;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class AuthCookieService {
     public static final String APP_HEADER_NAME = "X-Bridge-App";
     private static final String APP_QUERY_PARAM = "app";
-    private static final String SSE_STREAM_PATH = "/api/notifications/stream";
+    // Browsers cannot set headers on EventSource or WebSocket handshakes, so these paths take the scope from ?app=.
+    private static final Set<String> STREAM_PATHS = Set.of("/api/notifications/stream", "/api/notifications/socket");
     private static final String APP_SCOPE_REQUIRED_CODE = "APP_SCOPE_REQUIRED";
     private static final String APP_SCOPE_REQUIRED_MESSAGE = "요청 앱 스코프가 필요합니다.";
 
@@ -133,7 +135,7 @@ public class AuthCookieService {
     }
 
     private boolean isSseScopeFallbackAllowed(HttpServletRequest request) {
-        return SSE_STREAM_PATH.equals(normalizePath(request));
+        return STREAM_PATHS.contains(normalizePath(request));
     }
 
     private String normalizePath(HttpServletRequest request) {
@@ -39,7 +39,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 || path.startsWith("/api/auth/first-password")
                 || path.startsWith("/v3/api-docs")
                 || path.startsWith("/swagger-ui")
-                || path.equals("/actuator/health");
+                || path.equals("/actuator/health")
+                || path.startsWith("/api/storage/local/");
     }
 
     @Override
@@ -0,0 +1,6 @@
+package com.bridge.backend.common.tenant;
+
+import java.util.UUID;
+
+public record MembershipChangedEvent(UUID tenantId, UUID projectId) {
+}
@@ -0,0 +1,26 @@
+package com.bridge.backend.common.tenant;
+
+import com.bridge.backend.common.model.enums.MemberRole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public record MembershipSnapshot(List<Member> members, Map<UUID, MemberRole> rolesByUserId) {
+
+    public static MembershipSnapshot of(List<Member> members) {
+        Map<UUID, MemberRole> rolesByUserId = new HashMap<>();
+        for (Member member : members) {
+            rolesByUserId.putIfAbsent(member.userId(), member.role());
+        }
+        return new MembershipSnapshot(List.copyOf(members), Map.copyOf(rolesByUserId));
+    }
+
+    public MemberRole roleOf(UUID userId) {
+        return rolesByUserId.get(userId);
+    }
+
+    public record Member(UUID tenantId, UUID userId, MemberRole role) {
+    }
+}
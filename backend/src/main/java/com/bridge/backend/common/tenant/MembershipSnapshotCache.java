@@ -0,0 +1,130 @@
+package com.bridge.backend.common.tenant;
+
+import com.bridge.backend.domain.admin.TenantMemberRepository;
+import com.bridge.backend.domain.project.ProjectMemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class MembershipSnapshotCache {
+    private final ProjectMemberRepository projectMemberRepository;
+    private final TenantMemberRepository tenantMemberRepository;
+    private final long ttlNanos;
+    private final Map<CacheKey, Entry> entries;
+    // Invalidation counts live outside the LRU: an evicted tombstone would let a load that started before the
+    // invalidation cache its stale result. One counter per project or tenant ever invalidated, guarded by entries.
+    private final Map<CacheKey, Long> versions = new HashMap<>();
+
+    public MembershipSnapshotCache(ProjectMemberRepository projectMemberRepository,
+                                   TenantMemberRepository tenantMemberRepository,
+                                   @Value("${bridge.membership-cache.max-entries:5000}") int maxEntries,
+                                   @Value("${bridge.membership-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.projectMemberRepository = projectMemberRepository;
+        this.tenantMemberRepository = tenantMemberRepository;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(1L, ttlSeconds));
+        int capacity = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public MembershipSnapshot projectMembers(UUID projectId) {
+        return get(new CacheKey(Scope.PROJECT, projectId));
+    }
+
+    public MembershipSnapshot tenantMembers(UUID tenantId) {
+        return get(new CacheKey(Scope.TENANT, tenantId));
+    }
+
+    public View newView() {
+        return new View(this);
+    }
+
+    // Invalidate only after commit, otherwise a concurrent reload could cache the pre-commit membership.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(MembershipChangedEvent event) {
+        invalidate(new CacheKey(Scope.TENANT, event.tenantId()));
+        if (event.projectId() != null) {
+            invalidate(new CacheKey(Scope.PROJECT, event.projectId()));
+        }
+    }
+
+    private MembershipSnapshot get(CacheKey key) {
+        long version;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.loadedAt() < ttlNanos) {
+                return entry.snapshot();
+            }
+            version = versions.getOrDefault(key, 0L);
+        }
+
+        MembershipSnapshot loaded = load(key);
+        synchronized (entries) {
+            // Skip caching when the key was invalidated while loading; the next reader reloads.
+            if (versions.getOrDefault(key, 0L) == version) {
+                entries.put(key, new Entry(loaded, System.nanoTime()));
+            }
+        }
+        return loaded;
+    }
+
+    private void invalidate(CacheKey key) {
+        synchronized (entries) {
+            versions.merge(key, 1L, Long::sum);
+            entries.remove(key);
+        }
+    }
+
+    private MembershipSnapshot load(CacheKey key) {
+        List<MembershipSnapshot.Member> members = switch (key.scope()) {
+            case PROJECT -> projectMemberRepository.findByProjectIdAndDeletedAtIsNull(key.id()).stream()
+                    .map(member -> new MembershipSnapshot.Member(member.getTenantId(), member.getUserId(), member.getRole()))
+                    .toList();
+            case TENANT -> tenantMemberRepository.findByTenantIdAndDeletedAtIsNull(key.id()).stream()
+                    .map(member -> new MembershipSnapshot.Member(member.getTenantId(), member.getUserId(), member.getRole()))
+                    .toList();
+        };
+        return MembershipSnapshot.of(members);
+    }
+
+    public static final class View {
+        private final MembershipSnapshotCache cache;
+        private final Map<UUID, MembershipSnapshot> projects = new HashMap<>();
+        private final Map<UUID, MembershipSnapshot> tenants = new HashMap<>();
+
+        private View(MembershipSnapshotCache cache) {
+            this.cache = cache;
+        }
+
+        public MembershipSnapshot projectMembers(UUID projectId) {
+            return projects.computeIfAbsent(projectId, cache::projectMembers);
+        }
+
+        public MembershipSnapshot tenantMembers(UUID tenantId) {
+            return tenants.computeIfAbsent(tenantId, cache::tenantMembers);
+        }
+    }
+
+    private enum Scope {
+        PROJECT,
+        TENANT
+    }
+
+    private record CacheKey(Scope scope, UUID id) {
+    }
+
+    private record Entry(MembershipSnapshot snapshot, long loadedAt) {
+    }
+}
@@ -5,6 +5,8 @@ import com.bridge.backend.common.model.enums.MemberRole;
 import com.bridge.backend.common.model.enums.UserStatus;
 import com.bridge.backend.common.security.SecurityUtils;
 import com.bridge.backend.common.tenant.AccessGuardService;
+import com.bridge.backend.domain.notification.OutboxDeadLetterEntity;
+import com.bridge.backend.domain.notification.OutboxService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -23,10 +25,12 @@ import java.util.UUID;
 public class AdminController {
     private final AdminService adminService;
     private final AccessGuardService accessGuardService;
+    private final OutboxService outboxService;
 
-    public AdminController(AdminService adminService, AccessGuardService accessGuardService) {
+    public AdminController(AdminService adminService, AccessGuardService accessGuardService, OutboxService outboxService) {
         this.adminService = adminService;
         this.accessGuardService = accessGuardService;
+        this.outboxService = outboxService;
     }
 
     @PostMapping("/tenants")
@@ -118,6 +122,37 @@ public class AdminController {
         return ApiSuccess.of(response);
     }
 
+    @GetMapping("/outbox/dead-letters")
+    public ApiSuccess<List<Map<String, Object>>> listDeadLetters(@RequestParam(required = false) UUID tenantId) {
+        accessGuardService.requirePlatformAdmin(SecurityUtils.currentUserId());
+        return ApiSuccess.of(outboxService.listDeadLetters(tenantId).stream()
+                .map(this::toDeadLetterResponse)
+                .toList());
+    }
+
+    @PostMapping("/outbox/dead-letters/{deadLetterId}/replay")
+    public ApiSuccess<Map<String, Object>> replayDeadLetter(@PathVariable UUID deadLetterId) {
+        UUID actorId = SecurityUtils.currentUserId();
+        accessGuardService.requirePlatformAdmin(actorId);
+        return ApiSuccess.of(toDeadLetterResponse(outboxService.replayDeadLetter(deadLetterId, actorId)));
+    }
+
+    private Map<String, Object> toDeadLetterResponse(OutboxDeadLetterEntity deadLetter) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", deadLetter.getId());
+        row.put("tenantId", deadLetter.getTenantId());
+        row.put("outboxEventId", deadLetter.getOutboxEventId());
+        row.put("aggregateType", deadLetter.getAggregateType());
+        row.put("aggregateId", deadLetter.getAggregateId());
+        row.put("eventType", deadLetter.getEventType());
+        row.put("eventPayload", deadLetter.getEventPayload());
+        row.put("attemptCount", deadLetter.getAttemptCount());
+        row.put("lastError", deadLetter.getLastError());
+        row.put("replayedAt", deadLetter.getReplayedAt());
+        row.put("createdAt", deadLetter.getCreatedAt());
+        return row;
+    }
+
     public record CreateTenantRequest(@NotBlank String name, @NotBlank String slug) {
     }
 
@@ -3,12 +3,14 @@ package com.bridge.backend.domain.admin;
 import com.bridge.backend.common.api.AppException;
 import com.bridge.backend.common.model.enums.MemberRole;
 import com.bridge.backend.common.model.enums.UserStatus;
+import com.bridge.backend.common.tenant.MembershipChangedEvent;
 import com.bridge.backend.domain.auth.UserEntity;
 import com.bridge.backend.domain.auth.UserRepository;
 import com.bridge.backend.domain.project.ProjectEntity;
 import com.bridge.backend.domain.project.ProjectMemberEntity;
 import com.bridge.backend.domain.project.ProjectMemberRepository;
 import com.bridge.backend.domain.project.ProjectRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -42,19 +44,22 @@ public class AdminService {
     private final ProjectMemberRepository projectMemberRepository;
     private final ProjectRepository projectRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AdminService(TenantRepository tenantRepository,
                         TenantMemberRepository tenantMemberRepository,
                         UserRepository userRepository,
                         ProjectMemberRepository projectMemberRepository,
                         ProjectRepository projectRepository,
-                        PasswordEncoder passwordEncoder) {
+                        PasswordEncoder passwordEncoder,
+                        ApplicationEventPublisher eventPublisher) {
         this.tenantRepository = tenantRepository;
         this.tenantMemberRepository = tenantMemberRepository;
         this.userRepository = userRepository;
         this.projectMemberRepository = projectMemberRepository;
         this.projectRepository = projectRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     public record SetupCodeIssueResult(UUID userId,
@@ -141,6 +146,7 @@ public class AdminService {
         member.setRole(resolvedRole);
         member.setUpdatedBy(actorId);
         tenantMemberRepository.save(member);
+        eventPublisher.publishEvent(new MembershipChangedEvent(tenantId, null));
 
         syncProjectMembershipForSingleProjectTenant(tenantId, userId, resolvedRole, actorId);
 
@@ -307,5 +313,6 @@ public class AdminService {
         projectMember.setRole(role);
         projectMember.setUpdatedBy(actorId);
         projectMemberRepository.save(projectMember);
+        eventPublisher.publishEvent(new MembershipChangedEvent(tenantId, projectId));
     }
 }
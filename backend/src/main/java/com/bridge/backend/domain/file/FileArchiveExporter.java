@@ -0,0 +1,178 @@
+package com.bridge.backend.domain.file;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Writes many stored objects into one ZIP stream. The next few objects are fetched in parallel into spool
+// files while the current entry is written, so memory stays flat no matter how many files are exported.
+@Component
+public class FileArchiveExporter {
+    private static final Logger log = LoggerFactory.getLogger(FileArchiveExporter.class);
+    private static final Set<String> COMPRESSED_TYPES = Set.of(
+            "application/pdf",
+            "application/zip",
+            "application/gzip",
+            "application/x-7z-compressed",
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+            "application/vnd.openxmlformats-officedocument.presentationml.presentation"
+    );
+
+    private final StorageService storageService;
+    private final ExecutorService fetchPool;
+    private final int prefetch;
+    private final Path spoolDirectory;
+
+    @Autowired
+    public FileArchiveExporter(StorageService storageService,
+                               @Value("${bridge.storage.export.concurrency:8}") int concurrency,
+                               @Value("${bridge.storage.export.prefetch:4}") int prefetch) {
+        this(storageService, concurrency, prefetch, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    FileArchiveExporter(StorageService storageService, int concurrency, int prefetch, Path spoolDirectory) {
+        this.storageService = storageService;
+        this.fetchPool = Executors.newFixedThreadPool(Math.max(1, concurrency), new CustomizableThreadFactory("file-export-"));
+        this.prefetch = Math.max(1, prefetch);
+        this.spoolDirectory = spoolDirectory;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fetchPool.shutdownNow();
+    }
+
+    // Entries are written in list order. The stream is finished but not closed; that is up to the caller.
+    public void write(List<Entry> entries, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        Deque<CompletableFuture<Spooled>> window = new ArrayDeque<>();
+        int next = 0;
+        try {
+            for (Entry entry : entries) {
+                while (window.size() < prefetch && next < entries.size()) {
+                    window.add(fetch(entries.get(next++)));
+                }
+                Spooled spooled = await(window.poll());
+                try {
+                    zip.putNextEntry(zipEntry(entry, spooled));
+                    Files.copy(spooled.path(), zip);
+                    zip.closeEntry();
+                } finally {
+                    deleteQuietly(spooled.path());
+                }
+            }
+            zip.finish();
+        } finally {
+            // The client went away or a fetch failed; drop whatever is still being prefetched.
+            window.forEach(pending -> pending.whenComplete((spooled, error) -> {
+                if (spooled != null) {
+                    deleteQuietly(spooled.path());
+                }
+            }));
+        }
+    }
+
+    private CompletableFuture<Spooled> fetch(Entry entry) {
+        return CompletableFuture.supplyAsync(() -> {
+            Path path = null;
+            try {
+                path = Files.createTempFile(spoolDirectory, "bridge-export-", ".part");
+                CRC32 crc = new CRC32();
+                try (InputStream input = new CheckedInputStream(storageService.downloadObjectStream(entry.objectKey(), entry.size()), crc)) {
+                    long size = Files.copy(input, path, StandardCopyOption.REPLACE_EXISTING);
+                    return new Spooled(path, size, crc.getValue());
+                }
+            } catch (IOException ex) {
+                deleteQuietly(path);
+                throw new UncheckedIOException(ex);
+            } catch (RuntimeException ex) {
+                deleteQuietly(path);
+                throw ex;
+            }
+        }, fetchPool);
+    }
+
+    private static ZipEntry zipEntry(Entry entry, Spooled spooled) {
+        ZipEntry zipEntry = new ZipEntry(entry.name());
+        if (entry.modifiedAt() != null) {
+            zipEntry.setLastModifiedTime(FileTime.from(entry.modifiedAt().toInstant()));
+        }
+        // Deflating PDFs, images and office documents costs CPU for no gain; the spool already knows size and CRC.
+        if (alreadyCompressed(entry.contentType())) {
+            zipEntry.setMethod(ZipEntry.STORED);
+            zipEntry.setSize(spooled.size());
+            zipEntry.setCompressedSize(spooled.size());
+            zipEntry.setCrc(spooled.crc());
+        }
+        return zipEntry;
+    }
+
+    static boolean alreadyCompressed(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.split(";", 2)[0].trim().toLowerCase();
+        return COMPRESSED_TYPES.contains(type)
+                || (type.startsWith("image/") && !type.equals("image/svg+xml") && !type.equals("image/bmp"))
+                || type.startsWith("video/")
+                || type.startsWith("audio/");
+    }
+
+    private static Spooled await(CompletableFuture<Spooled> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw ex;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete export spool file {}", path, ex);
+        }
+    }
+
+    public record Entry(String name, String objectKey, long size, String contentType, OffsetDateTime modifiedAt) {
+    }
+
+    private record Spooled(Path path, long size, long crc) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.bridge.backend.domain.file;
+
+import com.bridge.backend.common.model.TenantScopedEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+// One stored object shared by every file version with the same verified content.
+@Getter
+@Setter
+@Entity
+@Table(name = "file_blobs")
+public class FileBlobEntity extends TenantScopedEntity {
+    @Column(nullable = false, length = 120)
+    private String checksum;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "object_key", nullable = false, length = 400)
+    private String objectKey;
+
+    @Column(name = "content_type", nullable = false, length = 120)
+    private String contentType;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+}
@@ -0,0 +1,49 @@
+package com.bridge.backend.domain.file;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface FileBlobRepository extends JpaRepository<FileBlobEntity, UUID> {
+    Optional<FileBlobEntity> findByTenantIdAndChecksumAndSizeAndDeletedAtIsNull(UUID tenantId, String checksum, long size);
+
+    Optional<FileBlobEntity> findByTenantIdAndObjectKeyAndDeletedAtIsNull(UUID tenantId, String objectKey);
+
+    List<FileBlobEntity> findByTenantIdAndObjectKeyInAndDeletedAtIsNull(UUID tenantId, Collection<String> objectKeys);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE FileBlobEntity b
+            SET b.refCount = b.refCount + 1, b.updatedAt = :now
+            WHERE b.id = :id AND b.deletedAt IS NULL
+            """)
+    int incrementRefCount(@Param("id") UUID id, @Param("now") OffsetDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE FileBlobEntity b
+            SET b.refCount = CASE WHEN b.refCount > :count THEN b.refCount - :count ELSE 0 END, b.updatedAt = :now
+            WHERE b.id = :id AND b.deletedAt IS NULL AND b.refCount > 0
+            """)
+    int decrementRefCount(@Param("id") UUID id, @Param("count") int count, @Param("now") OffsetDateTime now);
+
+    // Retires the blob only if nothing linked to it in the meantime.
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE FileBlobEntity b
+            SET b.deletedAt = :now, b.updatedAt = :now
+            WHERE b.id = :id AND b.deletedAt IS NULL AND b.refCount = 0
+            """)
+    int retireIfUnreferenced(@Param("id") UUID id, @Param("now") OffsetDateTime now);
+}
@@ -0,0 +1,160 @@
+package com.bridge.backend.domain.file;
+
+import com.bridge.backend.common.api.AppException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+// Content-addressed index over stored objects. Only real content hashes take part: the server re-hashes the
+// stored bytes before a blob is indexed, so a wrong or made-up checksum can never point other versions at it.
+@Service
+public class FileBlobService {
+    private static final Pattern CONTENT_CHECKSUM = Pattern.compile("sha256:[0-9a-f]{64}");
+
+    private final FileBlobRepository fileBlobRepository;
+    private final StorageService storageService;
+    private final boolean enabled;
+    private final long maxBytes;
+
+    public FileBlobService(FileBlobRepository fileBlobRepository,
+                           StorageService storageService,
+                           @Value("${bridge.storage.dedup.enabled:true}") boolean enabled,
+                           @Value("${bridge.storage.dedup.max-bytes:67108864}") long maxBytes) {
+        this.fileBlobRepository = fileBlobRepository;
+        this.storageService = storageService;
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+    }
+
+    // Bounded by size because indexing reads the whole object back once to verify its hash.
+    public boolean eligible(String checksum, long size) {
+        return enabled && size > 0 && size <= maxBytes && checksum != null && CONTENT_CHECKSUM.matcher(checksum).matches();
+    }
+
+    public Optional<FileBlobEntity> findReusable(UUID tenantId, String checksum, long size) {
+        if (!eligible(checksum, size)) {
+            return Optional.empty();
+        }
+        return fileBlobRepository.findByTenantIdAndChecksumAndSizeAndDeletedAtIsNull(tenantId, checksum, size);
+    }
+
+    // Takes a reference for a new version and returns the object key it should point at, which differs from
+    // objectKey when identical bytes were stored by another upload in the meantime.
+    public String link(UUID tenantId, UUID userId, String objectKey, String contentType, String checksum, long size) {
+        if (!eligible(checksum, size)) {
+            return objectKey;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        Optional<FileBlobEntity> shared = fileBlobRepository.findByTenantIdAndObjectKeyAndDeletedAtIsNull(tenantId, objectKey);
+        if (shared.isPresent()) {
+            // The upload was skipped at presign time and the ticket names this blob directly.
+            FileBlobEntity blob = shared.get();
+            if (!blob.getChecksum().equals(checksum) || blob.getSize() != size
+                    || fileBlobRepository.incrementRefCount(blob.getId(), now) == 0) {
+                throw new AppException(HttpStatus.CONFLICT, "FILE_BLOB_GONE", "Stored content is no longer available. Upload the file again.");
+            }
+            return objectKey;
+        }
+
+        // The upload URL stays writable until it expires, so the index only ever points at a server-side copy
+        // of exactly the bytes that were hashed; the client-writable object is dropped.
+        try (StorageService.SpooledObject upload = storageService.spool(objectKey)) {
+            if (upload.size() != size || !checksum.equals("sha256:" + upload.sha256())) {
+                storageService.deleteObject(objectKey);
+                throw new AppException(HttpStatus.BAD_REQUEST, "FILE_CHECKSUM_MISMATCH", "Uploaded content does not match its checksum.");
+            }
+            // Same bytes were stored while this upload was in flight; keep one copy.
+            Optional<String> existing = reuseStored(tenantId, objectKey, checksum, size, now);
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+            String blobKey = blobKey(tenantId, upload.sha256());
+            storageService.putObject(blobKey, contentType, upload.path());
+            FileBlobEntity blob = new FileBlobEntity();
+            blob.setTenantId(tenantId);
+            blob.setChecksum(checksum);
+            blob.setSize(size);
+            blob.setObjectKey(blobKey);
+            blob.setContentType(contentType);
+            blob.setRefCount(1);
+            blob.setCreatedBy(userId);
+            blob.setUpdatedBy(userId);
+            try {
+                fileBlobRepository.save(blob);
+            } catch (DataIntegrityViolationException ex) {
+                // Another upload of the same bytes indexed its copy between the lookup above and this insert.
+                storageService.deleteObject(blobKey);
+                return reuseStored(tenantId, objectKey, checksum, size, now)
+                        .orElseThrow(() -> new AppException(HttpStatus.CONFLICT, "FILE_BLOB_CONFLICT", "Stored content changed during upload. Try again."));
+            } catch (RuntimeException ex) {
+                storageService.deleteObject(blobKey);
+                throw ex;
+            }
+            storageService.deleteObject(objectKey);
+            return blobKey;
+        }
+    }
+
+    private Optional<String> reuseStored(UUID tenantId, String objectKey, String checksum, long size, OffsetDateTime now) {
+        Optional<FileBlobEntity> existing = fileBlobRepository.findByTenantIdAndChecksumAndSizeAndDeletedAtIsNull(tenantId, checksum, size);
+        if (existing.isEmpty() || fileBlobRepository.incrementRefCount(existing.get().getId(), now) == 0) {
+            return Optional.empty();
+        }
+        storageService.deleteObject(objectKey);
+        return Optional.of(existing.get().getObjectKey());
+    }
+
+    // Drops one reference; the stored bytes are deleted only once no version points at them. Objects that
+    // were never indexed are left to the caller.
+    public void release(UUID tenantId, String objectKey) {
+        release(tenantId, List.of(objectKey));
+    }
+
+    // One reference per listed key, so a key listed twice (two versions of the same bytes) drops two.
+    public void release(UUID tenantId, Collection<String> objectKeys) {
+        if (objectKeys.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> references = new HashMap<>();
+        objectKeys.forEach(objectKey -> references.merge(objectKey, 1, Integer::sum));
+        OffsetDateTime now = OffsetDateTime.now();
+        for (FileBlobEntity blob : fileBlobRepository.findByTenantIdAndObjectKeyInAndDeletedAtIsNull(tenantId, references.keySet())) {
+            fileBlobRepository.decrementRefCount(blob.getId(), references.get(blob.getObjectKey()), now);
+            if (fileBlobRepository.retireIfUnreferenced(blob.getId(), now) > 0) {
+                deleteAfterCommit(blob.getObjectKey());
+            }
+        }
+    }
+
+    // A rolled-back delete must still find its bytes, so the object goes only once the retirement is committed.
+    private void deleteAfterCommit(String objectKey) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            storageService.deleteObject(objectKey);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                storageService.deleteObject(objectKey);
+            }
+        });
+    }
+
+    // No presigned URL is ever issued for this prefix. The random suffix keeps a blob stored again after its
+    // predecessor was retired from sharing a key with the predecessor's pending delete.
+    private static String blobKey(UUID tenantId, String sha256) {
+        return "blobs/" + tenantId + "/" + sha256 + "/" + UUID.randomUUID();
+    }
+}
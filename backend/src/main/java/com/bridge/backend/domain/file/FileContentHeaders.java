@@ -0,0 +1,108 @@
+package com.bridge.backend.domain.file;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+// Conditional and Range request handling for immutable file version content.
+final class FileContentHeaders {
+    // A version's bytes never change once uploaded, so clients may keep them for a year.
+    static final String IMMUTABLE_CACHE_CONTROL = "private, max-age=31536000, immutable";
+
+    private FileContentHeaders() {
+    }
+
+    // Client checksums may be "name-size-lastModified" with spaces and non-Latin-1 names, which is not a valid
+    // entity-tag; a hash of server-side values always is, and still changes if the stored checksum does.
+    static String etag(UUID versionId, String checksum) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((versionId + ":" + checksum).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    static boolean notModified(HttpHeaders request, String etag) {
+        List<String> ifNoneMatch = request.getIfNoneMatch();
+        for (String candidate : ifNoneMatch) {
+            for (String tag : candidate.split(",")) {
+                String trimmed = tag.trim();
+                if ("*".equals(trimmed) || weakCompare(trimmed, etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Returns null when the whole body should be sent: no Range, an If-Range that no longer matches,
+    // a malformed header, or several ranges (which we answer with the full content rather than multipart).
+    static ByteRange resolveRange(HttpHeaders request, String etag, long lastModifiedMillis, long size) {
+        if (request.getFirst(HttpHeaders.RANGE) == null || !ifRangeMatches(request, etag, lastModifiedMillis)) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = request.getRange();
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        if (ranges.size() != 1) {
+            return null;
+        }
+        HttpRange range = ranges.get(0);
+        if (size <= 0) {
+            return ByteRange.UNSATISFIABLE;
+        }
+        try {
+            long start = range.getRangeStart(size);
+            long end = range.getRangeEnd(size);
+            return start < size && start <= end ? new ByteRange(start, end) : ByteRange.UNSATISFIABLE;
+        } catch (IllegalArgumentException ex) {
+            return ByteRange.UNSATISFIABLE;
+        }
+    }
+
+    private static boolean ifRangeMatches(HttpHeaders request, String etag, long lastModifiedMillis) {
+        String ifRange = request.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        String trimmed = ifRange.trim();
+        if (trimmed.startsWith("\"") || trimmed.startsWith("W/")) {
+            // If-Range requires a strong comparison.
+            return trimmed.equals(etag);
+        }
+        try {
+            long ifRangeDate = request.getFirstDate(HttpHeaders.IF_RANGE);
+            return ifRangeDate >= 0 && lastModifiedMillis / 1000 <= ifRangeDate / 1000;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    private static boolean weakCompare(String candidate, String etag) {
+        String normalized = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+        return normalized.equals(etag);
+    }
+
+    record ByteRange(long start, long end) {
+        static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+        boolean satisfiable() {
+            return start >= 0;
+        }
+
+        long length() {
+            return end - start + 1;
+        }
+    }
+}
@@ -11,36 +11,51 @@ import com.bridge.backend.domain.notification.OutboxService;
 import com.bridge.backend.domain.project.ProjectMemberEntity;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 @RestController
 public class FileController {
+    private static final int MAX_PART_URLS_PER_REQUEST = 100;
+    private static final int MAX_FILE_VERSIONS_PAGE_SIZE = 200;
+
     private final FileRepository fileRepository;
     private final FileFolderRepository fileFolderRepository;
     private final FileVersionRepository fileVersionRepository;
     private final FileCommentRepository fileCommentRepository;
     private final AccessGuardService guardService;
     private final StorageService storageService;
+    private final FileBlobService fileBlobService;
+    private final FileArchiveExporter fileArchiveExporter;
     private final OutboxService outboxService;
 
     public FileController(FileRepository fileRepository,
@@ -49,6 +64,8 @@ public class FileController {
                           FileCommentRepository fileCommentRepository,
                           AccessGuardService guardService,
                           StorageService storageService,
+                          FileBlobService fileBlobService,
+                          FileArchiveExporter fileArchiveExporter,
                           OutboxService outboxService) {
         this.fileRepository = fileRepository;
         this.fileFolderRepository = fileFolderRepository;
@@ -56,6 +73,8 @@ public class FileController {
         this.fileCommentRepository = fileCommentRepository;
         this.guardService = guardService;
         this.storageService = storageService;
+        this.fileBlobService = fileBlobService;
+        this.fileArchiveExporter = fileArchiveExporter;
         this.outboxService = outboxService;
     }
 
@@ -106,6 +125,7 @@ public class FileController {
         return ApiSuccess.of(fileFolderRepository.save(folder));
     }
 
+    @Transactional
     @PostMapping("/api/projects/{projectId}/file-folders/rename")
     public ApiSuccess<Map<String, Object>> renameFolder(@PathVariable UUID projectId, @RequestBody @Valid RenameFolderRequest request) {
         var principal = SecurityUtils.requirePrincipal();
@@ -123,6 +143,7 @@ public class FileController {
         return ApiSuccess.of(relocateFolderTree(projectId, principal.getTenantId(), principal.getUserId(), sourcePath, destinationPath));
     }
 
+    @Transactional
     @PostMapping("/api/projects/{projectId}/file-folders/move")
     public ApiSuccess<Map<String, Object>> moveFolder(@PathVariable UUID projectId, @RequestBody @Valid MoveFolderRequest request) {
         var principal = SecurityUtils.requirePrincipal();
@@ -146,6 +167,7 @@ public class FileController {
         return ApiSuccess.of(relocateFolderTree(projectId, principal.getTenantId(), principal.getUserId(), sourcePath, destinationPath));
     }
 
+    @Transactional
     @PostMapping("/api/projects/{projectId}/file-folders/delete")
     public ApiSuccess<Map<String, Object>> deleteFolder(@PathVariable UUID projectId, @RequestBody @Valid DeleteFolderRequest request) {
         var principal = SecurityUtils.requirePrincipal();
@@ -159,45 +181,17 @@ public class FileController {
         fileFolderRepository.findByProjectIdAndTenantIdAndPathAndDeletedAtIsNull(projectId, principal.getTenantId(), folderPath)
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "FOLDER_NOT_FOUND", "폴더를 찾을 수 없습니다."));
 
-        List<FileFolderEntity> allFolders = fileFolderRepository.findByProjectIdAndTenantIdAndDeletedAtIsNullOrderByPathAsc(projectId, principal.getTenantId());
-        Set<String> deletingPaths = new HashSet<>();
-        for (FileFolderEntity folder : allFolders) {
-            if (folder.getPath().equals(folderPath) || folder.getPath().startsWith(folderPath + "/")) {
-                deletingPaths.add(folder.getPath());
-            }
-        }
-
         OffsetDateTime now = OffsetDateTime.now();
-        List<FileFolderEntity> deletingFolders = new ArrayList<>();
-        for (FileFolderEntity folder : allFolders) {
-            if (!deletingPaths.contains(folder.getPath())) {
-                continue;
-            }
-            folder.setDeletedAt(now);
-            folder.setUpdatedBy(principal.getUserId());
-            deletingFolders.add(folder);
-        }
-        if (!deletingFolders.isEmpty()) {
-            fileFolderRepository.saveAll(deletingFolders);
-        }
-
-        List<FileEntity> projectFiles = fileRepository.findByProjectIdAndTenantIdAndDeletedAtIsNull(projectId, principal.getTenantId());
-        List<FileEntity> deletingFiles = new ArrayList<>();
-        for (FileEntity file : projectFiles) {
-            String normalized = normalizeFolderPath(file.getFolder());
-            if (normalized.equals(folderPath) || normalized.startsWith(folderPath + "/")) {
-                file.setDeletedAt(now);
-                file.setUpdatedBy(principal.getUserId());
-                deletingFiles.add(file);
-            }
-        }
-        if (!deletingFiles.isEmpty()) {
-            fileRepository.saveAll(deletingFiles);
-        }
+        String subtreePrefix = subtreePrefix(folderPath);
+        int deletedFolders = fileFolderRepository.softDeleteSubtree(projectId, principal.getTenantId(), folderPath, subtreePrefix, principal.getUserId(), now);
+        List<String> versionObjectKeys = fileVersionRepository.findUnreferencedObjectKeysInFolderSubtree(projectId, principal.getTenantId(), folderPath, subtreePrefix);
+        fileVersionRepository.softDeleteUnreferencedInFolderSubtree(projectId, principal.getTenantId(), folderPath, subtreePrefix, principal.getUserId(), now);
+        int deletedFiles = fileRepository.softDeleteInFolderSubtree(projectId, principal.getTenantId(), folderPath, subtreePrefix, principal.getUserId(), now);
+        fileBlobService.release(principal.getTenantId(), versionObjectKeys);
 
         return ApiSuccess.of(Map.of(
-                "deletedFolders", deletingFolders.size(),
-                "deletedFiles", deletingFiles.size(),
+                "deletedFolders", deletedFolders,
+                "deletedFiles", deletedFiles,
                 "path", folderPath
         ));
     }
@@ -249,15 +243,20 @@ public class FileController {
         return ApiSuccess.of(fileRepository.save(file));
     }
 
+    @Transactional
     @DeleteMapping("/api/files/{fileId}")
     public ApiSuccess<Map<String, Object>> deleteFile(@PathVariable UUID fileId) {
         var principal = SecurityUtils.requirePrincipal();
         FileEntity file = requireActiveFile(fileId);
         guardService.requireProjectMemberRole(file.getProjectId(), principal.getUserId(), principal.getTenantId(),
                 Set.of(MemberRole.PM_OWNER, MemberRole.PM_MEMBER));
-        file.setDeletedAt(OffsetDateTime.now());
+        OffsetDateTime now = OffsetDateTime.now();
+        List<String> versionObjectKeys = fileVersionRepository.findUnreferencedObjectKeysByFile(fileId, principal.getTenantId());
+        fileVersionRepository.softDeleteUnreferencedByFile(fileId, principal.getTenantId(), principal.getUserId(), now);
+        file.setDeletedAt(now);
         file.setUpdatedBy(principal.getUserId());
         fileRepository.save(file);
+        fileBlobService.release(principal.getTenantId(), versionObjectKeys);
         return ApiSuccess.of(Map.of("deleted", true));
     }
 
@@ -269,41 +268,87 @@ public class FileController {
         return ApiSuccess.of(fileVersionRepository.findByFileIdAndTenantIdAndDeletedAtIsNullOrderByVersionDesc(fileId, principal.getTenantId()));
     }
 
+    // One page of version rows across the project, newest first. Clients pass the createdAt/id of the last
+    // row they received as before/beforeId to get the next page.
     @GetMapping("/api/projects/{projectId}/file-versions")
-    public ApiSuccess<List<FileVersionSummary>> fileVersionsByProject(@PathVariable UUID projectId) {
+    public ApiSuccess<List<FileVersionSummary>> fileVersionsByProject(@PathVariable UUID projectId,
+                                                                    @RequestParam(required = false)
+                                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime before,
+                                                                    @RequestParam(required = false) UUID beforeId,
+                                                                    @RequestParam(defaultValue = "100") int size,
+                                                                    @RequestParam(defaultValue = "false") boolean latestOnly,
+                                                                    @RequestParam(required = false) String contentType,
+                                                                    @RequestParam(required = false) String folder) {
         var principal = SecurityUtils.requirePrincipal();
         ProjectMemberEntity member = guardService.requireProjectMember(projectId, principal.getUserId(), principal.getTenantId());
-        List<FileEntity> files = fileRepository.findByProjectIdAndTenantIdAndDeletedAtIsNull(projectId, principal.getTenantId());
-        if (isClientRole(member.getRole())) {
-            files = files.stream()
-                    .filter(file -> file.getVisibilityScope() != VisibilityScope.INTERNAL)
-                    .toList();
-        }
-        List<FileVersionSummary> summaries = new ArrayList<>();
-        for (FileEntity file : files) {
-            List<FileVersionEntity> versions = fileVersionRepository
-                    .findByFileIdAndTenantIdAndDeletedAtIsNullOrderByVersionDesc(file.getId(), principal.getTenantId());
-            for (FileVersionEntity version : versions) {
-                summaries.add(new FileVersionSummary(
-                        version.getId(),
-                        file.getId(),
-                        file.getName(),
-                        version.getVersion(),
-                        version.isLatest(),
-                        version.getContentType(),
-                        version.getSize(),
-                        version.getCreatedAt()
-                ));
+        Set<VisibilityScope> scopes = isClientRole(member.getRole())
+                ? EnumSet.complementOf(EnumSet.of(VisibilityScope.INTERNAL))
+                : EnumSet.allOf(VisibilityScope.class);
+        String folderPath = normalizeFolderPath(folder);
+        String folderPrefix = "/".equals(folderPath) ? "/%" : subtreePrefix(folderPath);
+        String contentTypeFilter = contentType == null || contentType.isBlank() ? null : contentType.trim();
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(size, MAX_FILE_VERSIONS_PAGE_SIZE)));
+        List<FileVersionSummary> summaries = before != null && beforeId != null
+                ? fileVersionRepository.findSummariesByProjectBefore(projectId, principal.getTenantId(), scopes, folderPath, folderPrefix,
+                latestOnly, contentTypeFilter, before, beforeId, page)
+                : fileVersionRepository.findSummariesByProject(projectId, principal.getTenantId(), scopes, folderPath, folderPrefix,
+                latestOnly, contentTypeFilter, page);
+        return ApiSuccess.of(summaries);
+    }
+
+    // One ZIP of the latest version of every visible file under folder, streamed as it is built.
+    @GetMapping("/api/projects/{projectId}/files/export")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable UUID projectId,
+                                                        @RequestParam(required = false) String folder) {
+        var principal = SecurityUtils.requirePrincipal();
+        ProjectMemberEntity member = guardService.requireProjectMember(projectId, principal.getUserId(), principal.getTenantId());
+        String folderPath = normalizeFolderPath(folder);
+        if (!"/".equals(folderPath) && fileFolderRepository.findByProjectIdAndTenantIdAndPathAndDeletedAtIsNull(projectId, principal.getTenantId(), folderPath).isEmpty()) {
+            throw new AppException(HttpStatus.NOT_FOUND, "FOLDER_NOT_FOUND", "Folder not found.");
+        }
+
+        boolean clientRole = isClientRole(member.getRole());
+        Map<UUID, FileEntity> files = new HashMap<>();
+        for (FileEntity file : fileRepository.findByProjectIdAndTenantIdAndDeletedAtIsNull(projectId, principal.getTenantId())) {
+            String fileFolder = normalizeFolderPath(file.getFolder());
+            boolean inFolder = "/".equals(folderPath) || fileFolder.equals(folderPath) || fileFolder.startsWith(folderPath + "/");
+            if (inFolder && !(clientRole && file.getVisibilityScope() == VisibilityScope.INTERNAL)) {
+                files.put(file.getId(), file);
             }
         }
-        return ApiSuccess.of(summaries);
+        List<FileVersionEntity> latest = fileVersionRepository.findLatestByProject(projectId, principal.getTenantId()).stream()
+                .filter(version -> files.containsKey(version.getFileId()))
+                .sorted(Comparator.comparing((FileVersionEntity version) -> normalizeFolderPath(files.get(version.getFileId()).getFolder()))
+                        .thenComparing(version -> files.get(version.getFileId()).getName()))
+                .toList();
+
+        Set<String> usedNames = new HashSet<>();
+        List<FileArchiveExporter.Entry> entries = new ArrayList<>();
+        for (FileVersionEntity version : latest) {
+            FileEntity file = files.get(version.getFileId());
+            String relativeFolder = normalizeFolderPath(file.getFolder()).substring("/".equals(folderPath) ? 0 : folderPath.length());
+            entries.add(new FileArchiveExporter.Entry(
+                    archiveEntryName(relativeFolder, file.getName(), usedNames),
+                    version.getObjectKey(),
+                    version.getSize(),
+                    version.getContentType(),
+                    version.getCreatedAt()
+            ));
+        }
+
+        String archiveName = ("/".equals(folderPath) ? "files" : folderNameFromPath(folderPath)) + ".zip";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDisposition(ContentDisposition.attachment().filename(archiveName, StandardCharsets.UTF_8).build());
+        StreamingResponseBody body = outputStream -> fileArchiveExporter.write(entries, outputStream);
+        return ResponseEntity.ok().headers(headers).body(body);
     }
 
     @PostMapping("/api/files/{fileId}/versions/presign")
     public ApiSuccess<Map<String, Object>> presign(@PathVariable UUID fileId, @RequestBody @Valid PresignRequest request) {
         var principal = SecurityUtils.requirePrincipal();
         FileEntity file = requireActiveFile(fileId);
-        requireVisibleFileMember(file, principal.getUserId(), principal.getTenantId());
+        ProjectMemberEntity member = requireVisibleFileMember(file, principal.getUserId(), principal.getTenantId());
         if (request.size() <= 0) {
             throw new AppException(HttpStatus.BAD_REQUEST, "FILE_SIZE_INVALID", "File size must be greater than zero.");
         }
@@ -312,6 +357,20 @@ public class FileController {
                 .findFirst()
                 .map(v -> v.getVersion() + 1)
                 .orElse(1);
+        // A hit hands out the stored bytes of any file in the tenant with this hash, so clients never get one.
+        Optional<FileBlobEntity> blob = isClientRole(member.getRole())
+                ? Optional.empty()
+                : fileBlobService.findReusable(principal.getTenantId(), request.checksum(), request.size());
+        if (blob.isPresent()) {
+            return ApiSuccess.of(storageService.createLinkedUploadPresign(
+                    fileId,
+                    nextVersion,
+                    blob.get().getObjectKey(),
+                    request.contentType(),
+                    request.size(),
+                    request.checksum()
+            ));
+        }
         return ApiSuccess.of(storageService.createUploadPresign(
                 fileId,
                 nextVersion,
@@ -346,28 +405,176 @@ public class FileController {
         if (!validTicket) {
             throw new AppException(HttpStatus.BAD_REQUEST, "UPLOAD_TICKET_INVALID", "Upload ticket is invalid or expired.");
         }
+        return ApiSuccess.of(recordUploadedVersion(principal.getTenantId(), principal.getUserId(), file, versions, request));
+    }
 
-        versions.stream()
-                .filter(FileVersionEntity::isLatest)
-                .forEach(v -> {
-                    v.setLatest(false);
-                    fileVersionRepository.save(v);
-                });
-        FileVersionEntity version = new FileVersionEntity();
-        version.setTenantId(principal.getTenantId());
-        version.setFileId(fileId);
-        version.setVersion(request.version());
-        version.setObjectKey(request.objectKey());
-        version.setContentType(request.contentType());
-        version.setSize(request.size());
-        version.setChecksum(request.checksum());
-        version.setLatest(true);
-        version.setCreatedBy(principal.getUserId());
-        version.setUpdatedBy(principal.getUserId());
-        FileVersionEntity saved = fileVersionRepository.save(version);
-        outboxService.publish(principal.getTenantId(), principal.getUserId(), "file_version", saved.getId(),
-                "file.version.created", "File version uploaded", file.getName(), Map.of("fileId", fileId, "version", saved.getVersion()));
-        return ApiSuccess.of(saved);
+    @PostMapping("/api/files/{fileId}/versions/multipart")
+    public ApiSuccess<Map<String, Object>> initiateMultipart(@PathVariable UUID fileId, @RequestBody @Valid PresignRequest request) {
+        var principal = SecurityUtils.requirePrincipal();
+        FileEntity file = requireActiveFile(fileId);
+        requireVisibleFileMember(file, principal.getUserId(), principal.getTenantId());
+        if (request.size() <= 0) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "FILE_SIZE_INVALID", "File size must be greater than zero.");
+        }
+        int nextVersion = fileVersionRepository.findByFileIdAndTenantIdAndDeletedAtIsNullOrderByVersionDesc(fileId, principal.getTenantId())
+                .stream()
+                .findFirst()
+                .map(v -> v.getVersion() + 1)
+                .orElse(1);
+        StorageService.MultipartUpload upload = storageService.initiateMultipartUpload(
+                fileId,
+                nextVersion,
+                request.contentType(),
+                request.size(),
+                request.checksum()
+        );
+        Map<String, Object> response = new HashMap<>();
+        response.put("uploadId", upload.uploadId());
+        response.put("objectKey", upload.objectKey());
+        response.put("version", upload.version());
+        response.put("partSize", upload.partSize());
+        response.put("partCount", upload.partCount());
+        response.put("expiresAt", upload.expiresAt());
+        response.put("contentType", upload.contentType());
+        response.put("size", upload.size());
+        response.put("checksum", upload.checksum());
+        response.put("uploadTicket", upload.uploadTicket());
+        return ApiSuccess.of(response);
+    }
+
+    // Clients ask for a batch of part URLs and PUT them in parallel; asking again later resumes an interrupted upload.
+    @PostMapping("/api/files/{fileId}/versions/multipart/parts")
+    public ApiSuccess<List<Map<String, Object>>> presignMultipartParts(@PathVariable UUID fileId,
+                                                                       @RequestBody @Valid MultipartPartsRequest request) {
+        requireMultipartAccess(fileId, request.objectKey(), request.uploadTicket());
+        List<Integer> partNumbers = request.partNumbers() == null ? List.of() : request.partNumbers();
+        if (partNumbers.isEmpty() || partNumbers.size() > MAX_PART_URLS_PER_REQUEST) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "UPLOAD_PART_INVALID", "Request between 1 and " + MAX_PART_URLS_PER_REQUEST + " parts.");
+        }
+        List<Map<String, Object>> parts = new ArrayList<>();
+        for (Integer partNumber : partNumbers) {
+            if (partNumber == null || partNumber < 1 || partNumber > 10000) {
+                throw new AppException(HttpStatus.BAD_REQUEST, "UPLOAD_PART_INVALID", "Part number must be between 1 and 10000.");
+            }
+            parts.add(Map.of(
+                    "partNumber", partNumber,
+                    "uploadUrl", storageService.createUploadPartPresign(request.objectKey(), request.uploadId(), partNumber)
+            ));
+        }
+        return ApiSuccess.of(parts);
+    }
+
+    @PostMapping("/api/files/{fileId}/versions/multipart/status")
+    public ApiSuccess<List<StorageService.UploadedPart>> multipartStatus(@PathVariable UUID fileId,
+                                                                         @RequestBody @Valid MultipartUploadRequest request) {
+        requireMultipartAccess(fileId, request.objectKey(), request.uploadTicket());
+        return ApiSuccess.of(storageService.listUploadedParts(request.objectKey(), request.uploadId()));
+    }
+
+    @PostMapping("/api/files/{fileId}/versions/multipart/complete")
+    public ApiSuccess<FileVersionEntity> completeMultipart(@PathVariable UUID fileId,
+                                                           @RequestBody @Valid CompleteMultipartRequest request) {
+        var principal = SecurityUtils.requirePrincipal();
+        FileEntity file = requireActiveFile(fileId);
+        requireVisibleFileMember(file, principal.getUserId(), principal.getTenantId());
+        List<FileVersionEntity> versions = fileVersionRepository.findByFileIdAndTenantIdAndDeletedAtIsNullOrderByVersionDesc(fileId, principal.getTenantId());
+        int expectedVersion = versions.stream()
+                .findFirst()
+                .map(v -> v.getVersion() + 1)
+                .orElse(1);
+        if (request.version() != expectedVersion) {
+            throw new AppException(HttpStatus.CONFLICT, "FILE_VERSION_CONFLICT", "Upload version does not match latest file version.");
+        }
+        boolean validTicket = storageService.verifyUploadTicket(
+                request.uploadTicket(),
+                fileId,
+                request.version(),
+                request.objectKey(),
+                request.contentType(),
+                request.size(),
+                request.checksum()
+        );
+        if (!validTicket) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "UPLOAD_TICKET_INVALID", "Upload ticket is invalid or expired.");
+        }
+
+        // Storage is the source of truth for which parts arrived, so the client never has to echo ETags back.
+        List<StorageService.UploadedPart> parts = storageService.listUploadedParts(request.objectKey(), request.uploadId());
+        long partSize = StorageService.multipartPartSize(request.size());
+        long expectedParts = Math.max(1L, (request.size() + partSize - 1) / partSize);
+        long uploadedBytes = 0L;
+        boolean contiguous = parts.size() == expectedParts;
+        for (int i = 0; contiguous && i < parts.size(); i++) {
+            StorageService.UploadedPart part = parts.get(i);
+            boolean last = i == parts.size() - 1;
+            contiguous = part.partNumber() == i + 1 && (last || part.size() == partSize);
+            uploadedBytes += part.size();
+        }
+        if (!contiguous || uploadedBytes != request.size()) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "UPLOAD_INCOMPLETE", "Not all upload parts have been received.");
+        }
+        storageService.completeMultipartUpload(request.objectKey(), request.uploadId(), parts);
+
+        CompleteRequest completed = new CompleteRequest(
+                request.version(),
+                request.objectKey(),
+                request.contentType(),
+                request.size(),
+                request.checksum(),
+                request.uploadTicket()
+        );
+        return ApiSuccess.of(recordUploadedVersion(principal.getTenantId(), principal.getUserId(), file, versions, completed));
+    }
+
+    @PostMapping("/api/files/{fileId}/versions/multipart/abort")
+    public ApiSuccess<Map<String, Object>> abortMultipart(@PathVariable UUID fileId, @RequestBody @Valid MultipartUploadRequest request) {
+        requireMultipartAccess(fileId, request.objectKey(), request.uploadTicket());
+        storageService.abortMultipartUpload(request.objectKey(), request.uploadId());
+        return ApiSuccess.of(Map.of("aborted", true));
+    }
+
+    private void requireMultipartAccess(UUID fileId, String objectKey, String uploadTicket) {
+        var principal = SecurityUtils.requirePrincipal();
+        FileEntity file = requireActiveFile(fileId);
+        requireVisibleFileMember(file, principal.getUserId(), principal.getTenantId());
+        if (!storageService.verifyUploadTicketFor(uploadTicket, fileId, objectKey)) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "UPLOAD_TICKET_INVALID", "Upload ticket is invalid or expired.");
+        }
+    }
+
+    private FileVersionEntity recordUploadedVersion(UUID tenantId,
+                                                    UUID userId,
+                                                    FileEntity file,
+                                                    List<FileVersionEntity> versions,
+                                                    CompleteRequest request) {
+        String objectKey = fileBlobService.link(tenantId, userId, request.objectKey(), request.contentType(), request.checksum(), request.size());
+        FileVersionEntity saved;
+        try {
+            versions.stream()
+                    .filter(FileVersionEntity::isLatest)
+                    .forEach(v -> {
+                        v.setLatest(false);
+                        fileVersionRepository.save(v);
+                    });
+            FileVersionEntity version = new FileVersionEntity();
+            version.setTenantId(tenantId);
+            version.setFileId(file.getId());
+            version.setVersion(request.version());
+            version.setObjectKey(objectKey);
+            version.setContentType(request.contentType());
+            version.setSize(request.size());
+            version.setChecksum(request.checksum());
+            version.setLatest(true);
+            version.setCreatedBy(userId);
+            version.setUpdatedBy(userId);
+            saved = fileVersionRepository.save(version);
+        } catch (RuntimeException ex) {
+            fileBlobService.release(tenantId, objectKey);
+            throw ex;
+        }
+        outboxService.publish(tenantId, userId, "file_version", saved.getId(),
+                "file.version.created", "File version uploaded", file.getName(), Map.of("fileId", file.getId(), "version", saved.getVersion()));
+        return saved;
     }
 
     @GetMapping("/api/file-versions/{fileVersionId}/download-url")
@@ -384,7 +591,8 @@ public class FileController {
     }
 
     @GetMapping("/api/file-versions/{fileVersionId}/content")
-    public ResponseEntity<StreamingResponseBody> downloadContent(@PathVariable UUID fileVersionId) {
+    public ResponseEntity<StreamingResponseBody> downloadContent(@PathVariable UUID fileVersionId,
+                                                                 @RequestHeader HttpHeaders requestHeaders) {
         var principal = SecurityUtils.requirePrincipal();
         FileVersionEntity version = fileVersionRepository.findById(fileVersionId)
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "FILE_VERSION_NOT_FOUND", "File version not found."));
@@ -394,19 +602,41 @@ public class FileController {
         FileEntity file = requireActiveFile(version.getFileId());
         requireVisibleFileMember(file, principal.getUserId(), principal.getTenantId());
 
+        String etag = FileContentHeaders.etag(version.getId(), version.getChecksum());
+        long lastModified = version.getCreatedAt() == null ? 0L : version.getCreatedAt().toInstant().toEpochMilli();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.setCacheControl(FileContentHeaders.IMMUTABLE_CACHE_CONTROL);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (lastModified > 0) {
+            headers.setLastModified(lastModified);
+        }
+        if (FileContentHeaders.notModified(requestHeaders, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+
+        long size = version.getSize();
+        FileContentHeaders.ByteRange range = FileContentHeaders.resolveRange(requestHeaders, etag, lastModified, size);
+        if (range != null && !range.satisfiable()) {
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+        }
+
         MediaType mediaType = MediaType.APPLICATION_OCTET_STREAM;
         if (version.getContentType() != null && !version.getContentType().isBlank()) {
             mediaType = MediaType.parseMediaType(version.getContentType());
         }
-        StreamingResponseBody stream = outputStream -> {
-            try (var input = storageService.downloadObjectStream(version.getObjectKey())) {
-                input.transferTo(outputStream);
-            }
-        };
-        return ResponseEntity.ok()
-                .contentType(mediaType)
-                .contentLength(version.getSize())
-                .body(stream);
+        headers.setContentType(mediaType);
+        if (range == null) {
+            headers.setContentLength(size);
+            StreamingResponseBody stream = outputStream -> storageService.transferObject(version.getObjectKey(), size, 0L, size, outputStream);
+            return ResponseEntity.ok().headers(headers).body(stream);
+        }
+
+        headers.setContentLength(range.length());
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + range.start() + "-" + range.end() + "/" + size);
+        StreamingResponseBody stream = outputStream -> storageService.transferObject(version.getObjectKey(), size, range.start(), range.length(), outputStream);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers).body(stream);
     }
 
     @PostMapping("/api/file-versions/{fileVersionId}/comments")
@@ -527,66 +757,30 @@ public class FileController {
             throw new AppException(HttpStatus.BAD_REQUEST, "FOLDER_MOVE_INVALID", "대상 폴더가 소스 폴더의 하위 폴더입니다.");
         }
 
-        List<FileFolderEntity> allFolders = fileFolderRepository.findByProjectIdAndTenantIdAndDeletedAtIsNullOrderByPathAsc(projectId, tenantId);
-        Set<String> movingPaths = new HashSet<>();
-        for (FileFolderEntity folder : allFolders) {
-            if (folder.getPath().equals(sourcePath) || folder.getPath().startsWith(sourcePath + "/")) {
-                movingPaths.add(folder.getPath());
-            }
-        }
-
-        Set<String> occupiedPaths = new HashSet<>();
-        for (FileFolderEntity folder : allFolders) {
-            if (!movingPaths.contains(folder.getPath())) {
-                occupiedPaths.add(folder.getPath());
-            }
-        }
-
-        Map<String, String> pathReplacements = new HashMap<>();
-        for (String movingPath : movingPaths) {
-            String nextPath = destinationPath + movingPath.substring(sourcePath.length());
-            if (occupiedPaths.contains(nextPath)) {
-                throw new AppException(HttpStatus.CONFLICT, "FOLDER_ALREADY_EXISTS", "이미 존재하는 폴더입니다.");
-            }
-            pathReplacements.put(movingPath, nextPath);
-        }
-
-        List<FileFolderEntity> changedFolders = new ArrayList<>();
-        for (FileFolderEntity folder : allFolders) {
-            String replaced = pathReplacements.get(folder.getPath());
-            if (replaced != null) {
-                folder.setPath(replaced);
-                folder.setUpdatedBy(actorUserId);
-                changedFolders.add(folder);
-            }
-        }
-        if (!changedFolders.isEmpty()) {
-            changedFolders.sort(Comparator.comparing(FileFolderEntity::getPath));
-            fileFolderRepository.saveAll(changedFolders);
+        // The destination is outside the moving subtree, so anything already there would collide.
+        if (fileFolderRepository.existsInSubtree(projectId, tenantId, destinationPath, subtreePrefix(destinationPath))) {
+            throw new AppException(HttpStatus.CONFLICT, "FOLDER_ALREADY_EXISTS", "이미 존재하는 폴더입니다.");
         }
 
-        List<FileEntity> projectFiles = fileRepository.findByProjectIdAndTenantIdAndDeletedAtIsNull(projectId, tenantId);
-        int movedFiles = 0;
-        for (FileEntity file : projectFiles) {
-            String folderPath = normalizeFolderPath(file.getFolder());
-            if (folderPath.equals(sourcePath) || folderPath.startsWith(sourcePath + "/")) {
-                String nextPath = destinationPath + folderPath.substring(sourcePath.length());
-                file.setFolder(nextPath);
-                file.setUpdatedBy(actorUserId);
-                movedFiles += 1;
-            }
-        }
-        if (movedFiles > 0) {
-            fileRepository.saveAll(projectFiles);
-        }
+        OffsetDateTime now = OffsetDateTime.now();
+        String subtreePrefix = subtreePrefix(sourcePath);
+        int movedFolders = fileFolderRepository.relocateSubtree(projectId, tenantId, sourcePath, subtreePrefix,
+                destinationPath, actorUserId, now);
+        int movedFiles = fileRepository.relocateFolderSubtree(projectId, tenantId, sourcePath, subtreePrefix,
+                destinationPath, actorUserId, now);
 
         return Map.of(
-                "movedFolders", changedFolders.size(),
+                "movedFolders", movedFolders,
                 "movedFiles", movedFiles,
                 "destinationPath", destinationPath
         );
     }
 
+    // LIKE pattern for everything strictly below path; folder names may contain LIKE wildcards.
+    private String subtreePrefix(String path) {
+        return path.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "/%";
+    }
+
     private String normalizeFolderPath(String rawPath) {
         if (rawPath == null || rawPath.isBlank()) {
             return "/";
@@ -602,6 +796,30 @@ public class FileController {
         return path.isBlank() ? "/" : path;
     }
 
+    // Folder segments and names come from users, so strip anything an unzip tool could treat as a path escape.
+    private String archiveEntryName(String relativeFolder, String fileName, Set<String> usedNames) {
+        StringBuilder prefix = new StringBuilder();
+        for (String segment : relativeFolder.split("/")) {
+            if (!segment.isBlank()) {
+                prefix.append(archiveSegment(segment)).append('/');
+            }
+        }
+        String name = archiveSegment(fileName == null || fileName.isBlank() ? "file" : fileName);
+        String candidate = prefix + name;
+        int dot = name.lastIndexOf('.');
+        String stem = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        for (int copy = 2; !usedNames.add(candidate.toLowerCase()); copy++) {
+            candidate = prefix + stem + " (" + copy + ")" + extension;
+        }
+        return candidate;
+    }
+
+    private String archiveSegment(String segment) {
+        String cleaned = segment.trim().replace('/', '_').replace('\\', '_').replace(':', '_');
+        return cleaned.isEmpty() || cleaned.equals(".") || cleaned.equals("..") ? "_" : cleaned;
+    }
+
     private String normalizeFolderName(String name) {
         String trimmed = name == null ? "" : name.trim();
         if (trimmed.isBlank()) {
@@ -668,16 +886,24 @@ public class FileController {
                                   @NotBlank String uploadTicket) {
     }
 
-    public record CreateCommentRequest(@NotBlank String body, double coordX, double coordY, double coordW, double coordH) {
+    public record MultipartUploadRequest(@NotBlank String objectKey, @NotBlank String uploadId, @NotBlank String uploadTicket) {
+    }
+
+    public record MultipartPartsRequest(@NotBlank String objectKey,
+                                        @NotBlank String uploadId,
+                                        @NotBlank String uploadTicket,
+                                        List<Integer> partNumbers) {
+    }
+
+    public record CompleteMultipartRequest(int version,
+                                           @NotBlank String objectKey,
+                                           @NotBlank String uploadId,
+                                           @NotBlank String contentType,
+                                           long size,
+                                           @NotBlank String checksum,
+                                           @NotBlank String uploadTicket) {
     }
 
-    public record FileVersionSummary(UUID id,
-                                     UUID fileId,
-                                     String fileName,
-                                     int version,
-                                     boolean latest,
-                                     String contentType,
-                                     long size,
-                                     OffsetDateTime createdAt) {
+    public record CreateCommentRequest(@NotBlank String body, double coordX, double coordY, double coordW, double coordH) {
     }
 }
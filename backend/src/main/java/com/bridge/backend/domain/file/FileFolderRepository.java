@@ -1,7 +1,11 @@
 package com.bridge.backend.domain.file;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,4 +16,46 @@ public interface FileFolderRepository extends JpaRepository<FileFolderEntity, UU
     Optional<FileFolderEntity> findByProjectIdAndTenantIdAndPathAndDeletedAtIsNull(UUID projectId, UUID tenantId, String path);
 
     boolean existsByProjectIdAndTenantIdAndPathAndDeletedAtIsNull(UUID projectId, UUID tenantId, String path);
+
+    // subtreePrefix is the folder path plus '/', with LIKE wildcards escaped by backslash.
+    @Query("""
+            SELECT COUNT(f) > 0 FROM FileFolderEntity f
+            WHERE f.projectId = :projectId AND f.tenantId = :tenantId AND f.deletedAt IS NULL
+              AND (f.path = :path OR f.path LIKE :subtreePrefix ESCAPE '\\')
+            """)
+    boolean existsInSubtree(@Param("projectId") UUID projectId,
+                            @Param("tenantId") UUID tenantId,
+                            @Param("path") String path,
+                            @Param("subtreePrefix") String subtreePrefix);
+
+    // The database measures :source itself, so the cut lands on the same character SUBSTRING counts in.
+    @Modifying
+    @Query("""
+            UPDATE FileFolderEntity f
+            SET f.path = CONCAT(:destination, SUBSTRING(f.path, LENGTH(:source) + 1)),
+                f.updatedBy = :actorUserId, f.updatedAt = :now
+            WHERE f.projectId = :projectId AND f.tenantId = :tenantId AND f.deletedAt IS NULL
+              AND (f.path = :source OR f.path LIKE :subtreePrefix ESCAPE '\\')
+            """)
+    int relocateSubtree(@Param("projectId") UUID projectId,
+                        @Param("tenantId") UUID tenantId,
+                        @Param("source") String source,
+                        @Param("subtreePrefix") String subtreePrefix,
+                        @Param("destination") String destination,
+                        @Param("actorUserId") UUID actorUserId,
+                        @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE FileFolderEntity f
+            SET f.deletedAt = :now, f.updatedBy = :actorUserId, f.updatedAt = :now
+            WHERE f.projectId = :projectId AND f.tenantId = :tenantId AND f.deletedAt IS NULL
+              AND (f.path = :path OR f.path LIKE :subtreePrefix ESCAPE '\\')
+            """)
+    int softDeleteSubtree(@Param("projectId") UUID projectId,
+                          @Param("tenantId") UUID tenantId,
+                          @Param("path") String path,
+                          @Param("subtreePrefix") String subtreePrefix,
+                          @Param("actorUserId") UUID actorUserId,
+                          @Param("now") OffsetDateTime now);
 }
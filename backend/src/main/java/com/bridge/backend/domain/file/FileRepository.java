@@ -1,10 +1,44 @@
 package com.bridge.backend.domain.file;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public interface FileRepository extends JpaRepository<FileEntity, UUID> {
     List<FileEntity> findByProjectIdAndTenantIdAndDeletedAtIsNull(UUID projectId, UUID tenantId);
+
+    @Modifying
+    @Query("""
+            UPDATE FileEntity f
+            SET f.folder = CONCAT(:destination, SUBSTRING(f.folder, LENGTH(:source) + 1)),
+                f.updatedBy = :actorUserId, f.updatedAt = :now
+            WHERE f.projectId = :projectId AND f.tenantId = :tenantId AND f.deletedAt IS NULL
+              AND (f.folder = :source OR f.folder LIKE :subtreePrefix ESCAPE '\\')
+            """)
+    int relocateFolderSubtree(@Param("projectId") UUID projectId,
+                              @Param("tenantId") UUID tenantId,
+                              @Param("source") String source,
+                              @Param("subtreePrefix") String subtreePrefix,
+                              @Param("destination") String destination,
+                              @Param("actorUserId") UUID actorUserId,
+                              @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE FileEntity f
+            SET f.deletedAt = :now, f.updatedBy = :actorUserId, f.updatedAt = :now
+            WHERE f.projectId = :projectId AND f.tenantId = :tenantId AND f.deletedAt IS NULL
+              AND (f.folder = :path OR f.folder LIKE :subtreePrefix ESCAPE '\\')
+            """)
+    int softDeleteInFolderSubtree(@Param("projectId") UUID projectId,
+                                  @Param("tenantId") UUID tenantId,
+                                  @Param("path") String path,
+                                  @Param("subtreePrefix") String subtreePrefix,
+                                  @Param("actorUserId") UUID actorUserId,
+                                  @Param("now") OffsetDateTime now);
 }
@@ -1,7 +1,14 @@
 package com.bridge.backend.domain.file;
 
+import com.bridge.backend.common.model.enums.VisibilityScope;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -10,4 +17,124 @@ public interface FileVersionRepository extends JpaRepository<FileVersionEntity,
     List<FileVersionEntity> findByFileIdAndTenantIdAndDeletedAtIsNullOrderByVersionDesc(UUID fileId, UUID tenantId);
 
     Optional<FileVersionEntity> findByFileIdAndTenantIdAndLatestTrueAndDeletedAtIsNull(UUID fileId, UUID tenantId);
+
+    @Query("""
+            SELECT v FROM FileVersionEntity v
+            WHERE v.tenantId = :tenantId AND v.latest = true AND v.deletedAt IS NULL
+              AND v.fileId IN (
+                  SELECT f.id FROM FileEntity f
+                  WHERE f.projectId = :projectId AND f.tenantId = :tenantId AND f.deletedAt IS NULL
+              )
+            """)
+    List<FileVersionEntity> findLatestByProject(@Param("projectId") UUID projectId, @Param("tenantId") UUID tenantId);
+
+    @Query("""
+            SELECT new com.bridge.backend.domain.file.FileVersionSummary(
+                v.id, f.id, f.name, v.version, v.latest, v.contentType, v.size, v.createdAt)
+            FROM FileVersionEntity v
+            JOIN FileEntity f
+              ON f.id = v.fileId AND f.tenantId = v.tenantId AND f.deletedAt IS NULL
+            WHERE v.tenantId = :tenantId
+              AND v.deletedAt IS NULL
+              AND f.projectId = :projectId
+              AND f.visibilityScope IN :scopes
+              AND (f.folder = :folder OR f.folder LIKE :folderPrefix ESCAPE '\\')
+              AND (:latestOnly = false OR v.latest = true)
+              AND (:contentType IS NULL OR v.contentType = :contentType)
+            ORDER BY v.createdAt DESC, v.id DESC
+            """)
+    List<FileVersionSummary> findSummariesByProject(@Param("projectId") UUID projectId,
+                                                    @Param("tenantId") UUID tenantId,
+                                                    @Param("scopes") Collection<VisibilityScope> scopes,
+                                                    @Param("folder") String folder,
+                                                    @Param("folderPrefix") String folderPrefix,
+                                                    @Param("latestOnly") boolean latestOnly,
+                                                    @Param("contentType") String contentType,
+                                                    Pageable pageable);
+
+    @Query("""
+            SELECT new com.bridge.backend.domain.file.FileVersionSummary(
+                v.id, f.id, f.name, v.version, v.latest, v.contentType, v.size, v.createdAt)
+            FROM FileVersionEntity v
+            JOIN FileEntity f
+              ON f.id = v.fileId AND f.tenantId = v.tenantId AND f.deletedAt IS NULL
+            WHERE v.tenantId = :tenantId
+              AND v.deletedAt IS NULL
+              AND f.projectId = :projectId
+              AND f.visibilityScope IN :scopes
+              AND (f.folder = :folder OR f.folder LIKE :folderPrefix ESCAPE '\\')
+              AND (:latestOnly = false OR v.latest = true)
+              AND (:contentType IS NULL OR v.contentType = :contentType)
+              AND (v.createdAt < :beforeCreatedAt OR (v.createdAt = :beforeCreatedAt AND v.id < :beforeId))
+            ORDER BY v.createdAt DESC, v.id DESC
+            """)
+    List<FileVersionSummary> findSummariesByProjectBefore(@Param("projectId") UUID projectId,
+                                                          @Param("tenantId") UUID tenantId,
+                                                          @Param("scopes") Collection<VisibilityScope> scopes,
+                                                          @Param("folder") String folder,
+                                                          @Param("folderPrefix") String folderPrefix,
+                                                          @Param("latestOnly") boolean latestOnly,
+                                                          @Param("contentType") String contentType,
+                                                          @Param("beforeCreatedAt") OffsetDateTime beforeCreatedAt,
+                                                          @Param("beforeId") UUID beforeId,
+                                                          Pageable pageable);
+
+    // Versions a live contract or decision points at stay active when their file is deleted, so signing and
+    // downloads through those records keep working; only the rest are retired and release their blobs.
+    @Query("""
+            SELECT v.objectKey FROM FileVersionEntity v
+            WHERE v.fileId = :fileId AND v.tenantId = :tenantId AND v.deletedAt IS NULL
+              AND NOT EXISTS (SELECT c.id FROM ContractEntity c WHERE c.fileVersionId = v.id AND c.deletedAt IS NULL)
+              AND NOT EXISTS (SELECT d.id FROM DecisionEntity d WHERE d.relatedFileVersionId = v.id AND d.deletedAt IS NULL)
+            """)
+    List<String> findUnreferencedObjectKeysByFile(@Param("fileId") UUID fileId, @Param("tenantId") UUID tenantId);
+
+    @Modifying
+    @Query("""
+            UPDATE FileVersionEntity v
+            SET v.deletedAt = :now, v.updatedBy = :actorUserId, v.updatedAt = :now
+            WHERE v.fileId = :fileId AND v.tenantId = :tenantId AND v.deletedAt IS NULL
+              AND NOT EXISTS (SELECT c.id FROM ContractEntity c WHERE c.fileVersionId = v.id AND c.deletedAt IS NULL)
+              AND NOT EXISTS (SELECT d.id FROM DecisionEntity d WHERE d.relatedFileVersionId = v.id AND d.deletedAt IS NULL)
+            """)
+    int softDeleteUnreferencedByFile(@Param("fileId") UUID fileId,
+                                     @Param("tenantId") UUID tenantId,
+                                     @Param("actorUserId") UUID actorUserId,
+                                     @Param("now") OffsetDateTime now);
+
+    @Query("""
+            SELECT v.objectKey FROM FileVersionEntity v
+            WHERE v.tenantId = :tenantId AND v.deletedAt IS NULL
+              AND v.fileId IN (
+                  SELECT f.id FROM FileEntity f
+                  WHERE f.projectId = :projectId AND f.tenantId = :tenantId AND f.deletedAt IS NULL
+                    AND (f.folder = :path OR f.folder LIKE :subtreePrefix ESCAPE '\\')
+              )
+              AND NOT EXISTS (SELECT c.id FROM ContractEntity c WHERE c.fileVersionId = v.id AND c.deletedAt IS NULL)
+              AND NOT EXISTS (SELECT d.id FROM DecisionEntity d WHERE d.relatedFileVersionId = v.id AND d.deletedAt IS NULL)
+            """)
+    List<String> findUnreferencedObjectKeysInFolderSubtree(@Param("projectId") UUID projectId,
+                                                           @Param("tenantId") UUID tenantId,
+                                                           @Param("path") String path,
+                                                           @Param("subtreePrefix") String subtreePrefix);
+
+    @Modifying
+    @Query("""
+            UPDATE FileVersionEntity v
+            SET v.deletedAt = :now, v.updatedBy = :actorUserId, v.updatedAt = :now
+            WHERE v.tenantId = :tenantId AND v.deletedAt IS NULL
+              AND v.fileId IN (
+                  SELECT f.id FROM FileEntity f
+                  WHERE f.projectId = :projectId AND f.tenantId = :tenantId AND f.deletedAt IS NULL
+                    AND (f.folder = :path OR f.folder LIKE :subtreePrefix ESCAPE '\\')
+              )
+              AND NOT EXISTS (SELECT c.id FROM ContractEntity c WHERE c.fileVersionId = v.id AND c.deletedAt IS NULL)
+              AND NOT EXISTS (SELECT d.id FROM DecisionEntity d WHERE d.relatedFileVersionId = v.id AND d.deletedAt IS NULL)
+            """)
+    int softDeleteUnreferencedInFolderSubtree(@Param("projectId") UUID projectId,
+                                              @Param("tenantId") UUID tenantId,
+                                              @Param("path") String path,
+                                              @Param("subtreePrefix") String subtreePrefix,
+                                              @Param("actorUserId") UUID actorUserId,
+                                              @Param("now") OffsetDateTime now);
 }
@@ -0,0 +1,14 @@
+package com.bridge.backend.domain.file;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record FileVersionSummary(UUID id,
+                                 UUID fileId,
+                                 String fileName,
+                                 int version,
+                                 boolean latest,
+                                 String contentType,
+                                 long size,
+                                 OffsetDateTime createdAt) {
+}
@@ -0,0 +1,438 @@
+package com.bridge.backend.domain.file;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Objects on the local filesystem for single-node deployments and CI. Bytes move with FileChannel
+// transfers, writes land in tmp/ and are renamed into place, and presigned URLs point back at
+// LocalStorageController with an HMAC over the same claims S3 would sign.
+@Component
+@ConditionalOnProperty(prefix = "bridge.storage", name = "backend", havingValue = "local")
+public class LocalStorageBackend implements StorageBackend {
+    static final String OBJECTS_PATH = "/api/storage/local/objects";
+    private static final String HMAC_ALGO = "HmacSHA256";
+    private static final String META_SUFFIX = ".type";
+    private static final String PART_SUFFIX = ".part";
+
+    private final Path objectsDir;
+    private final Path uploadsDir;
+    private final Path tmpDir;
+    private final String publicUrl;
+    private final byte[] signingSecret;
+
+    public LocalStorageBackend(@Value("${bridge.storage.local.root:./data/storage}") String root,
+                               @Value("${bridge.storage.local.public-url:http://localhost:8080}") String publicUrl,
+                               @Value("${bridge.storage.presign-secret}") String presignSecret) {
+        Path rootDir = Path.of(root).toAbsolutePath().normalize();
+        this.objectsDir = rootDir.resolve("objects");
+        this.uploadsDir = rootDir.resolve("uploads");
+        this.tmpDir = rootDir.resolve("tmp");
+        this.publicUrl = publicUrl.replaceAll("/+$", "");
+        this.signingSecret = ("local-storage:" + presignSecret).getBytes(StandardCharsets.UTF_8);
+        try {
+            Files.createDirectories(objectsDir);
+            Files.createDirectories(uploadsDir);
+            // tmp/ shares the filesystem with objects/, so the final rename is atomic.
+            Files.createDirectories(tmpDir);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create local storage directories under " + rootDir, ex);
+        }
+    }
+
+    @Override
+    public String presignUpload(String objectKey, String contentType, long size, long expiresSeconds) {
+        return signedUrl(new SignedRequest("PUT", objectKey, expiresAt(expiresSeconds), contentType, size, null, null));
+    }
+
+    @Override
+    public String presignDownload(String objectKey, long expiresSeconds) {
+        return signedUrl(new SignedRequest("GET", objectKey, expiresAt(expiresSeconds), null, null, null, null));
+    }
+
+    @Override
+    public void put(String objectKey, String contentType, Path source) {
+        try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ)) {
+            write(objectKey, contentType, input, input.size());
+        } catch (IOException ex) {
+            throw new IllegalStateException("Storage upload failed", ex);
+        }
+    }
+
+    @Override
+    public void put(String objectKey, String contentType, byte[] bytes) {
+        try (ReadableByteChannel input = Channels.newChannel(new ByteArrayInputStream(bytes))) {
+            write(objectKey, contentType, input, bytes.length);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Storage upload failed", ex);
+        }
+    }
+
+    // Stores exactly expectedSize bytes from the request body; anything shorter or longer is rejected.
+    void receive(String objectKey, String contentType, InputStream body, long expectedSize) throws IOException {
+        write(objectKey, contentType, Channels.newChannel(body), expectedSize);
+    }
+
+    @Override
+    public StorageService.ObjectStream open(String objectKey, long rangeStart, long rangeEnd) {
+        try {
+            FileChannel channel = FileChannel.open(objectPath(objectKey), StandardOpenOption.READ);
+            if (rangeStart < 0) {
+                return new StorageService.ObjectStream(Channels.newInputStream(channel), false);
+            }
+            channel.position(rangeStart);
+            InputStream slice = new FilterInputStream(Channels.newInputStream(channel)) {
+                private long remaining = rangeEnd - rangeStart + 1;
+
+                @Override
+                public int read() throws IOException {
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    int value = super.read();
+                    remaining -= value < 0 ? 0 : 1;
+                    return value;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+                    remaining -= Math.max(read, 0);
+                    return read;
+                }
+            };
+            return new StorageService.ObjectStream(slice, true);
+        } catch (NoSuchFileException ex) {
+            throw new IllegalStateException("Storage download failed with status 404", ex);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Storage download failed", ex);
+        }
+    }
+
+    @Override
+    public void transferTo(String objectKey, long offset, long length, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(objectPath(objectKey), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = offset;
+            long end = Math.min(offset + length, channel.size());
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+
+    long size(String objectKey) throws IOException {
+        return Files.size(objectPath(objectKey));
+    }
+
+    String contentType(String objectKey) {
+        Path meta = metaPath(objectPath(objectKey));
+        try {
+            return Files.exists(meta) ? Files.readString(meta, StandardCharsets.UTF_8) : "application/octet-stream";
+        } catch (IOException ex) {
+            return "application/octet-stream";
+        }
+    }
+
+    boolean exists(String objectKey) {
+        return Files.isRegularFile(objectPath(objectKey));
+    }
+
+    @Override
+    public void delete(String objectKey) {
+        Path path = objectPath(objectKey);
+        try {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(metaPath(path));
+        } catch (IOException ignored) {
+            // Best-effort cleanup only.
+        }
+    }
+
+    @Override
+    public String initiateMultipart(String objectKey, String contentType) {
+        String uploadId = UUID.randomUUID().toString();
+        Path uploadDir = uploadsDir.resolve(uploadId);
+        try {
+            Files.createDirectories(uploadDir);
+            Files.writeString(uploadDir.resolve("key"), objectKey, StandardCharsets.UTF_8);
+            Files.writeString(uploadDir.resolve("content-type"), contentType, StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Storage initiate multipart upload failed", ex);
+        }
+        return uploadId;
+    }
+
+    @Override
+    public String presignUploadPart(String objectKey, String uploadId, int partNumber, long expiresSeconds) {
+        return signedUrl(new SignedRequest("PUT", objectKey, expiresAt(expiresSeconds), null, null, uploadId, partNumber));
+    }
+
+    void receivePart(String objectKey, String uploadId, int partNumber, InputStream body, long length) throws IOException {
+        Path uploadDir = requireUpload(objectKey, uploadId);
+        Path temp = Files.createTempFile(tmpDir, "part-", PART_SUFFIX);
+        try {
+            try (FileChannel output = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                copyExactly(Channels.newChannel(body), output, length);
+            }
+            // Re-sending a part replaces the earlier attempt, as in S3.
+            moveIntoPlace(temp, uploadDir.resolve(partNumber + PART_SUFFIX));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public List<StorageService.UploadedPart> listParts(String objectKey, String uploadId) {
+        Path uploadDir = requireUpload(objectKey, uploadId);
+        List<StorageService.UploadedPart> parts = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(uploadDir, "*" + PART_SUFFIX)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                int partNumber = Integer.parseInt(name.substring(0, name.length() - PART_SUFFIX.length()));
+                long size = Files.size(entry);
+                parts.add(new StorageService.UploadedPart(partNumber, "\"" + partNumber + "-" + size + "\"", size));
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Storage list multipart parts failed", ex);
+        }
+        parts.sort(Comparator.comparingInt(StorageService.UploadedPart::partNumber));
+        return parts;
+    }
+
+    @Override
+    public void completeMultipart(String objectKey, String uploadId, List<StorageService.UploadedPart> parts) {
+        Path uploadDir = requireUpload(objectKey, uploadId);
+        try {
+            String contentType = Files.readString(uploadDir.resolve("content-type"), StandardCharsets.UTF_8);
+            Path temp = Files.createTempFile(tmpDir, "assemble-", ".tmp");
+            try {
+                try (FileChannel output = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    for (StorageService.UploadedPart part : parts) {
+                        try (FileChannel input = FileChannel.open(uploadDir.resolve(part.partNumber() + PART_SUFFIX), StandardOpenOption.READ)) {
+                            // File-to-file transfers let the kernel copy (or reflink) without touching user space.
+                            long position = 0;
+                            long size = input.size();
+                            while (position < size) {
+                                position += input.transferTo(position, size - position, output);
+                            }
+                        }
+                    }
+                    output.force(false);
+                }
+                publish(objectKey, contentType, temp);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Storage complete multipart upload failed", ex);
+        }
+        abortMultipart(objectKey, uploadId);
+    }
+
+    @Override
+    public void abortMultipart(String objectKey, String uploadId) {
+        Path uploadDir = requireUpload(objectKey, uploadId);
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(uploadDir)) {
+            for (Path entry : entries) {
+                Files.deleteIfExists(entry);
+            }
+            Files.deleteIfExists(uploadDir);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Storage abort multipart upload failed", ex);
+        }
+    }
+
+    @Override
+    public boolean remote() {
+        return false;
+    }
+
+    boolean verify(SignedRequest request, String signature) {
+        if (signature == null || request.expiresAtEpoch() < Instant.now().getEpochSecond()) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                sign(request).getBytes(StandardCharsets.UTF_8),
+                signature.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    // objects/ab/cd/<sha256 of key>: two levels of 256 directories keep each directory small
+    // however many versions are stored, and hashing keeps arbitrary key characters off the filesystem.
+    Path objectPath(String objectKey) {
+        String hash = sha256Hex(objectKey);
+        return objectsDir.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private void write(String objectKey, String contentType, ReadableByteChannel input, long expectedSize) throws IOException {
+        Path temp = Files.createTempFile(tmpDir, "object-", ".tmp");
+        try {
+            try (FileChannel output = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                copyExactly(input, output, expectedSize);
+                output.force(false);
+            }
+            publish(objectKey, contentType, temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // The metadata sidecar goes first and the data rename last, so a visible object always has its content type.
+    private void publish(String objectKey, String contentType, Path temp) throws IOException {
+        Path target = objectPath(objectKey);
+        Files.createDirectories(target.getParent());
+        Path metaTemp = Files.createTempFile(tmpDir, "meta-", ".tmp");
+        try {
+            Files.writeString(metaTemp, contentType == null ? "application/octet-stream" : contentType, StandardCharsets.UTF_8);
+            moveIntoPlace(metaTemp, metaPath(target));
+        } finally {
+            Files.deleteIfExists(metaTemp);
+        }
+        moveIntoPlace(temp, target);
+    }
+
+    private void copyExactly(ReadableByteChannel input, FileChannel output, long expectedSize) throws IOException {
+        long position = 0;
+        while (position < expectedSize) {
+            long received = output.transferFrom(input, position, expectedSize - position);
+            if (received <= 0) {
+                throw new IOException("Upload ended after " + position + " of " + expectedSize + " bytes");
+            }
+            position += received;
+        }
+        if (input.read(ByteBuffer.allocate(1)) > 0) {
+            throw new IOException("Upload is larger than the declared " + expectedSize + " bytes");
+        }
+    }
+
+    private void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path requireUpload(String objectKey, String uploadId) {
+        Path uploadDir;
+        try {
+            uploadDir = uploadsDir.resolve(UUID.fromString(uploadId).toString());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalStateException("Storage multipart upload not found", ex);
+        }
+        try {
+            if (!objectKey.equals(Files.readString(uploadDir.resolve("key"), StandardCharsets.UTF_8))) {
+                throw new IllegalStateException("Storage multipart upload belongs to another object");
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Storage multipart upload not found", ex);
+        }
+        return uploadDir;
+    }
+
+    private Path metaPath(Path objectPath) {
+        return objectPath.resolveSibling(objectPath.getFileName() + META_SUFFIX);
+    }
+
+    private long expiresAt(long expiresSeconds) {
+        return Instant.now().plusSeconds(Math.max(1L, expiresSeconds)).getEpochSecond();
+    }
+
+    private String signedUrl(SignedRequest request) {
+        Map<String, String> query = new LinkedHashMap<>();
+        query.put("key", request.objectKey());
+        query.put("expires", String.valueOf(request.expiresAtEpoch()));
+        if (request.contentType() != null) {
+            query.put("contentType", request.contentType());
+        }
+        if (request.size() != null) {
+            query.put("size", String.valueOf(request.size()));
+        }
+        if (request.uploadId() != null) {
+            query.put("uploadId", request.uploadId());
+            query.put("partNumber", String.valueOf(request.partNumber()));
+        }
+        query.put("signature", sign(request));
+        return publicUrl + OBJECTS_PATH + "?" + query.entrySet().stream()
+                .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+
+    private String sign(SignedRequest request) {
+        String canonical = String.join("\n",
+                request.method(),
+                request.objectKey(),
+                String.valueOf(request.expiresAtEpoch()),
+                String.valueOf(request.contentType()),
+                String.valueOf(request.size()),
+                String.valueOf(request.uploadId()),
+                String.valueOf(request.partNumber()));
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGO);
+            mac.init(new SecretKeySpec(signingSecret, HMAC_ALGO));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // The claims a local presigned URL carries; null fields are absent from the URL.
+    record SignedRequest(String method,
+                         String objectKey,
+                         long expiresAtEpoch,
+                         String contentType,
+                         Long size,
+                         String uploadId,
+                         Integer partNumber) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.bridge.backend.domain.file;
+
+import com.bridge.backend.common.api.AppException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+// Stands in for the object store's presigned endpoints when the local backend is active.
+// Requests are authorized by the URL signature alone, like S3, so no session cookie is involved.
+@RestController
+@ConditionalOnProperty(prefix = "bridge.storage", name = "backend", havingValue = "local")
+public class LocalStorageController {
+    private final LocalStorageBackend backend;
+
+    public LocalStorageController(LocalStorageBackend backend) {
+        this.backend = backend;
+    }
+
+    @PutMapping(LocalStorageBackend.OBJECTS_PATH)
+    public ResponseEntity<Void> upload(@RequestParam String key,
+                                       @RequestParam long expires,
+                                       @RequestParam String signature,
+                                       @RequestParam(required = false) String contentType,
+                                       @RequestParam(required = false) Long size,
+                                       @RequestParam(required = false) String uploadId,
+                                       @RequestParam(required = false) Integer partNumber,
+                                       HttpServletRequest request) throws IOException {
+        LocalStorageBackend.SignedRequest signed = new LocalStorageBackend.SignedRequest(
+                "PUT", key, expires, contentType, size, uploadId, partNumber);
+        requireSignature(signed, signature);
+        long contentLength = request.getContentLengthLong();
+        if (uploadId != null) {
+            if (contentLength < 0) {
+                throw new AppException(HttpStatus.LENGTH_REQUIRED, "CONTENT_LENGTH_REQUIRED", "Content-Length is required.");
+            }
+            backend.receivePart(key, uploadId, partNumber, request.getInputStream(), contentLength);
+            return ResponseEntity.ok().build();
+        }
+        // Same conditions S3 enforces for signed content-type and content-length headers.
+        if (contentType == null || size == null || !contentType.equals(request.getContentType()) || contentLength != size) {
+            throw new AppException(HttpStatus.FORBIDDEN, "STORAGE_SIGNATURE_INVALID", "Upload does not match the signed request.");
+        }
+        backend.receive(key, contentType, request.getInputStream(), size);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping(LocalStorageBackend.OBJECTS_PATH)
+    public ResponseEntity<StreamingResponseBody> download(@RequestParam String key,
+                                                          @RequestParam long expires,
+                                                          @RequestParam String signature) throws IOException {
+        requireSignature(new LocalStorageBackend.SignedRequest("GET", key, expires, null, null, null, null), signature);
+        if (!backend.exists(key)) {
+            throw new AppException(HttpStatus.NOT_FOUND, "STORAGE_OBJECT_NOT_FOUND", "Object not found.");
+        }
+        long size = backend.size(key);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(backend.contentType(key)));
+        headers.setContentLength(size);
+        StreamingResponseBody body = outputStream -> backend.transferTo(key, 0L, size, outputStream);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    private void requireSignature(LocalStorageBackend.SignedRequest request, String signature) {
+        if (!backend.verify(request, signature)) {
+            throw new AppException(HttpStatus.FORBIDDEN, "STORAGE_SIGNATURE_INVALID", "Signature is invalid or expired.");
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.bridge.backend.domain.file;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// AWS Signature Version 4 query-string presigning for S3-compatible storage (S3, MinIO).
+final class S3RequestSigner {
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String SERVICE = "s3";
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final long MAX_EXPIRES_SECONDS = 604800L;
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter SCOPE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneOffset.UTC);
+
+    private final String accessKey;
+    private final String secretKey;
+    private final String region;
+
+    S3RequestSigner(String accessKey, String secretKey, String region) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.region = region;
+    }
+
+    // baseUri carries scheme and authority; path is the object path starting with '/'. Headers listed in
+    // signedHeaders (besides host) must be sent with exactly these values, which is how uploads are pinned
+    // to the declared content type and length.
+    String presign(String method, URI baseUri, String path, Map<String, String> signedHeaders, long expiresSeconds, Instant now) {
+        return presign(method, baseUri, path, Map.of(), signedHeaders, expiresSeconds, now);
+    }
+
+    // parameters are sub-resource query values such as uploadId and partNumber; they are part of the signature.
+    String presign(String method,
+                   URI baseUri,
+                   String path,
+                   Map<String, String> parameters,
+                   Map<String, String> signedHeaders,
+                   long expiresSeconds,
+                   Instant now) {
+        String amzDate = AMZ_DATE.format(now);
+        String scope = SCOPE_DATE.format(now) + "/" + region + "/" + SERVICE + "/aws4_request";
+
+        Map<String, String> headers = new TreeMap<>();
+        headers.put("host", hostHeader(baseUri));
+        signedHeaders.forEach((name, value) -> headers.put(name.toLowerCase(Locale.ROOT), value.trim()));
+        String signedHeaderNames = String.join(";", headers.keySet());
+
+        Map<String, String> query = new TreeMap<>(parameters);
+        query.put("X-Amz-Algorithm", ALGORITHM);
+        query.put("X-Amz-Credential", accessKey + "/" + scope);
+        query.put("X-Amz-Date", amzDate);
+        query.put("X-Amz-Expires", String.valueOf(Math.max(1L, Math.min(expiresSeconds, MAX_EXPIRES_SECONDS))));
+        query.put("X-Amz-SignedHeaders", signedHeaderNames);
+        String canonicalQuery = canonicalQuery(query);
+
+        String canonicalPath = encodePath(path);
+        String canonicalRequest = method + "\n"
+                + canonicalPath + "\n"
+                + canonicalQuery + "\n"
+                + headers.entrySet().stream().map(e -> e.getKey() + ":" + e.getValue() + "\n").collect(Collectors.joining()) + "\n"
+                + signedHeaderNames + "\n"
+                + UNSIGNED_PAYLOAD;
+        String stringToSign = ALGORITHM + "\n" + amzDate + "\n" + scope + "\n" + sha256Hex(canonicalRequest);
+
+        byte[] signingKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), SCOPE_DATE.format(now));
+        signingKey = hmac(signingKey, region);
+        signingKey = hmac(signingKey, SERVICE);
+        signingKey = hmac(signingKey, "aws4_request");
+        String signature = HexFormat.of().formatHex(hmac(signingKey, stringToSign));
+
+        return baseUri.getScheme() + "://" + baseUri.getRawAuthority() + canonicalPath
+                + "?" + canonicalQuery + "&X-Amz-Signature=" + signature;
+    }
+
+    private String hostHeader(URI uri) {
+        int port = uri.getPort();
+        boolean defaultPort = port < 0
+                || ("http".equalsIgnoreCase(uri.getScheme()) && port == 80)
+                || ("https".equalsIgnoreCase(uri.getScheme()) && port == 443);
+        return defaultPort ? uri.getHost() : uri.getHost() + ":" + port;
+    }
+
+    private String canonicalQuery(Map<String, String> sortedQuery) {
+        return sortedQuery.entrySet().stream()
+                .map(e -> encode(e.getKey()) + "=" + encode(e.getValue()))
+                .collect(Collectors.joining("&"));
+    }
+
+    // Each segment is encoded but the separators stay, so "/files/a b" becomes "/files/a%20b".
+    private String encodePath(String path) {
+        return Arrays.stream(path.split("/", -1))
+                .map(S3RequestSigner::encode)
+                .collect(Collectors.joining("/"));
+    }
+
+    // RFC 3986 encoding as SigV4 requires: only unreserved characters stay literal.
+    static String encode(String value) {
+        StringBuilder encoded = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~') {
+                encoded.append(c);
+            } else {
+                encoded.append('%').append(String.format("%02X", b & 0xFF));
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
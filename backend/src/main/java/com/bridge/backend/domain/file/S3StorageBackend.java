@@ -0,0 +1,447 @@
+package com.bridge.backend.domain.file;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// S3-compatible object storage (S3, MinIO) reached over HTTP with SigV4 presigned requests. Requests go out
+// through sendAsync and retries are scheduled on a timer, so no thread ever sleeps waiting on storage; callers
+// that need a result block only inside a StorageGuard slot, which caps how many threads storage can hold.
+@Component
+@ConditionalOnProperty(prefix = "bridge.storage", name = "backend", havingValue = "s3", matchIfMissing = true)
+public class S3StorageBackend implements StorageBackend {
+    private static final long SERVER_REQUEST_URL_TTL_SECONDS = 900L;
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(20);
+    // Upper bound for one operation including retries; also covers reading a body, which REQUEST_TIMEOUT does not.
+    private static final Duration OPERATION_TIMEOUT = Duration.ofSeconds(60);
+    private static final int MAX_RETRY_ATTEMPTS = 2;
+    private static final long RETRY_BACKOFF_MILLIS = 250L;
+
+    private final URI endpointUri;
+    private final String bucketPath;
+    private final S3RequestSigner requestSigner;
+    private final StorageGuard guard;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build();
+
+    public S3StorageBackend(@Value("${bridge.storage.endpoint}") String endpoint,
+                            @Value("${bridge.storage.bucket}") String bucket,
+                            @Value("${bridge.storage.access-key}") String accessKey,
+                            @Value("${bridge.storage.secret-key}") String secretKey,
+                            @Value("${bridge.storage.region:us-east-1}") String region,
+                            StorageGuard guard) {
+        this.endpointUri = URI.create(endpoint);
+        // Path-style addressing works for both MinIO and S3, and keeps the host stable for signing.
+        String basePath = endpointUri.getRawPath() == null ? "" : endpointUri.getRawPath().replaceAll("/+$", "");
+        this.bucketPath = basePath + "/" + bucket;
+        this.requestSigner = new S3RequestSigner(accessKey, secretKey, region);
+        this.guard = guard;
+    }
+
+    @Override
+    public String presignUpload(String objectKey, String contentType, long size, long expiresSeconds) {
+        // Content type and length are signed, so storage rejects an upload that differs from what was declared.
+        return presign("PUT", objectKey, Map.of(
+                "content-type", contentType,
+                "content-length", String.valueOf(size)
+        ), expiresSeconds);
+    }
+
+    @Override
+    public String presignDownload(String objectKey, long expiresSeconds) {
+        return presign("GET", objectKey, Map.of(), expiresSeconds);
+    }
+
+    @Override
+    public void put(String objectKey, String contentType, Path source) {
+        long size;
+        try {
+            size = Files.size(source);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Storage upload failed", ex);
+        }
+        String uploadUrl = presignUpload(objectKey, contentType, size, SERVER_REQUEST_URL_TTL_SECONDS);
+        exchange(StorageGuard.Operation.WRITE, "upload", () -> {
+            try {
+                return HttpRequest.newBuilder(URI.create(uploadUrl))
+                        .header("Content-Type", contentType)
+                        .timeout(REQUEST_TIMEOUT)
+                        .PUT(HttpRequest.BodyPublishers.ofFile(source))
+                        .build();
+            } catch (IOException ex) {
+                throw new IllegalStateException("Storage upload failed", ex);
+            }
+        });
+    }
+
+    @Override
+    public void put(String objectKey, String contentType, byte[] bytes) {
+        String uploadUrl = presignUpload(objectKey, contentType, bytes.length, SERVER_REQUEST_URL_TTL_SECONDS);
+        exchange(StorageGuard.Operation.WRITE, "upload", () -> HttpRequest.newBuilder(URI.create(uploadUrl))
+                .header("Content-Type", contentType)
+                .timeout(REQUEST_TIMEOUT)
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(bytes))
+                .build());
+    }
+
+    @Override
+    public StorageService.ObjectStream open(String objectKey, long rangeStart, long rangeEnd) {
+        String downloadUrl = presignDownload(objectKey, SERVER_REQUEST_URL_TTL_SECONDS);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(downloadUrl))
+                .GET()
+                .timeout(REQUEST_TIMEOUT);
+        if (rangeStart >= 0) {
+            builder.header("Range", "bytes=" + rangeStart + "-" + rangeEnd);
+        }
+        HttpRequest request = builder.build();
+        // The slot is held until the caller closes the body, since that is when the connection is given back.
+        StorageGuard.Permit permit = guard.acquire(StorageGuard.Operation.READ);
+        try {
+            HttpResponse<InputStream> response = await(
+                    sendWithDeadline("download", () -> request, HttpResponse.BodyHandlers.ofInputStream()));
+            permit.record(null);
+            InputStream body = new FilterInputStream(response.body()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        permit.release();
+                    }
+                }
+            };
+            return new StorageService.ObjectStream(body, response.statusCode() == 206);
+        } catch (RuntimeException ex) {
+            permit.complete(ex);
+            throw ex;
+        }
+    }
+
+    @Override
+    public void transferTo(String objectKey, long offset, long length, OutputStream out) throws IOException {
+        StorageService.ObjectStream object = open(objectKey, offset, offset + length - 1);
+        try (InputStream input = object.body()) {
+            // Storage that ignores Range sends the whole object, so cut the slice out here.
+            if (!object.partial()) {
+                input.skipNBytes(offset);
+            }
+            byte[] buffer = new byte[8192];
+            long remaining = length;
+            while (remaining > 0) {
+                int read = input.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    @Override
+    public void delete(String objectKey) {
+        String deleteUrl = presign("DELETE", objectKey, Map.of(), SERVER_REQUEST_URL_TTL_SECONDS);
+        try {
+            exchange(StorageGuard.Operation.CONTROL, "delete", () -> HttpRequest.newBuilder(URI.create(deleteUrl))
+                    .timeout(REQUEST_TIMEOUT)
+                    .DELETE()
+                    .build());
+        } catch (RuntimeException ignored) {
+            // Best-effort cleanup only.
+        }
+    }
+
+    @Override
+    public String initiateMultipart(String objectKey, String contentType) {
+        // Content type is fixed when the upload is created; the final object inherits it.
+        String url = presign("POST", objectKey, Map.of("uploads", ""), Map.of("content-type", contentType), SERVER_REQUEST_URL_TTL_SECONDS);
+        HttpResponse<byte[]> response = exchange(StorageGuard.Operation.CONTROL, "initiate multipart upload", () -> HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", contentType)
+                .timeout(REQUEST_TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build());
+        String uploadId = firstText(parseXml(response.body()).getDocumentElement(), "UploadId");
+        if (uploadId == null || uploadId.isBlank()) {
+            throw new IllegalStateException("Storage did not return an upload id");
+        }
+        return uploadId;
+    }
+
+    @Override
+    public String presignUploadPart(String objectKey, String uploadId, int partNumber, long expiresSeconds) {
+        return presign("PUT", objectKey, Map.of(
+                "partNumber", String.valueOf(partNumber),
+                "uploadId", uploadId
+        ), Map.of(), expiresSeconds);
+    }
+
+    @Override
+    public List<StorageService.UploadedPart> listParts(String objectKey, String uploadId) {
+        List<StorageService.UploadedPart> parts = new ArrayList<>();
+        String marker = null;
+        while (true) {
+            Map<String, String> parameters = new HashMap<>();
+            parameters.put("uploadId", uploadId);
+            if (marker != null) {
+                parameters.put("part-number-marker", marker);
+            }
+            String url = presign("GET", objectKey, parameters, Map.of(), SERVER_REQUEST_URL_TTL_SECONDS);
+            HttpResponse<byte[]> response = exchange(StorageGuard.Operation.CONTROL, "list multipart parts", () -> HttpRequest.newBuilder(URI.create(url))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET()
+                    .build());
+            Element root = parseXml(response.body()).getDocumentElement();
+            NodeList partNodes = root.getElementsByTagName("Part");
+            for (int i = 0; i < partNodes.getLength(); i++) {
+                Element part = (Element) partNodes.item(i);
+                parts.add(new StorageService.UploadedPart(
+                        Integer.parseInt(firstText(part, "PartNumber")),
+                        firstText(part, "ETag"),
+                        Long.parseLong(firstText(part, "Size"))
+                ));
+            }
+            marker = firstText(root, "NextPartNumberMarker");
+            if (!"true".equalsIgnoreCase(firstText(root, "IsTruncated")) || marker == null) {
+                break;
+            }
+        }
+        parts.sort(Comparator.comparingInt(StorageService.UploadedPart::partNumber));
+        return parts;
+    }
+
+    @Override
+    public void completeMultipart(String objectKey, String uploadId, List<StorageService.UploadedPart> parts) {
+        StringBuilder body = new StringBuilder("<CompleteMultipartUpload>");
+        for (StorageService.UploadedPart part : parts) {
+            body.append("<Part><PartNumber>").append(part.partNumber()).append("</PartNumber><ETag>")
+                    .append(escapeXml(part.etag())).append("</ETag></Part>");
+        }
+        body.append("</CompleteMultipartUpload>");
+        byte[] payload = body.toString().getBytes(StandardCharsets.UTF_8);
+        String url = presign("POST", objectKey, Map.of("uploadId", uploadId), Map.of(), SERVER_REQUEST_URL_TTL_SECONDS);
+        HttpResponse<byte[]> response = exchange(StorageGuard.Operation.CONTROL, "complete multipart upload", () -> HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/xml")
+                .timeout(REQUEST_TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(payload))
+                .build());
+        // S3 may answer 200 and still report a failure in the body once the assembly has started.
+        if ("Error".equals(parseXml(response.body()).getDocumentElement().getTagName())) {
+            throw new IllegalStateException("Storage failed to complete multipart upload");
+        }
+    }
+
+    @Override
+    public void abortMultipart(String objectKey, String uploadId) {
+        String url = presign("DELETE", objectKey, Map.of("uploadId", uploadId), Map.of(), SERVER_REQUEST_URL_TTL_SECONDS);
+        exchange(StorageGuard.Operation.CONTROL, "abort multipart upload", () -> HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .DELETE()
+                .build());
+    }
+
+    private String presign(String method, String objectKey, Map<String, String> signedHeaders, long expiresSeconds) {
+        return presign(method, objectKey, Map.of(), signedHeaders, expiresSeconds);
+    }
+
+    private String presign(String method,
+                           String objectKey,
+                           Map<String, String> parameters,
+                           Map<String, String> signedHeaders,
+                           long expiresSeconds) {
+        return requestSigner.presign(method, endpointUri, bucketPath + "/" + objectKey, parameters, signedHeaders,
+                expiresSeconds, Instant.now());
+    }
+
+    private HttpResponse<byte[]> exchange(StorageGuard.Operation operation, String description, Supplier<HttpRequest> requestSupplier) {
+        return await(guard.call(operation, () -> sendWithDeadline(description, requestSupplier, HttpResponse.BodyHandlers.ofByteArray())));
+    }
+
+    // Bounds the whole operation, retries included. Timing out the composed future does not stop the HTTP
+    // exchange behind it, so the exchange is cancelled before the returned future completes; a bulkhead slot
+    // released on that completion then never leaves a request still running against storage.
+    private <T> CompletableFuture<HttpResponse<T>> sendWithDeadline(String description,
+                                                                    Supplier<HttpRequest> requestSupplier,
+                                                                    HttpResponse.BodyHandler<T> bodyHandler) {
+        InFlight inFlight = new InFlight();
+        return send(description, requestSupplier, bodyHandler, 0, inFlight)
+                .orTimeout(OPERATION_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> {
+                    if (error != null && unwrap(error) instanceof TimeoutException) {
+                        inFlight.abandon();
+                    }
+                });
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> send(String description,
+                                                        Supplier<HttpRequest> requestSupplier,
+                                                        HttpResponse.BodyHandler<T> bodyHandler,
+                                                        int attempt,
+                                                        InFlight inFlight) {
+        CompletableFuture<HttpResponse<T>> exchange = httpClient.sendAsync(requestSupplier.get(), bodyHandler);
+        inFlight.track(exchange);
+        return exchange
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = unwrap(error);
+                        if (cause instanceof IOException && attempt < MAX_RETRY_ATTEMPTS) {
+                            return retryLater(description, requestSupplier, bodyHandler, attempt, inFlight);
+                        }
+                        return CompletableFuture.<HttpResponse<T>>failedFuture(
+                                new IllegalStateException("Storage " + description + " failed", cause));
+                    }
+                    int status = response.statusCode();
+                    if (status >= 200 && status < 300) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    discard(response);
+                    if (shouldRetry(attempt, status)) {
+                        return retryLater(description, requestSupplier, bodyHandler, attempt, inFlight);
+                    }
+                    return CompletableFuture.<HttpResponse<T>>failedFuture(new StorageResponseException(description, status));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> retryLater(String description,
+                                                              Supplier<HttpRequest> requestSupplier,
+                                                              HttpResponse.BodyHandler<T> bodyHandler,
+                                                              int attempt,
+                                                              InFlight inFlight) {
+        // Jittered exponential backoff on a timer: retries from many requests spread out instead of arriving
+        // together, and nothing holds a thread while waiting.
+        long ceiling = RETRY_BACKOFF_MILLIS << attempt;
+        long delay = ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+        Executor later = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS);
+        return CompletableFuture.runAsync(() -> { }, later)
+                .thenCompose(ignored -> send(description, requestSupplier, bodyHandler, attempt + 1, inFlight));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = unwrap(ex);
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Storage request failed", cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static void discard(HttpResponse<?> response) {
+        if (response.body() instanceof InputStream body) {
+            try {
+                body.close();
+            } catch (IOException ignored) {
+                // Nothing left to read from a failed response.
+            }
+        }
+    }
+
+    private static Document parseXml(byte[] body) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setExpandEntityReferences(false);
+            return factory.newDocumentBuilder().parse(new ByteArrayInputStream(body));
+        } catch (Exception ex) {
+            throw new IllegalStateException("Storage returned an unreadable response", ex);
+        }
+    }
+
+    private static String firstText(Element parent, String tagName) {
+        NodeList nodes = parent.getElementsByTagName(tagName);
+        return nodes.getLength() == 0 ? null : nodes.item(0).getTextContent();
+    }
+
+    private static String escapeXml(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private boolean shouldRetry(int attempt, int statusCode) {
+        return attempt < MAX_RETRY_ATTEMPTS && (statusCode == 408 || statusCode == 429 || statusCode >= 500);
+    }
+
+    // The HTTP exchange currently running for one operation. Cancelling it aborts the request (JDK 16+); a
+    // response that already arrived is drained so its connection goes back to the pool.
+    private static final class InFlight {
+        private CompletableFuture<? extends HttpResponse<?>> exchange;
+        private boolean abandoned;
+
+        synchronized void track(CompletableFuture<? extends HttpResponse<?>> next) {
+            exchange = next;
+            if (abandoned) {
+                // A retry that was already scheduled when the deadline passed.
+                stop(next);
+            }
+        }
+
+        synchronized void abandon() {
+            abandoned = true;
+            if (exchange != null) {
+                stop(exchange);
+            }
+        }
+
+        private static void stop(CompletableFuture<? extends HttpResponse<?>> exchange) {
+            exchange.cancel(true);
+            exchange.thenAccept(S3StorageBackend::discard);
+        }
+    }
+
+    // Storage answered with an error status. Only throttling and server errors say storage is unhealthy.
+    static final class StorageResponseException extends IllegalStateException {
+        private final int status;
+
+        StorageResponseException(String description, int status) {
+            super("Storage " + description + " failed with status " + status);
+            this.status = status;
+        }
+
+        boolean transientFailure() {
+            return status == 408 || status == 429 || status >= 500;
+        }
+    }
+}
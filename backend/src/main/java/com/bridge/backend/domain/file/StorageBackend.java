@@ -0,0 +1,44 @@
+package com.bridge.backend.domain.file;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+// Where object bytes live. StorageService owns key layout and upload tickets; a backend only moves bytes.
+public interface StorageBackend {
+
+    // A URL the client can PUT exactly contentType/size to without going through the API.
+    String presignUpload(String objectKey, String contentType, long size, long expiresSeconds);
+
+    String presignDownload(String objectKey, long expiresSeconds);
+
+    void put(String objectKey, String contentType, Path source);
+
+    void put(String objectKey, String contentType, byte[] bytes);
+
+    // Forwards an inclusive byte range (rangeStart < 0 for the whole object); partial() is false when the
+    // backend ignored the range and returned everything.
+    StorageService.ObjectStream open(String objectKey, long rangeStart, long rangeEnd);
+
+    // Writes length bytes starting at offset to out, using the cheapest copy path the backend has.
+    void transferTo(String objectKey, long offset, long length, OutputStream out) throws IOException;
+
+    void delete(String objectKey);
+
+    String initiateMultipart(String objectKey, String contentType);
+
+    String presignUploadPart(String objectKey, String uploadId, int partNumber, long expiresSeconds);
+
+    // Uploaded parts in part number order.
+    List<StorageService.UploadedPart> listParts(String objectKey, String uploadId);
+
+    void completeMultipart(String objectKey, String uploadId, List<StorageService.UploadedPart> parts);
+
+    void abortMultipart(String objectKey, String uploadId);
+
+    // False when reads are already local, so caching them on disk would only duplicate bytes.
+    default boolean remote() {
+        return true;
+    }
+}
@@ -0,0 +1,195 @@
+package com.bridge.backend.domain.file;
+
+import com.bridge.backend.common.api.AppException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// Keeps a slow or failing object store from taking the rest of the API with it: each operation kind gets a
+// fixed number of concurrent storage calls, and after repeated failures calls fail fast until a probe succeeds.
+@Component
+public class StorageGuard {
+
+    public enum Operation {
+        READ, WRITE, CONTROL
+    }
+
+    private enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+    private final Map<Operation, Semaphore> bulkheads = new EnumMap<>(Operation.class);
+    private final Counter circuitRejections;
+    private final Counter bulkheadRejections;
+    // Guarded by this.
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    @Autowired
+    public StorageGuard(MeterRegistry meterRegistry,
+                        @Value("${bridge.storage.circuit.failure-threshold:5}") int failureThreshold,
+                        @Value("${bridge.storage.circuit.open-ms:30000}") long openMillis,
+                        @Value("${bridge.storage.bulkhead.read:32}") int readPermits,
+                        @Value("${bridge.storage.bulkhead.write:16}") int writePermits,
+                        @Value("${bridge.storage.bulkhead.control:16}") int controlPermits) {
+        this(meterRegistry, failureThreshold, openMillis, readPermits, writePermits, controlPermits, System::currentTimeMillis);
+    }
+
+    StorageGuard(MeterRegistry meterRegistry,
+                 int failureThreshold,
+                 long openMillis,
+                 int readPermits,
+                 int writePermits,
+                 int controlPermits,
+                 LongSupplier clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = Math.max(0L, openMillis);
+        this.clock = clock;
+        bulkheads.put(Operation.READ, new Semaphore(Math.max(1, readPermits)));
+        bulkheads.put(Operation.WRITE, new Semaphore(Math.max(1, writePermits)));
+        bulkheads.put(Operation.CONTROL, new Semaphore(Math.max(1, controlPermits)));
+        this.circuitRejections = rejections(meterRegistry, "circuit_open");
+        this.bulkheadRejections = rejections(meterRegistry, "bulkhead_full");
+        Gauge.builder("bridge.storage.circuit.open", this, guard -> guard.isOpen() ? 1 : 0)
+                .description("1 while storage calls are failing fast after repeated errors")
+                .register(meterRegistry);
+        bulkheads.forEach((operation, semaphore) ->
+                Gauge.builder("bridge.storage.bulkhead.available", semaphore, Semaphore::availablePermits)
+                        .description("Free concurrent storage call slots by operation")
+                        .tag("operation", operation.name().toLowerCase())
+                        .register(meterRegistry));
+    }
+
+    // Runs action under a permit that is released once its future settles; the outcome feeds the breaker.
+    <T> CompletableFuture<T> call(Operation operation, Supplier<CompletableFuture<T>> action) {
+        Permit permit = acquire(operation);
+        CompletableFuture<T> future;
+        try {
+            future = action.get();
+        } catch (RuntimeException ex) {
+            permit.complete(ex);
+            throw ex;
+        }
+        return future.whenComplete((result, error) -> permit.complete(error));
+    }
+
+    // Fails fast with 503 when the breaker is open or the operation has no free slot. Callers that hand a
+    // stream to the caller record the outcome once the response starts and release when the stream closes.
+    Permit acquire(Operation operation) {
+        if (!allowRequest()) {
+            circuitRejections.increment();
+            throw new AppException(HttpStatus.SERVICE_UNAVAILABLE, "STORAGE_UNAVAILABLE", "Storage is temporarily unavailable.");
+        }
+        Semaphore semaphore = bulkheads.get(operation);
+        if (!semaphore.tryAcquire()) {
+            bulkheadRejections.increment();
+            // A half-open probe that never ran must not keep the breaker stuck.
+            releaseProbe();
+            throw new AppException(HttpStatus.SERVICE_UNAVAILABLE, "STORAGE_BUSY", "Storage is busy. Please retry shortly.");
+        }
+        return new Permit(semaphore);
+    }
+
+    synchronized boolean isOpen() {
+        return state == State.OPEN && clock.getAsLong() - openedAt < openMillis;
+    }
+
+    private synchronized boolean allowRequest() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openMillis) {
+            // Let exactly one call through to find out whether storage has recovered.
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void releaseProbe() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong() - openMillis;
+        }
+    }
+
+    private synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    private synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    // Only errors that say something about storage health count; a 404 or 403 means storage answered fine.
+    private static boolean unhealthy(Throwable error) {
+        Throwable cause = error;
+        while (cause != null) {
+            if (cause instanceof S3StorageBackend.StorageResponseException response) {
+                return response.transientFailure();
+            }
+            cause = cause.getCause();
+        }
+        return true;
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("bridge.storage.rejected")
+                .description("Storage calls refused without reaching storage")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    final class Permit {
+        private final Semaphore semaphore;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        void record(Throwable error) {
+            if (!recorded.compareAndSet(false, true)) {
+                return;
+            }
+            if (error == null || !unhealthy(error)) {
+                recordSuccess();
+            } else {
+                recordFailure();
+            }
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+
+        void complete(Throwable error) {
+            record(error);
+            release();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.bridge.backend.domain.file;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Size-bounded LRU copy of hot objects on local disk. Object keys are never reused for different bytes
+// (every upload gets a fresh key), so entries are only ever evicted, never invalidated.
+@Component
+public class StorageObjectCache {
+    private static final Logger log = LoggerFactory.getLogger(StorageObjectCache.class);
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxBytes;
+    private final long maxObjectBytes;
+    // Access-ordered, so iteration starts at the least recently used entry. Guarded by itself.
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter evictions;
+    private long totalBytes;
+
+    @Autowired
+    public StorageObjectCache(MeterRegistry meterRegistry,
+                              StorageBackend backend,
+                              @Value("${bridge.storage.cache.enabled:true}") boolean enabled,
+                              @Value("${bridge.storage.cache.directory:./data/storage-cache}") String directory,
+                              @Value("${bridge.storage.cache.max-bytes:1073741824}") long maxBytes,
+                              @Value("${bridge.storage.cache.max-object-bytes:67108864}") long maxObjectBytes) {
+        this(meterRegistry, enabled && backend.remote(), Path.of(directory), maxBytes, maxObjectBytes);
+    }
+
+    StorageObjectCache(MeterRegistry meterRegistry, boolean enabled, Path directory, long maxBytes, long maxObjectBytes) {
+        this.enabled = enabled && maxBytes > 0;
+        this.directory = directory.toAbsolutePath().normalize();
+        this.maxBytes = Math.max(0L, maxBytes);
+        this.maxObjectBytes = Math.min(Math.max(0L, maxObjectBytes), this.maxBytes);
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.coalesced = requests(meterRegistry, "coalesced");
+        this.evictions = Counter.builder("bridge.storage.cache.evictions")
+                .description("Objects removed from the local storage cache to stay under its size limit")
+                .register(meterRegistry);
+        Gauge.builder("bridge.storage.cache.bytes", this, StorageObjectCache::cachedBytes)
+                .description("Bytes currently held in the local storage cache")
+                .register(meterRegistry);
+        if (this.enabled) {
+            loadExisting();
+        }
+    }
+
+    public static StorageObjectCache disabled() {
+        return new StorageObjectCache(new SimpleMeterRegistry(), false, Path.of("."), 0L, 0L);
+    }
+
+    boolean accepts(long objectSize) {
+        return enabled && objectSize >= 0 && objectSize <= maxObjectBytes;
+    }
+
+    // Returns an open channel on the cached copy, fetching it first on a miss. Concurrent misses for
+    // the same key share one fetch. The channel stays readable even if the entry is evicted meanwhile.
+    FileChannel open(String objectKey, Supplier<InputStream> loader) throws IOException {
+        String name = fileName(objectKey);
+        while (true) {
+            FileChannel cached = openIfPresent(name);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            CompletableFuture<Void> fetch = new CompletableFuture<>();
+            CompletableFuture<Void> running = inFlight.putIfAbsent(name, fetch);
+            if (running != null) {
+                coalesced.increment();
+                await(running);
+                continue;
+            }
+            misses.increment();
+            try {
+                FileChannel loaded = load(name, loader);
+                fetch.complete(null);
+                return loaded;
+            } catch (IOException | RuntimeException ex) {
+                fetch.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                inFlight.remove(name, fetch);
+            }
+        }
+    }
+
+    long cachedBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    private FileChannel openIfPresent(String name) throws IOException {
+        synchronized (entries) {
+            if (entries.get(name) == null) {
+                return null;
+            }
+            try {
+                return FileChannel.open(path(name), StandardOpenOption.READ);
+            } catch (NoSuchFileException ex) {
+                // Removed behind our back; forget it and fetch again.
+                totalBytes -= entries.remove(name);
+                return null;
+            }
+        }
+    }
+
+    private FileChannel load(String name, Supplier<InputStream> loader) throws IOException {
+        Path target = path(name);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), name, TEMP_SUFFIX);
+        try {
+            try (InputStream input = loader.get()) {
+                Files.copy(input, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            long size = Files.size(temp);
+            synchronized (entries) {
+                moveIntoPlace(temp, target);
+                Long previous = entries.put(name, size);
+                totalBytes += size - (previous == null ? 0L : previous);
+                FileChannel channel = FileChannel.open(target, StandardOpenOption.READ);
+                evictOverflow(name);
+                return channel;
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Caller holds the entries lock.
+    private void evictOverflow(String keep) {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(path(entry.getKey()));
+            } catch (IOException ex) {
+                log.warn("Could not delete cached object {}", entry.getKey(), ex);
+            }
+            totalBytes -= entry.getValue();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    // Rebuilds the index from disk so a restart keeps the warm set, oldest files first.
+    private void loadExisting() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(directory, 2)) {
+                files = walk.filter(Files::isRegularFile).toList();
+            }
+            Map<Path, FileTime> modified = new LinkedHashMap<>();
+            for (Path file : files) {
+                if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                } else {
+                    modified.put(file, Files.getLastModifiedTime(file));
+                }
+            }
+            synchronized (entries) {
+                modified.entrySet().stream()
+                        .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+                        .forEach(entry -> {
+                            try {
+                                long size = Files.size(entry.getKey());
+                                entries.put(entry.getKey().getFileName().toString(), size);
+                                totalBytes += size;
+                            } catch (IOException ignored) {
+                                // Vanished while scanning.
+                            }
+                        });
+                evictOverflow(null);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot prepare storage cache directory " + directory, ex);
+        }
+    }
+
+    private void await(CompletableFuture<Void> fetch) throws IOException {
+        try {
+            fetch.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw ex;
+        }
+    }
+
+    private void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path path(String name) {
+        return directory.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("bridge.storage.cache.requests")
+                .description("Local storage cache lookups by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static String fileName(String objectKey) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(objectKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
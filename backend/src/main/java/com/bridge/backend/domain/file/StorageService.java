@@ -8,16 +8,21 @@ import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
-import java.time.Duration;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -25,29 +30,36 @@ import java.util.UUID;
 public class StorageService {
     private static final String HMAC_ALGO = "HmacSHA256";
     private static final long DEFAULT_UPLOAD_TICKET_TTL_SECONDS = 900L;
-    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
-    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(20);
-    private static final int MAX_RETRY_ATTEMPTS = 2;
-    private static final long RETRY_BACKOFF_MILLIS = 250L;
+    private static final long DEFAULT_DOWNLOAD_URL_TTL_SECONDS = 900L;
+    // Multi-GB uploads outlive the single-PUT ticket; parts are re-presigned on demand, so only the ticket needs the long TTL.
+    private static final long MULTIPART_UPLOAD_TICKET_TTL_SECONDS = 86400L;
+    private static final long UPLOAD_PART_URL_TTL_SECONDS = 3600L;
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    private static final long DEFAULT_PART_SIZE = 16L * 1024 * 1024;
+    private static final int MAX_PART_COUNT = 10000;
 
-    private final String endpoint;
-    private final String bucket;
+    private final StorageBackend backend;
+    private final StorageObjectCache cache;
     private final byte[] presignSecret;
     private final ObjectMapper objectMapper;
-    private final HttpClient httpClient = HttpClient.newBuilder()
-            .connectTimeout(CONNECT_TIMEOUT)
-            .build();
 
-    public StorageService(@Value("${bridge.storage.endpoint}") String endpoint,
-                          @Value("${bridge.storage.bucket}") String bucket,
+    public StorageService(StorageBackend backend,
+                          StorageObjectCache cache,
                           @Value("${bridge.storage.presign-secret}") String presignSecret,
                           ObjectMapper objectMapper) {
-        this.endpoint = endpoint;
-        this.bucket = bucket;
+        this.backend = backend;
+        this.cache = cache;
         this.presignSecret = presignSecret.getBytes(StandardCharsets.UTF_8);
         this.objectMapper = objectMapper;
     }
 
+    public static long multipartPartSize(long size) {
+        long minimumForCount = (size + MAX_PART_COUNT - 1) / MAX_PART_COUNT;
+        long partSize = Math.max(DEFAULT_PART_SIZE, minimumForCount);
+        // Round up to a whole MiB so part boundaries are easy to reason about on the client.
+        return Math.max(MIN_PART_SIZE, ((partSize + 1024 * 1024 - 1) / (1024 * 1024)) * 1024 * 1024);
+    }
+
     public Map<String, Object> createUploadPresign(UUID fileId,
                                                    int nextVersion,
                                                    String contentType,
@@ -62,7 +74,37 @@ public class StorageService {
                 "contentType", target.contentType(),
                 "size", target.size(),
                 "checksum", target.checksum(),
-                "uploadTicket", target.uploadTicket()
+                "uploadTicket", target.uploadTicket(),
+                "deduplicated", false
+        );
+    }
+
+    // Same bytes are already stored: the ticket names the existing object and there is nothing to upload.
+    public Map<String, Object> createLinkedUploadPresign(UUID fileId,
+                                                         int nextVersion,
+                                                         String objectKey,
+                                                         String contentType,
+                                                         long size,
+                                                         String checksum) {
+        Instant expiresAt = Instant.now().plusSeconds(DEFAULT_UPLOAD_TICKET_TTL_SECONDS);
+        String uploadTicket = createUploadTicket(new UploadTicketPayload(
+                fileId.toString(),
+                nextVersion,
+                objectKey,
+                contentType,
+                size,
+                checksum,
+                expiresAt.getEpochSecond()
+        ));
+        return Map.of(
+                "objectKey", objectKey,
+                "version", nextVersion,
+                "expiresAt", expiresAt,
+                "contentType", contentType,
+                "size", size,
+                "checksum", checksum,
+                "uploadTicket", uploadTicket,
+                "deduplicated", true
         );
     }
 
@@ -82,10 +124,61 @@ public class StorageService {
                 checksum,
                 expiresAt.getEpochSecond()
         ));
-        String uploadUrl = endpoint + "/" + bucket + "/" + objectKey + "?x-presigned-upload=true";
+        String uploadUrl = backend.presignUpload(objectKey, contentType, size, DEFAULT_UPLOAD_TICKET_TTL_SECONDS);
         return new UploadTarget(uploadUrl, objectKey, nextVersion, expiresAt, contentType, size, checksum, uploadTicket);
     }
 
+    public MultipartUpload initiateMultipartUpload(UUID fileId,
+                                                   int nextVersion,
+                                                   String contentType,
+                                                   long size,
+                                                   String checksum) {
+        String objectKey = "files/" + fileId + "/v" + nextVersion + "/" + UUID.randomUUID();
+        Instant expiresAt = Instant.now().plusSeconds(MULTIPART_UPLOAD_TICKET_TTL_SECONDS);
+        String uploadTicket = createUploadTicket(new UploadTicketPayload(
+                fileId.toString(),
+                nextVersion,
+                objectKey,
+                contentType,
+                size,
+                checksum,
+                expiresAt.getEpochSecond()
+        ));
+        String uploadId = backend.initiateMultipart(objectKey, contentType);
+        long partSize = multipartPartSize(size);
+        int partCount = (int) Math.max(1L, (size + partSize - 1) / partSize);
+        return new MultipartUpload(objectKey, uploadId, nextVersion, partSize, partCount, expiresAt, contentType, size, checksum, uploadTicket);
+    }
+
+    // Part URLs are short-lived and can be requested again at any time, which is what makes the upload resumable.
+    public String createUploadPartPresign(String objectKey, String uploadId, int partNumber) {
+        return backend.presignUploadPart(objectKey, uploadId, partNumber, UPLOAD_PART_URL_TTL_SECONDS);
+    }
+
+    public List<UploadedPart> listUploadedParts(String objectKey, String uploadId) {
+        return backend.listParts(objectKey, uploadId);
+    }
+
+    public void completeMultipartUpload(String objectKey, String uploadId, List<UploadedPart> parts) {
+        backend.completeMultipart(objectKey, uploadId, parts);
+    }
+
+    public void abortMultipartUpload(String objectKey, String uploadId) {
+        backend.abortMultipart(objectKey, uploadId);
+    }
+
+    // Checks the ticket signature, expiry and the object it was issued for, without the per-version claims.
+    public boolean verifyUploadTicketFor(String ticket, UUID fileId, String objectKey) {
+        try {
+            UploadTicketPayload payload = parseUploadTicket(ticket);
+            return payload.expiresAtEpoch() >= Instant.now().getEpochSecond()
+                    && payload.fileId().equals(fileId.toString())
+                    && payload.objectKey().equals(objectKey);
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
     public boolean verifyUploadTicket(String ticket,
                                       UUID fileId,
                                       int version,
@@ -110,149 +203,101 @@ public class StorageService {
     }
 
     public String createDownloadPresign(String objectKey) {
-        return endpoint + "/" + bucket + "/" + objectKey + "?x-presigned-download=true";
+        return backend.presignDownload(objectKey, DEFAULT_DOWNLOAD_URL_TTL_SECONDS);
     }
 
     public byte[] downloadObject(String objectKey) {
-        String downloadUrl = createDownloadPresign(objectKey);
-        for (int attempt = 0; ; attempt++) {
-            HttpRequest request = HttpRequest.newBuilder(URI.create(downloadUrl))
-                    .GET()
-                    .timeout(REQUEST_TIMEOUT)
-                    .build();
-            try {
-                HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
-                if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                    return response.body();
-                }
-                if (shouldRetry(attempt, response.statusCode())) {
-                    sleepBeforeRetry(attempt);
-                    continue;
-                }
-                throw new IllegalStateException("Storage download failed with status " + response.statusCode());
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
-                throw new IllegalStateException("Storage download failed", ex);
-            } catch (IOException ex) {
-                if (attempt < MAX_RETRY_ATTEMPTS) {
-                    sleepBeforeRetry(attempt);
-                    continue;
-                }
-                throw new IllegalStateException("Storage download failed", ex);
-            }
+        try (InputStream input = downloadObjectStream(objectKey)) {
+            return input.readAllBytes();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Storage download failed", ex);
         }
     }
 
     public InputStream downloadObjectStream(String objectKey) {
-        String downloadUrl = createDownloadPresign(objectKey);
-        HttpRequest request = HttpRequest.newBuilder(URI.create(downloadUrl))
-                .GET()
-                .timeout(REQUEST_TIMEOUT)
-                .build();
+        return downloadObjectStream(objectKey, -1L, -1L).body();
+    }
+
+    // objectSize is the stored version size; small enough objects are read through the local disk cache.
+    public InputStream downloadObjectStream(String objectKey, long objectSize) {
+        if (!cache.accepts(objectSize)) {
+            return downloadObjectStream(objectKey);
+        }
         try {
-            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
-            if (response.statusCode() < 200 || response.statusCode() >= 300) {
-                try (InputStream ignored = response.body()) {
-                    // Close stream from non-success response.
-                }
-                throw new IllegalStateException("Storage download failed with status " + response.statusCode());
-            }
-            return response.body();
-        } catch (InterruptedException ex) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Storage download failed", ex);
+            return Channels.newInputStream(cache.open(objectKey, () -> downloadObjectStream(objectKey)));
         } catch (IOException ex) {
             throw new IllegalStateException("Storage download failed", ex);
         }
     }
 
-    public void uploadToPresignedUrl(String uploadUrl, String contentType, byte[] bytes) {
-        for (int attempt = 0; ; attempt++) {
-            HttpRequest request = HttpRequest.newBuilder(URI.create(uploadUrl))
-                    .header("Content-Type", contentType)
-                    .timeout(REQUEST_TIMEOUT)
-                    .PUT(HttpRequest.BodyPublishers.ofByteArray(bytes))
-                    .build();
-            try {
-                HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
-                if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                    return;
-                }
-                if (shouldRetry(attempt, response.statusCode())) {
-                    sleepBeforeRetry(attempt);
-                    continue;
-                }
-                throw new IllegalStateException("Storage upload failed with status " + response.statusCode());
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
-                throw new IllegalStateException("Storage upload failed", ex);
-            } catch (IOException ex) {
-                if (attempt < MAX_RETRY_ATTEMPTS) {
-                    sleepBeforeRetry(attempt);
-                    continue;
-                }
-                throw new IllegalStateException("Storage upload failed", ex);
-            }
-        }
+    // Forwards an inclusive byte range to storage; partial() is false when storage ignored it and sent everything.
+    public ObjectStream downloadObjectStream(String objectKey, long rangeStart, long rangeEnd) {
+        return backend.open(objectKey, rangeStart, rangeEnd);
     }
 
-    public void uploadToPresignedUrl(String uploadUrl, String contentType, Path filePath) {
-        for (int attempt = 0; ; attempt++) {
-            HttpRequest request;
-            try {
-                request = HttpRequest.newBuilder(URI.create(uploadUrl))
-                        .header("Content-Type", contentType)
-                        .timeout(REQUEST_TIMEOUT)
-                        .PUT(HttpRequest.BodyPublishers.ofFile(filePath))
-                        .build();
-            } catch (IOException ex) {
-                throw new IllegalStateException("Storage upload failed", ex);
-            }
-            try {
-                HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
-                if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                    return;
-                }
-                if (shouldRetry(attempt, response.statusCode())) {
-                    sleepBeforeRetry(attempt);
-                    continue;
-                }
-                throw new IllegalStateException("Storage upload failed with status " + response.statusCode());
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
-                throw new IllegalStateException("Storage upload failed", ex);
-            } catch (IOException ex) {
-                if (attempt < MAX_RETRY_ATTEMPTS) {
-                    sleepBeforeRetry(attempt);
-                    continue;
+    // Streams a slice of the object to out, from the disk cache when the object fits in it and otherwise
+    // through the backend's cheapest copy path.
+    public void transferObject(String objectKey, long objectSize, long offset, long length, OutputStream out) throws IOException {
+        if (!cache.accepts(objectSize)) {
+            backend.transferTo(objectKey, offset, length, out);
+            return;
+        }
+        try (FileChannel channel = cache.open(objectKey, () -> downloadObjectStream(objectKey))) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = offset;
+            long end = Math.min(offset + length, channel.size());
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, target);
+                if (sent <= 0) {
+                    break;
                 }
-                throw new IllegalStateException("Storage upload failed", ex);
+                position += sent;
             }
         }
     }
 
-    public void deleteByUploadUrl(String uploadUrl) {
-        HttpRequest request = HttpRequest.newBuilder(URI.create(uploadUrl))
-                .timeout(REQUEST_TIMEOUT)
-                .DELETE()
-                .build();
+    // Reads the object once into a local spool file and hashes it on the way, so the digest and anything later
+    // copied from the spool describe the same bytes even if the object is overwritten meanwhile. Bypasses the
+    // disk cache: the source is usually still writable through its upload URL.
+    public SpooledObject spool(String objectKey) {
+        Path path = null;
         try {
-            httpClient.send(request, HttpResponse.BodyHandlers.discarding());
-        } catch (Exception ignored) {
-            // Best-effort cleanup only.
+            path = Files.createTempFile("bridge-spool-", ".part");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream input = new DigestInputStream(downloadObjectStream(objectKey), digest)) {
+                size = Files.copy(input, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new SpooledObject(path, size, HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            deleteQuietly(path);
+            throw new IllegalStateException("Storage download failed", ex);
+        } catch (RuntimeException ex) {
+            deleteQuietly(path);
+            throw ex;
         }
     }
 
-    private boolean shouldRetry(int attempt, int statusCode) {
-        return attempt < MAX_RETRY_ATTEMPTS && (statusCode == 408 || statusCode == 429 || statusCode >= 500);
+    public void putObject(String objectKey, String contentType, Path source) {
+        backend.put(objectKey, contentType, source);
+    }
+
+    public void putObject(String objectKey, String contentType, byte[] bytes) {
+        backend.put(objectKey, contentType, bytes);
+    }
+
+    public void deleteObject(String objectKey) {
+        backend.delete(objectKey);
     }
 
-    private void sleepBeforeRetry(int attempt) {
-        long delay = RETRY_BACKOFF_MILLIS * (attempt + 1);
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
         try {
-            Thread.sleep(delay);
-        } catch (InterruptedException interruptedException) {
-            Thread.currentThread().interrupt();
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Left for the OS to clean up with the rest of the temp directory.
         }
     }
 
@@ -303,6 +348,31 @@ public class StorageService {
                                        long expiresAtEpoch) {
     }
 
+    public record MultipartUpload(String objectKey,
+                                  String uploadId,
+                                  int version,
+                                  long partSize,
+                                  int partCount,
+                                  Instant expiresAt,
+                                  String contentType,
+                                  long size,
+                                  String checksum,
+                                  String uploadTicket) {
+    }
+
+    public record UploadedPart(int partNumber, String etag, long size) {
+    }
+
+    public record SpooledObject(Path path, long size, String sha256) implements AutoCloseable {
+        @Override
+        public void close() {
+            deleteQuietly(path);
+        }
+    }
+
+    public record ObjectStream(InputStream body, boolean partial) {
+    }
+
     public record UploadTarget(String uploadUrl,
                                String objectKey,
                                int version,
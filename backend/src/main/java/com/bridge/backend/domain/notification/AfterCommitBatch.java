@@ -0,0 +1,45 @@
+package com.bridge.backend.domain.notification;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Collects items per owner and transaction and hands them over in one afterCommit callback; a rollback drops them.
+// Without a transaction the item is handed over at once.
+final class AfterCommitBatch<T> implements TransactionSynchronization {
+    private final Object owner;
+    private final Consumer<List<T>> flush;
+    private final List<T> items = new ArrayList<>();
+
+    private AfterCommitBatch(Object owner, Consumer<List<T>> flush) {
+        this.owner = owner;
+        this.flush = flush;
+    }
+
+    // The batch is looked up among the registered synchronizations rather than bound as a resource: a
+    // REQUIRES_NEW transaction suspends those, so it collects into a batch of its own.
+    @SuppressWarnings("unchecked")
+    static <T> void add(Object owner, T item, Consumer<List<T>> flush) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            flush.accept(List.of(item));
+            return;
+        }
+        AfterCommitBatch<T> batch = (AfterCommitBatch<T>) TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(synchronization -> synchronization instanceof AfterCommitBatch<?> candidate && candidate.owner == owner)
+                .findFirst()
+                .orElse(null);
+        if (batch == null) {
+            batch = new AfterCommitBatch<>(owner, flush);
+            TransactionSynchronizationManager.registerSynchronization(batch);
+        }
+        batch.items.add(item);
+    }
+
+    @Override
+    public void afterCommit() {
+        flush.accept(List.copyOf(items));
+    }
+}
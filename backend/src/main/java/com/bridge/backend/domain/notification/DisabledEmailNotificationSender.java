@@ -2,9 +2,11 @@ package com.bridge.backend.domain.notification;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(prefix = "bridge.mail", name = "enabled", havingValue = "false", matchIfMissing = true)
 public class DisabledEmailNotificationSender implements EmailNotificationSender {
     private static final Logger log = LoggerFactory.getLogger(DisabledEmailNotificationSender.class);
 
@@ -12,4 +14,9 @@ public class DisabledEmailNotificationSender implements EmailNotificationSender
     public void send(String to, String subject, String body) {
         log.info("FEATURE_DISABLED email sender to={}, subject={}", to, subject);
     }
+
+    @Override
+    public boolean enabled() {
+        return false;
+    }
 }
@@ -0,0 +1,167 @@
+package com.bridge.backend.domain.notification;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+@ConditionalOnProperty(prefix = "bridge.mail", name = "enabled", havingValue = "true")
+public class EmailDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(EmailDispatcher.class);
+    private static final long THROTTLE_WINDOW_MS = 60_000L;
+
+    private final EmailQueueService emailQueueService;
+    private final JavaMailSender mailSender;
+    private final EmailProperties emailProperties;
+    private final ExecutorService senderPool;
+    private final Map<String, ThrottleWindow> throttleWindows = new HashMap<>();
+
+    public EmailDispatcher(EmailQueueService emailQueueService, JavaMailSender mailSender, EmailProperties emailProperties) {
+        this.emailQueueService = emailQueueService;
+        this.mailSender = mailSender;
+        this.emailProperties = emailProperties;
+        this.senderPool = Executors.newFixedThreadPool(Math.max(1, emailProperties.getConcurrency()), new CustomizableThreadFactory("email-sender-"));
+    }
+
+    @Scheduled(fixedDelayString = "${bridge.mail.poll-interval-ms:2000}")
+    public void dispatch() {
+        int batchSize = Math.max(1, emailProperties.getBatchSize());
+        List<EmailMessageEntity> claimed = emailQueueService.claimDue(batchSize * Math.max(1, emailProperties.getConcurrency()));
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<EmailMessageEntity>> byDomain = new LinkedHashMap<>();
+        claimed.forEach(message -> byDomain.computeIfAbsent(message.getRecipientDomain(), ignored -> new ArrayList<>()).add(message));
+
+        List<UUID> deferred = new ArrayList<>();
+        List<CompletableFuture<Void>> sends = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, List<EmailMessageEntity>> entry : byDomain.entrySet()) {
+            List<EmailMessageEntity> messages = entry.getValue();
+            int allowed = acquire(entry.getKey(), messages.size(), now);
+            messages.subList(allowed, messages.size()).forEach(message -> deferred.add(message.getId()));
+            // One SMTP connection per chunk; the pool size bounds concurrent connections.
+            for (int from = 0; from < allowed; from += batchSize) {
+                List<EmailMessageEntity> chunk = messages.subList(from, Math.min(allowed, from + batchSize));
+                sends.add(CompletableFuture.runAsync(() -> sendChunk(chunk), senderPool));
+            }
+        }
+        if (!deferred.isEmpty()) {
+            emailQueueService.defer(deferred, OffsetDateTime.now().plusNanos(THROTTLE_WINDOW_MS * 1_000_000L));
+        }
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senderPool.shutdown();
+    }
+
+    void sendChunk(List<EmailMessageEntity> chunk) {
+        List<MimeMessage> mimeMessages = new ArrayList<>();
+        Map<MimeMessage, UUID> idsByMessage = new HashMap<>();
+        for (EmailMessageEntity message : chunk) {
+            try {
+                MimeMessage mimeMessage = toMimeMessage(message);
+                mimeMessages.add(mimeMessage);
+                idsByMessage.put(mimeMessage, message.getId());
+            } catch (MessagingException ex) {
+                emailQueueService.markFailed(message.getId(), describeError(ex));
+            }
+        }
+        if (mimeMessages.isEmpty()) {
+            return;
+        }
+
+        List<UUID> sent = new ArrayList<>(idsByMessage.values());
+        try {
+            mailSender.send(mimeMessages.toArray(MimeMessage[]::new));
+        } catch (MailSendException ex) {
+            Map<Object, Exception> failures = ex.getFailedMessages();
+            if (failures.isEmpty()) {
+                failAll(sent, ex);
+                return;
+            }
+            failures.forEach((failedMessage, cause) -> {
+                UUID id = idsByMessage.get(failedMessage);
+                if (id != null) {
+                    sent.remove(id);
+                    emailQueueService.markFailed(id, describeError(cause));
+                }
+            });
+        } catch (MailException ex) {
+            failAll(sent, ex);
+            return;
+        }
+        if (!sent.isEmpty()) {
+            emailQueueService.markSent(sent);
+        }
+    }
+
+    private void failAll(List<UUID> ids, Exception ex) {
+        log.warn("Email batch of {} failed", ids.size(), ex);
+        ids.forEach(id -> emailQueueService.markFailed(id, describeError(ex)));
+    }
+
+    private MimeMessage toMimeMessage(EmailMessageEntity message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, StandardCharsets.UTF_8.name());
+        helper.setFrom(emailProperties.getFrom());
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getBody(), false);
+        return mimeMessage;
+    }
+
+    private synchronized int acquire(String domain, int requested, long now) {
+        int limit = emailProperties.getPerDomainPerMinute();
+        if (limit <= 0) {
+            return requested;
+        }
+        ThrottleWindow window = throttleWindows.get(domain);
+        if (window == null || now - window.startedAt >= THROTTLE_WINDOW_MS) {
+            throttleWindows.values().removeIf(stale -> now - stale.startedAt >= THROTTLE_WINDOW_MS);
+            window = new ThrottleWindow(now);
+            throttleWindows.put(domain, window);
+        }
+        int allowed = Math.max(0, Math.min(requested, limit - window.used));
+        window.used += allowed;
+        return allowed;
+    }
+
+    private String describeError(Exception ex) {
+        return ex.getClass().getSimpleName() + ": " + ex.getMessage();
+    }
+
+    private static final class ThrottleWindow {
+        private final long startedAt;
+        private int used;
+
+        private ThrottleWindow(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.common.model.BaseEntity;
+import com.bridge.backend.common.model.enums.EmailStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "email_messages")
+public class EmailMessageEntity extends BaseEntity {
+    @Column(name = "tenant_id")
+    private UUID tenantId;
+
+    @Column(nullable = false, length = 320)
+    private String recipient;
+
+    @Column(name = "recipient_domain", nullable = false, length = 255)
+    private String recipientDomain;
+
+    @Column(nullable = false, length = 300)
+    private String subject;
+
+    @Column(nullable = false, length = 6000)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EmailStatus status = EmailStatus.PENDING;
+
+    @Column(name = "attempt_count", nullable = false)
+    private int attemptCount;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 2000)
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private OffsetDateTime sentAt;
+}
@@ -0,0 +1,47 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.common.model.enums.EmailStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface EmailMessageRepository extends JpaRepository<EmailMessageEntity, UUID> {
+    // SENDING rows whose lease expired belong to a dispatcher that died mid-batch and are claimable again.
+    @Query(value = """
+            SELECT em.id
+            FROM email_messages em
+            WHERE em.status IN ('PENDING', 'SENDING')
+              AND em.next_attempt_at <= now()
+              AND em.deleted_at IS NULL
+            ORDER BY em.next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<UUID> claimDueForUpdate(@Param("limit") int limit);
+
+    @Modifying
+    @Query("""
+            UPDATE EmailMessageEntity em
+            SET em.status = :status, em.nextAttemptAt = :nextAttemptAt, em.updatedAt = :now
+            WHERE em.id IN :ids
+            """)
+    int updateStatus(@Param("ids") Collection<UUID> ids,
+                     @Param("status") EmailStatus status,
+                     @Param("nextAttemptAt") OffsetDateTime nextAttemptAt,
+                     @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE EmailMessageEntity em
+            SET em.status = com.bridge.backend.common.model.enums.EmailStatus.SENT,
+                em.sentAt = :now, em.lastError = NULL, em.updatedAt = :now
+            WHERE em.id IN :ids
+            """)
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("now") OffsetDateTime now);
+}
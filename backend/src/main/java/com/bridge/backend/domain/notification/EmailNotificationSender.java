@@ -1,5 +1,15 @@
 package com.bridge.backend.domain.notification;
 
+import java.util.UUID;
+
 public interface EmailNotificationSender {
     void send(String to, String subject, String body);
+
+    default void send(UUID tenantId, String to, String subject, String body) {
+        send(to, subject, body);
+    }
+
+    default boolean enabled() {
+        return true;
+    }
 }
@@ -0,0 +1,21 @@
+package com.bridge.backend.domain.notification;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bridge.mail")
+public class EmailProperties {
+    private boolean enabled;
+    private String from = "no-reply@bridge.local";
+    private int batchSize = 50;
+    private int concurrency = 2;
+    private long pollIntervalMs = 2000L;
+    private long leaseMs = 120000L;
+    private int maxAttempts = 5;
+    private long retryBaseDelayMs = 30000L;
+    private long retryMaxDelayMs = 3600000L;
+    private int perDomainPerMinute = 120;
+}
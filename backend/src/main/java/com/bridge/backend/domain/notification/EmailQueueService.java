@@ -0,0 +1,105 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.common.model.enums.EmailStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+@Service
+public class EmailQueueService {
+    private static final Logger log = LoggerFactory.getLogger(EmailQueueService.class);
+    private static final int MAX_SUBJECT_LENGTH = 300;
+    private static final int MAX_BODY_LENGTH = 6000;
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final EmailMessageRepository emailMessageRepository;
+    private final EmailProperties emailProperties;
+
+    public EmailQueueService(EmailMessageRepository emailMessageRepository, EmailProperties emailProperties) {
+        this.emailMessageRepository = emailMessageRepository;
+        this.emailProperties = emailProperties;
+    }
+
+    @Transactional
+    public void enqueue(UUID tenantId, String to, String subject, String body) {
+        String recipient = to == null ? "" : to.trim();
+        int at = recipient.lastIndexOf('@');
+        if (at <= 0 || at == recipient.length() - 1) {
+            log.warn("Skipping email with invalid recipient subject={}", subject);
+            return;
+        }
+        EmailMessageEntity message = new EmailMessageEntity();
+        message.setTenantId(tenantId);
+        message.setRecipient(recipient);
+        message.setRecipientDomain(recipient.substring(at + 1).toLowerCase(Locale.ROOT));
+        message.setSubject(truncate(subject, MAX_SUBJECT_LENGTH));
+        message.setBody(truncate(body, MAX_BODY_LENGTH));
+        message.setNextAttemptAt(OffsetDateTime.now());
+        emailMessageRepository.save(message);
+    }
+
+    // Claims and leases in one short transaction so no DB connection is held while talking to SMTP.
+    @Transactional
+    public List<EmailMessageEntity> claimDue(int limit) {
+        List<UUID> ids = emailMessageRepository.claimDueForUpdate(limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        emailMessageRepository.updateStatus(ids, EmailStatus.SENDING, now.plusNanos(emailProperties.getLeaseMs() * 1_000_000L), now);
+        return emailMessageRepository.findAllById(ids);
+    }
+
+    @Transactional
+    public void markSent(Collection<UUID> ids) {
+        if (!ids.isEmpty()) {
+            emailMessageRepository.markSent(ids, OffsetDateTime.now());
+        }
+    }
+
+    // Throttled messages go back to the queue without spending an attempt.
+    @Transactional
+    public void defer(Collection<UUID> ids, OffsetDateTime until) {
+        if (!ids.isEmpty()) {
+            emailMessageRepository.updateStatus(ids, EmailStatus.PENDING, until, OffsetDateTime.now());
+        }
+    }
+
+    @Transactional
+    public void markFailed(UUID id, String error) {
+        emailMessageRepository.findById(id).ifPresent(message -> {
+            int attempts = message.getAttemptCount() + 1;
+            message.setAttemptCount(attempts);
+            message.setLastError(truncate(error, MAX_ERROR_LENGTH));
+            if (attempts < Math.max(1, emailProperties.getMaxAttempts())) {
+                message.setStatus(EmailStatus.PENDING);
+                message.setNextAttemptAt(OffsetDateTime.now().plusNanos(retryDelayMs(attempts) * 1_000_000L));
+            } else {
+                message.setStatus(EmailStatus.FAILED);
+                log.error("Email {} to domain {} failed after {} attempts", id, message.getRecipientDomain(), attempts);
+            }
+            emailMessageRepository.save(message);
+        });
+    }
+
+    private long retryDelayMs(int attempts) {
+        long base = Math.max(1L, emailProperties.getRetryBaseDelayMs());
+        long max = Math.max(base, emailProperties.getRetryMaxDelayMs());
+        int exponent = Math.min(attempts - 1, 30);
+        return Math.min(max, base << exponent);
+    }
+
+    private String truncate(String value, int maxLength) {
+        if (value == null) {
+            return "";
+        }
+        return value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
@@ -0,0 +1,25 @@
+package com.bridge.backend.domain.notification;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Single-process bus: every subscriber in this JVM sees every message. Used for one-node setups and tests.
+@Component
+@ConditionalOnProperty(prefix = "bridge.notification-stream", name = "bus", havingValue = "memory", matchIfMissing = true)
+public class InMemoryNotificationStreamBus implements NotificationStreamBus {
+    private final List<Consumer<NotificationStreamMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(NotificationStreamMessage message) {
+        subscribers.forEach(subscriber -> subscriber.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<NotificationStreamMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -7,17 +7,22 @@ import com.bridge.backend.common.security.AuthCookieService;
 import com.bridge.backend.common.security.SecurityUtils;
 import com.bridge.backend.common.tenant.AccessGuardService;
 import com.bridge.backend.domain.admin.TenantMemberRepository;
-import com.bridge.backend.domain.auth.UserRepository;
+import com.bridge.backend.domain.project.ProjectEntity;
 import com.bridge.backend.domain.project.ProjectMemberEntity;
 import com.bridge.backend.domain.project.ProjectMemberRepository;
+import com.bridge.backend.domain.project.ProjectRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.OffsetDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -27,78 +32,169 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/api/notifications")
 public class NotificationController {
-    private final NotificationRepository notificationRepository;
+    private static final int MAX_PM_EVENTS_PAGE_SIZE = 200;
+    private static final int MAX_INBOX_PAGE_SIZE = 200;
+    private static final int MAX_BULK_READ_IDS = 500;
+    private static final Set<MemberRole> PM_ROLES = Set.of(MemberRole.PM_OWNER, MemberRole.PM_MEMBER);
+
+    private final NotificationInboxService notificationInboxService;
+    private final NotificationPreferenceService notificationPreferenceService;
     private final OutboxEventRepository outboxEventRepository;
     private final TenantMemberRepository tenantMemberRepository;
     private final ProjectMemberRepository projectMemberRepository;
-    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
     private final ObjectMapper objectMapper;
     private final NotificationStreamService streamService;
+    private final NotificationSocketService socketService;
     private final AccessGuardService accessGuardService;
     private final AuthCookieService authCookieService;
 
-    public NotificationController(NotificationRepository notificationRepository,
+    public NotificationController(NotificationInboxService notificationInboxService,
+                                  NotificationPreferenceService notificationPreferenceService,
                                   OutboxEventRepository outboxEventRepository,
                                   TenantMemberRepository tenantMemberRepository,
                                   ProjectMemberRepository projectMemberRepository,
-                                  UserRepository userRepository,
+                                  ProjectRepository projectRepository,
                                   ObjectMapper objectMapper,
                                   NotificationStreamService streamService,
+                                  NotificationSocketService socketService,
                                   AccessGuardService accessGuardService,
                                   AuthCookieService authCookieService) {
-        this.notificationRepository = notificationRepository;
+        this.notificationInboxService = notificationInboxService;
+        this.notificationPreferenceService = notificationPreferenceService;
         this.outboxEventRepository = outboxEventRepository;
         this.tenantMemberRepository = tenantMemberRepository;
         this.projectMemberRepository = projectMemberRepository;
-        this.userRepository = userRepository;
+        this.projectRepository = projectRepository;
         this.objectMapper = objectMapper;
         this.streamService = streamService;
+        this.socketService = socketService;
         this.accessGuardService = accessGuardService;
         this.authCookieService = authCookieService;
     }
 
     @GetMapping
-    public ApiSuccess<List<Map<String, Object>>> list() {
+    public ApiSuccess<List<Map<String, Object>>> list(@RequestParam(required = false)
+                                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime before,
+                                                      @RequestParam(required = false) UUID beforeId,
+                                                      @RequestParam(defaultValue = "50") int size) {
         var principal = SecurityUtils.requirePrincipal();
-        List<Map<String, Object>> notifications = notificationRepository
-                .findByUserIdAndTenantIdAndDeletedAtIsNullOrderByCreatedAtDesc(principal.getUserId(), principal.getTenantId())
+        // Keyset pagination: clients pass the createdAt/id of the last row they received.
+        int pageSize = Math.max(1, Math.min(size, MAX_INBOX_PAGE_SIZE));
+        List<Map<String, Object>> notifications = notificationInboxService
+                .list(principal.getTenantId(), principal.getUserId(), before, beforeId, pageSize)
                 .stream()
                 .map(this::toNotificationResponse)
                 .collect(Collectors.toList());
         return ApiSuccess.of(notifications);
     }
 
+    @GetMapping("/unread-count")
+    public ApiSuccess<Map<String, Object>> unreadCount() {
+        var principal = SecurityUtils.requirePrincipal();
+        return ApiSuccess.of(Map.of("unreadCount", notificationInboxService.unreadCount(principal.getTenantId(), principal.getUserId())));
+    }
+
+    @PostMapping("/read")
+    public ApiSuccess<Map<String, Object>> readMany(@RequestBody MarkReadRequest request, HttpServletRequest httpRequest) {
+        var principal = SecurityUtils.requirePrincipal();
+        boolean all = Boolean.TRUE.equals(request.all());
+        List<UUID> ids = request.ids() == null ? List.of() : request.ids();
+        if (!all && ids.isEmpty()) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "NOTIFICATION_IDS_REQUIRED", "읽음 처리할 알림을 지정해 주세요.");
+        }
+        if (ids.size() > MAX_BULK_READ_IDS) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "TOO_MANY_NOTIFICATION_IDS", "한 번에 처리할 수 있는 알림 수를 초과했습니다.");
+        }
+        int updated = all
+                ? notificationInboxService.markAllRead(principal.getTenantId(), principal.getUserId())
+                : notificationInboxService.markRead(principal.getTenantId(), principal.getUserId(), ids);
+        String appScope = resolveAppScope(httpRequest);
+        streamService.sendToScope(principal.getTenantId(), principal.getUserId(), appScope, "notification.read",
+                all ? Map.of("all", true) : Map.of("ids", ids));
+        return ApiSuccess.of(Map.of("updated", updated));
+    }
+
     @PostMapping("/{id}/read")
     public ApiSuccess<Map<String, Object>> read(@PathVariable UUID id, HttpServletRequest request) {
         var principal = SecurityUtils.requirePrincipal();
-        NotificationEntity notification = notificationRepository
-                .findByIdAndTenantIdAndDeletedAtIsNull(id, principal.getTenantId())
-                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "NOTIFICATION_NOT_FOUND", "Notification not found."));
-        if (!notification.getUserId().equals(principal.getUserId())) {
-            throw new AppException(HttpStatus.FORBIDDEN, "FORBIDDEN", "Cannot update another user's notification.");
-        }
-        notification.setReadAt(OffsetDateTime.now());
-        notification.setUpdatedBy(principal.getUserId());
-        notificationRepository.save(notification);
+        notificationInboxService.markRead(principal.getTenantId(), principal.getUserId(), id);
         String appScope = resolveAppScope(request);
-        streamService.sendToScope(principal.getTenantId(), principal.getUserId(), appScope, "notification.read", Map.of("id", notification.getId()));
+        streamService.sendToScope(principal.getTenantId(), principal.getUserId(), appScope, "notification.read", Map.of("id", id));
         return ApiSuccess.of(Map.of("read", true));
     }
 
+    @GetMapping("/{id}/events")
+    public ApiSuccess<List<Map<String, Object>>> sourceEvents(@PathVariable UUID id) {
+        var principal = SecurityUtils.requirePrincipal();
+        List<Map<String, Object>> events = notificationInboxService.sourceEvents(principal.getTenantId(), principal.getUserId(), id)
+                .stream()
+                .map(this::toSourceEvent)
+                .collect(Collectors.toList());
+        return ApiSuccess.of(events);
+    }
+
+    @GetMapping("/preferences")
+    public ApiSuccess<Map<String, Object>> preferences() {
+        var principal = SecurityUtils.requirePrincipal();
+        List<Map<String, Object>> eventTypes = NotificationPreferenceMask.eventTypes().stream()
+                .map(eventType -> Map.<String, Object>of("eventType", eventType, "label", NotificationTextLocalizer.localizeEventType(eventType)))
+                .toList();
+        List<Map<String, Object>> rules = notificationPreferenceService.list(principal.getTenantId(), principal.getUserId()).stream()
+                .map(this::toPreferenceResponse)
+                .toList();
+        return ApiSuccess.of(Map.of("eventTypes", eventTypes, "rules", rules));
+    }
+
+    @PutMapping("/preferences")
+    public ApiSuccess<Map<String, Object>> updatePreferences(@RequestBody UpdatePreferenceRequest request) {
+        var principal = SecurityUtils.requirePrincipal();
+        NotificationPreferenceEntity saved = notificationPreferenceService.update(
+                principal.getTenantId(),
+                principal.getUserId(),
+                request.projectId(),
+                request.mutedEventTypes() == null ? List.of() : request.mutedEventTypes(),
+                Boolean.TRUE.equals(request.muteAll())
+        );
+        return ApiSuccess.of(toPreferenceResponse(saved));
+    }
+
     @GetMapping("/stream")
-    public SseEmitter stream(HttpServletRequest request) {
+    public SseEmitter stream(HttpServletRequest request,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                             @RequestParam(required = false) String lastEventId) {
         var principal = SecurityUtils.requirePrincipal();
         String appScope = resolveAppScope(request);
-        return streamService.connect(principal.getTenantId(), principal.getUserId(), appScope);
+        // Browsers send the header on native reconnects; clients that reopen the stream themselves pass the query param.
+        String resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+        return streamService.connect(principal.getTenantId(), principal.getUserId(), appScope, resumeFrom);
+    }
+
+    // Same event stream as /stream over a WebSocket, which also accepts acks and subscription filters.
+    @GetMapping("/socket")
+    public void socket(HttpServletRequest request,
+                       HttpServletResponse response,
+                       @RequestParam(required = false) String lastEventId) {
+        var principal = SecurityUtils.requirePrincipal();
+        String appScope = resolveAppScope(request);
+        socketService.upgrade(request, response, principal.getTenantId(), principal.getUserId(), appScope, lastEventId);
     }
 
     @GetMapping("/pm-events")
-    public ApiSuccess<List<Map<String, Object>>> pmEvents(@RequestParam(required = false) UUID projectId) {
+    public ApiSuccess<List<Map<String, Object>>> pmEvents(@RequestParam(required = false) UUID projectId,
+                                                          @RequestParam(required = false)
+                                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime before,
+                                                          @RequestParam(required = false) UUID beforeId,
+                                                          @RequestParam(defaultValue = "100") int size) {
         var principal = SecurityUtils.requirePrincipal();
         boolean isPlatformAdmin = principal.getRoles().contains("PLATFORM_ADMIN");
-        Set<UUID> accessibleProjectIds;
+        List<UUID> projectIds;
         if (isPlatformAdmin) {
-            accessibleProjectIds = Set.of();
+            projectIds = projectId != null
+                    ? List.of(projectId)
+                    : projectRepository.findByTenantIdAndDeletedAtIsNull(principal.getTenantId()).stream()
+                    .map(ProjectEntity::getId)
+                    .toList();
         } else {
             var currentMember = tenantMemberRepository
                     .findByTenantIdAndUserIdAndDeletedAtIsNull(principal.getTenantId(), principal.getUserId())
@@ -108,74 +204,83 @@ public class NotificationController {
             }
             if (projectId != null) {
                 accessGuardService.requireProjectMember(projectId, principal.getUserId(), principal.getTenantId());
-                accessibleProjectIds = Set.of();
+                projectIds = List.of(projectId);
             } else {
-                accessibleProjectIds = projectMemberRepository.findByUserIdAndTenantIdAndDeletedAtIsNull(principal.getUserId(), principal.getTenantId())
+                projectIds = projectMemberRepository.findByUserIdAndTenantIdAndDeletedAtIsNull(principal.getUserId(), principal.getTenantId())
                         .stream()
                         .map(ProjectMemberEntity::getProjectId)
-                        .collect(Collectors.toSet());
+                        .distinct()
+                        .toList();
             }
         }
-        List<Map<String, Object>> events = outboxEventRepository
-                .findTop200ByTenantIdAndDeletedAtIsNullOrderByCreatedAtDesc(principal.getTenantId())
-                .stream()
-                .map(event -> toPmEvent(event, projectId, accessibleProjectIds, isPlatformAdmin))
-                .filter(event -> event != null)
+        if (projectIds.isEmpty()) {
+            return ApiSuccess.of(List.of());
+        }
+
+        // Keyset pagination: clients pass the createdAt/id of the last row they received.
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(size, MAX_PM_EVENTS_PAGE_SIZE)));
+        List<PmEventRow> rows = before != null && beforeId != null
+                ? outboxEventRepository.findPmEventsBefore(principal.getTenantId(), projectIds, PM_ROLES, before, beforeId, page)
+                : outboxEventRepository.findPmEvents(principal.getTenantId(), projectIds, PM_ROLES, page);
+        List<Map<String, Object>> events = rows.stream()
+                .map(this::toPmEvent)
                 .collect(Collectors.toList());
         return ApiSuccess.of(events);
     }
 
-    private Map<String, Object> toPmEvent(OutboxEventEntity event, UUID projectIdFilter, Set<UUID> accessibleProjectIds, boolean isPlatformAdmin) {
-        Map<String, Object> payload = parsePayload(event.getEventPayload());
-        UUID eventProjectId = extractProjectId(payload.get("payload"));
-        if (eventProjectId == null) {
-            return null;
-        }
-        if (projectIdFilter != null && !projectIdFilter.equals(eventProjectId)) {
-            return null;
-        }
-        if (!isPlatformAdmin && projectIdFilter == null && !accessibleProjectIds.contains(eventProjectId)) {
-            return null;
-        }
-        Object actorRaw = payload.get("userId");
-        if (actorRaw == null) {
-            return null;
-        }
-        UUID actorUserId = UUID.fromString(String.valueOf(actorRaw));
-        var actorMember = tenantMemberRepository.findByTenantIdAndUserIdAndDeletedAtIsNull(event.getTenantId(), actorUserId).orElse(null);
-        if (actorMember == null || !isPmRole(actorMember.getRole())) {
-            return null;
-        }
-        String actorName = userRepository.findByIdAndDeletedAtIsNull(actorUserId)
-                .map(user -> user.getName())
-                .orElse(actorUserId.toString());
-        String rawEventType = event.getEventType();
+    private Map<String, Object> toPmEvent(PmEventRow row) {
+        Map<String, Object> payload = parsePayload(row.eventPayload());
+        String rawEventType = row.eventType();
         String title = String.valueOf(payload.getOrDefault("title", ""));
         String message = String.valueOf(payload.getOrDefault("message", ""));
 
         return Map.ofEntries(
-                Map.entry("id", event.getId()),
+                Map.entry("id", row.id()),
                 Map.entry("eventType", NotificationTextLocalizer.localizeEventType(rawEventType)),
-                Map.entry("aggregateType", event.getAggregateType()),
-                Map.entry("aggregateId", event.getAggregateId()),
+                Map.entry("aggregateType", row.aggregateType()),
+                Map.entry("aggregateId", row.aggregateId()),
                 Map.entry("title", NotificationTextLocalizer.localizeTitle(rawEventType, title)),
                 Map.entry("message", NotificationTextLocalizer.localizeMessage(rawEventType, message)),
-                Map.entry("actorUserId", actorUserId),
-                Map.entry("actorName", actorName),
-                Map.entry("actorRole", actorMember.getRole().name()),
-                Map.entry("projectId", eventProjectId),
-                Map.entry("createdAt", event.getCreatedAt())
+                Map.entry("actorUserId", row.actorUserId()),
+                Map.entry("actorName", row.actorName() != null ? row.actorName() : row.actorUserId().toString()),
+                Map.entry("actorRole", row.actorRole().name()),
+                Map.entry("projectId", row.projectId()),
+                Map.entry("createdAt", row.createdAt())
         );
     }
 
-    private Map<String, Object> toNotificationResponse(NotificationEntity notification) {
-        String rawEventType = notification.getEventType();
+    private Map<String, Object> toPreferenceResponse(NotificationPreferenceEntity preference) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("projectId", preference.getProjectId());
+        response.put("muteAll", preference.getMutedEventMask() == NotificationPreferenceMask.ALL);
+        response.put("mutedEventTypes", NotificationPreferenceMask.toEventTypes(preference.getMutedEventMask()));
+        return response;
+    }
+
+    private Map<String, Object> toSourceEvent(OutboxEventEntity event) {
+        Map<String, Object> payload = parsePayload(event.getEventPayload());
+        String rawEventType = event.getEventType();
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", event.getId());
+        response.put("eventType", NotificationTextLocalizer.localizeEventType(rawEventType));
+        response.put("aggregateType", event.getAggregateType());
+        response.put("aggregateId", event.getAggregateId());
+        response.put("message", NotificationTextLocalizer.localizeMessage(rawEventType, String.valueOf(payload.getOrDefault("message", ""))));
+        response.put("projectId", event.getProjectId());
+        response.put("createdAt", event.getCreatedAt());
+        return response;
+    }
+
+    private Map<String, Object> toNotificationResponse(NotificationInboxService.InboxItem notification) {
+        String rawEventType = notification.eventType();
         return Map.of(
-                "id", notification.getId(),
-                "title", NotificationTextLocalizer.localizeTitle(rawEventType, notification.getTitle()),
-                "message", NotificationTextLocalizer.localizeMessage(rawEventType, notification.getMessage()),
+                "id", notification.id(),
+                "title", NotificationTextLocalizer.localizeTitle(rawEventType, notification.title()),
+                "message", NotificationTextLocalizer.localizeMessage(rawEventType, notification.message()),
                 "eventType", NotificationTextLocalizer.localizeEventType(rawEventType),
-                "createdAt", notification.getCreatedAt()
+                "createdAt", notification.createdAt(),
+                "eventCount", notification.eventCount(),
+                "read", notification.read()
         );
     }
 
@@ -192,25 +297,14 @@ public class NotificationController {
         return role == MemberRole.PM_OWNER || role == MemberRole.PM_MEMBER;
     }
 
-    @SuppressWarnings("unchecked")
-    private UUID extractProjectId(Object payloadRaw) {
-        if (!(payloadRaw instanceof Map<?, ?> payloadMap)) {
-            return null;
-        }
-        Object projectId = payloadMap.get("projectId");
-        if (projectId == null) {
-            return null;
-        }
-        try {
-            return UUID.fromString(String.valueOf(projectId));
-        } catch (IllegalArgumentException ex) {
-            return null;
-        }
-    }
-
     private String resolveAppScope(HttpServletRequest request) {
         return authCookieService.resolveAppScope(request)
                 .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "APP_SCOPE_REQUIRED", "요청 앱 스코프가 필요합니다."));
     }
-}
 
+    public record MarkReadRequest(List<UUID> ids, Boolean all) {
+    }
+
+    public record UpdatePreferenceRequest(UUID projectId, List<String> mutedEventTypes, Boolean muteAll) {
+    }
+}
@@ -18,6 +18,9 @@ public class NotificationEntity extends TenantScopedEntity {
     @Column(name = "user_id", nullable = false)
     private UUID userId;
 
+    @Column(name = "project_id")
+    private UUID projectId;
+
     @Column(name = "event_type", nullable = false, length = 120)
     private String eventType;
 
@@ -29,4 +32,10 @@ public class NotificationEntity extends TenantScopedEntity {
 
     @Column(name = "read_at")
     private OffsetDateTime readAt;
+
+    @Column(name = "event_count", nullable = false)
+    private int eventCount = 1;
+
+    @Column(name = "source_event_ids", columnDefinition = "text")
+    private String sourceEventIds;
 }
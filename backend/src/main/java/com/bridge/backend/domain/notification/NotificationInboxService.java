@@ -0,0 +1,222 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.common.api.AppException;
+import com.bridge.backend.common.model.enums.MemberRole;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class NotificationInboxService {
+    private static final Set<MemberRole> PM_ROLES = Set.of(MemberRole.PM_OWNER, MemberRole.PM_MEMBER);
+    private static final Set<MemberRole> CLIENT_ROLES = Set.of(MemberRole.CLIENT_OWNER, MemberRole.CLIENT_MEMBER);
+    private static final Comparator<InboxItem> NEWEST_FIRST = Comparator.comparing(InboxItem::createdAt)
+            .thenComparing(InboxItem::id)
+            .reversed();
+
+    private final NotificationRepository notificationRepository;
+    private final SharedNotificationRepository sharedNotificationRepository;
+    private final NotificationReceiptRepository notificationReceiptRepository;
+    private final NotificationReadCursorRepository notificationReadCursorRepository;
+    private final NotificationUnreadCounter notificationUnreadCounter;
+    private final NotificationPreferenceCache notificationPreferenceCache;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public NotificationInboxService(NotificationRepository notificationRepository,
+                                    SharedNotificationRepository sharedNotificationRepository,
+                                    NotificationReceiptRepository notificationReceiptRepository,
+                                    NotificationReadCursorRepository notificationReadCursorRepository,
+                                    NotificationUnreadCounter notificationUnreadCounter,
+                                    NotificationPreferenceCache notificationPreferenceCache,
+                                    OutboxEventRepository outboxEventRepository,
+                                    ObjectMapper objectMapper) {
+        this.notificationRepository = notificationRepository;
+        this.sharedNotificationRepository = sharedNotificationRepository;
+        this.notificationReceiptRepository = notificationReceiptRepository;
+        this.notificationReadCursorRepository = notificationReadCursorRepository;
+        this.notificationUnreadCounter = notificationUnreadCounter;
+        this.notificationPreferenceCache = notificationPreferenceCache;
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Keyset page over both storage modes: each source returns at most one page, then the merge is trimmed.
+    @Transactional(readOnly = true)
+    public List<InboxItem> list(UUID tenantId, UUID userId, OffsetDateTime before, UUID beforeId, int size) {
+        PageRequest page = PageRequest.of(0, size);
+        boolean keyset = before != null && beforeId != null;
+        List<InboxItem> items = new ArrayList<>();
+        List<NotificationEntity> owned = keyset
+                ? notificationRepository.findInboxPageBefore(tenantId, userId, before, beforeId, page)
+                : notificationRepository.findInboxPage(tenantId, userId, page);
+        owned.forEach(notification -> items.add(new InboxItem(
+                notification.getId(),
+                notification.getEventType(),
+                notification.getTitle(),
+                notification.getMessage(),
+                notification.getCreatedAt(),
+                notification.getEventCount(),
+                notification.getReadAt() != null
+        )));
+
+        List<SharedNotificationEntity> shared = keyset
+                ? sharedNotificationRepository.findVisibleToUserBefore(tenantId, userId, PM_ROLES, CLIENT_ROLES, before, beforeId, page)
+                : sharedNotificationRepository.findVisibleToUser(tenantId, userId, PM_ROLES, CLIENT_ROLES, page);
+        // Shared rows are resolved at read time, so mute rules have to be applied here as well.
+        var preferences = notificationPreferenceCache.forTenant(tenantId);
+        shared = shared.stream()
+                .filter(notification -> !preferences.isMuted(userId, notification.getProjectId(), notification.getEventType()))
+                .toList();
+        if (!shared.isEmpty()) {
+            OffsetDateTime readThrough = readThrough(tenantId, userId);
+            Set<UUID> receipts = receiptIds(userId, shared);
+            shared.forEach(notification -> items.add(new InboxItem(
+                    notification.getId(),
+                    notification.getEventType(),
+                    notification.getTitle(),
+                    notification.getMessage(),
+                    notification.getCreatedAt(),
+                    notification.getEventCount(),
+                    isRead(notification, receipts, readThrough)
+            )));
+        }
+
+        items.sort(NEWEST_FIRST);
+        return items.size() > size ? new ArrayList<>(items.subList(0, size)) : items;
+    }
+
+    // Drill-down for coalesced notifications: the outbox events that were folded into one row.
+    @Transactional(readOnly = true)
+    public List<OutboxEventEntity> sourceEvents(UUID tenantId, UUID userId, UUID notificationId) {
+        String sourceEventIds;
+        var notification = notificationRepository.findByIdAndTenantIdAndDeletedAtIsNull(notificationId, tenantId);
+        if (notification.isPresent()) {
+            if (!notification.get().getUserId().equals(userId)) {
+                throw new AppException(HttpStatus.FORBIDDEN, "FORBIDDEN", "Cannot read another user's notification.");
+            }
+            sourceEventIds = notification.get().getSourceEventIds();
+        } else {
+            sourceEventIds = sharedNotificationRepository
+                    .findVisibleToUserByIds(List.of(notificationId), tenantId, userId, PM_ROLES, CLIENT_ROLES)
+                    .stream()
+                    .findFirst()
+                    .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "NOTIFICATION_NOT_FOUND", "Notification not found."))
+                    .getSourceEventIds();
+        }
+        if (sourceEventIds == null || sourceEventIds.isBlank()) {
+            return List.of();
+        }
+        try {
+            return outboxEventRepository.findByIdInOrderByCreatedAtAsc(List.of(objectMapper.readValue(sourceEventIds, UUID[].class)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public long unreadCount(UUID tenantId, UUID userId) {
+        return notificationUnreadCounter.unreadCount(tenantId, userId);
+    }
+
+    @Transactional
+    public void markRead(UUID tenantId, UUID userId, UUID notificationId) {
+        var notification = notificationRepository.findByIdAndTenantIdAndDeletedAtIsNull(notificationId, tenantId);
+        if (notification.isPresent()) {
+            if (!notification.get().getUserId().equals(userId)) {
+                throw new AppException(HttpStatus.FORBIDDEN, "FORBIDDEN", "Cannot update another user's notification.");
+            }
+            int updated = notificationRepository.markReadByIds(tenantId, userId, List.of(notificationId), OffsetDateTime.now());
+            notificationUnreadCounter.decrement(tenantId, userId, updated);
+            return;
+        }
+
+        List<SharedNotificationEntity> shared = sharedNotificationRepository
+                .findVisibleToUserByIds(List.of(notificationId), tenantId, userId, PM_ROLES, CLIENT_ROLES);
+        if (shared.isEmpty()) {
+            throw new AppException(HttpStatus.NOT_FOUND, "NOTIFICATION_NOT_FOUND", "Notification not found.");
+        }
+        notificationUnreadCounter.decrement(tenantId, userId, writeReceipts(tenantId, userId, shared));
+    }
+
+    // Ids that do not belong to the user are ignored rather than rejected, so a stale client list still succeeds.
+    @Transactional
+    public int markRead(UUID tenantId, UUID userId, Collection<UUID> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        int updated = notificationRepository.markReadByIds(tenantId, userId, notificationIds, OffsetDateTime.now());
+        List<SharedNotificationEntity> shared = sharedNotificationRepository
+                .findVisibleToUserByIds(notificationIds, tenantId, userId, PM_ROLES, CLIENT_ROLES);
+        if (!shared.isEmpty()) {
+            updated += writeReceipts(tenantId, userId, shared);
+        }
+        notificationUnreadCounter.decrement(tenantId, userId, updated);
+        return updated;
+    }
+
+    @Transactional
+    public int markAllRead(UUID tenantId, UUID userId) {
+        OffsetDateTime readThrough = notificationUnreadCounter.markAllRead(tenantId, userId);
+        return notificationRepository.markAllRead(tenantId, userId, readThrough);
+    }
+
+    private int writeReceipts(UUID tenantId, UUID userId, List<SharedNotificationEntity> shared) {
+        OffsetDateTime readThrough = readThrough(tenantId, userId);
+        Set<UUID> receipts = receiptIds(userId, shared);
+        OffsetDateTime now = OffsetDateTime.now();
+        List<NotificationReceiptEntity> created = shared.stream()
+                .filter(notification -> !isRead(notification, receipts, readThrough))
+                .map(notification -> {
+                    NotificationReceiptEntity receipt = new NotificationReceiptEntity();
+                    receipt.setTenantId(tenantId);
+                    receipt.setNotificationId(notification.getId());
+                    receipt.setUserId(userId);
+                    receipt.setReadAt(now);
+                    receipt.setCreatedBy(userId);
+                    return receipt;
+                })
+                .toList();
+        notificationReceiptRepository.saveAll(created);
+        return created.size();
+    }
+
+    private OffsetDateTime readThrough(UUID tenantId, UUID userId) {
+        return notificationReadCursorRepository.findByTenantIdAndUserId(tenantId, userId)
+                .map(NotificationReadCursorEntity::getReadThrough)
+                .orElse(null);
+    }
+
+    private Set<UUID> receiptIds(UUID userId, List<SharedNotificationEntity> shared) {
+        return notificationReceiptRepository
+                .findByUserIdAndNotificationIdIn(userId, shared.stream().map(SharedNotificationEntity::getId).toList())
+                .stream()
+                .map(NotificationReceiptEntity::getNotificationId)
+                .collect(Collectors.toSet());
+    }
+
+    private boolean isRead(SharedNotificationEntity notification, Set<UUID> receipts, OffsetDateTime readThrough) {
+        return receipts.contains(notification.getId())
+                || (readThrough != null && !notification.getCreatedAt().isAfter(readThrough));
+    }
+
+    public record InboxItem(UUID id,
+                            String eventType,
+                            String title,
+                            String message,
+                            OffsetDateTime createdAt,
+                            int eventCount,
+                            boolean read) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.bridge.backend.domain.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class NotificationPreferenceCache {
+    private final NotificationPreferenceRepository notificationPreferenceRepository;
+    private final long ttlNanos;
+    private final Map<UUID, Entry> entries;
+
+    public NotificationPreferenceCache(NotificationPreferenceRepository notificationPreferenceRepository,
+                                       @Value("${bridge.notification-preferences.cache-max-tenants:1000}") int maxTenants,
+                                       @Value("${bridge.notification-preferences.cache-ttl-seconds:300}") long ttlSeconds) {
+        this.notificationPreferenceRepository = notificationPreferenceRepository;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(1L, ttlSeconds));
+        int capacity = Math.max(1, maxTenants);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public TenantPreferences forTenant(UUID tenantId) {
+        long version;
+        synchronized (entries) {
+            Entry entry = entries.get(tenantId);
+            if (entry != null && entry.preferences() != null && System.nanoTime() - entry.loadedAt() < ttlNanos) {
+                return entry.preferences();
+            }
+            version = entry == null ? 0L : entry.version();
+        }
+
+        TenantPreferences loaded = load(tenantId);
+        synchronized (entries) {
+            Entry current = entries.get(tenantId);
+            long currentVersion = current == null ? 0L : current.version();
+            if (currentVersion == version) {
+                entries.put(tenantId, new Entry(version, loaded, System.nanoTime()));
+            }
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPreferenceChanged(NotificationPreferenceChangedEvent event) {
+        synchronized (entries) {
+            Entry current = entries.get(event.tenantId());
+            entries.put(event.tenantId(), new Entry(current == null ? 1L : current.version() + 1, null, 0L));
+        }
+    }
+
+    private TenantPreferences load(UUID tenantId) {
+        Map<UUID, Long> defaultMasks = new HashMap<>();
+        Map<ProjectKey, Long> projectMasks = new HashMap<>();
+        for (NotificationPreferenceEntity preference : notificationPreferenceRepository.findByTenantIdAndDeletedAtIsNull(tenantId)) {
+            if (preference.getMutedEventMask() == 0L) {
+                continue;
+            }
+            if (preference.getProjectId() == null) {
+                defaultMasks.put(preference.getUserId(), preference.getMutedEventMask());
+            } else {
+                projectMasks.put(new ProjectKey(preference.getUserId(), preference.getProjectId()), preference.getMutedEventMask());
+            }
+        }
+        return new TenantPreferences(Map.copyOf(defaultMasks), Map.copyOf(projectMasks));
+    }
+
+    public record TenantPreferences(Map<UUID, Long> defaultMasks, Map<ProjectKey, Long> projectMasks) {
+
+        public boolean isMuted(UUID userId, UUID projectId, String eventType) {
+            long bit = NotificationPreferenceMask.of(eventType);
+            if (bit == 0L) {
+                return false;
+            }
+            long mask = defaultMasks.getOrDefault(userId, 0L);
+            if (projectId != null) {
+                mask |= projectMasks.getOrDefault(new ProjectKey(userId, projectId), 0L);
+            }
+            return (mask & bit) != 0L;
+        }
+    }
+
+    public record ProjectKey(UUID userId, UUID projectId) {
+    }
+
+    private record Entry(long version, TenantPreferences preferences, long loadedAt) {
+    }
+}
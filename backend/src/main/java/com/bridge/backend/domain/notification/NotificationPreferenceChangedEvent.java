@@ -0,0 +1,6 @@
+package com.bridge.backend.domain.notification;
+
+import java.util.UUID;
+
+public record NotificationPreferenceChangedEvent(UUID tenantId) {
+}
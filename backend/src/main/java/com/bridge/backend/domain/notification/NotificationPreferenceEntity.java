@@ -0,0 +1,25 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.common.model.TenantScopedEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "notification_preferences")
+public class NotificationPreferenceEntity extends TenantScopedEntity {
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "project_id")
+    private UUID projectId;
+
+    @Column(name = "muted_event_mask", nullable = false)
+    private long mutedEventMask;
+}
@@ -0,0 +1,69 @@
+package com.bridge.backend.domain.notification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public final class NotificationPreferenceMask {
+    // Bit positions are persisted; append new event types at the end and never reorder.
+    private static final List<String> EVENT_TYPES = List.of(
+            "request.created",
+            "request.status.changed",
+            "post.created",
+            "post.comment.created",
+            "meeting.created",
+            "meeting.responded",
+            "invoice.status.changed",
+            "contract.reviewed",
+            "decision.created",
+            "decision.status.changed",
+            "file.version.created",
+            "file.comment.created",
+            "file.comment.resolved",
+            "vault.account.requested",
+            "vault.account.provisioned",
+            "vault.access.requested",
+            "vault.access.reviewed",
+            "vault.secret.revealed",
+            "signature.sent",
+            "signature.viewed",
+            "signature.signed",
+            "signature.completed"
+    );
+
+    public static final long ALL = -1L;
+
+    private NotificationPreferenceMask() {
+    }
+
+    public static List<String> eventTypes() {
+        return EVENT_TYPES;
+    }
+
+    public static boolean isKnown(String eventType) {
+        return EVENT_TYPES.contains(eventType);
+    }
+
+    public static long of(String eventType) {
+        int index = EVENT_TYPES.indexOf(eventType);
+        return index < 0 ? 0L : 1L << index;
+    }
+
+    public static long of(Collection<String> eventTypes) {
+        long mask = 0L;
+        for (String eventType : eventTypes) {
+            mask |= of(eventType);
+        }
+        return mask;
+    }
+
+    public static List<String> toEventTypes(long mask) {
+        List<String> eventTypes = new ArrayList<>();
+        for (int index = 0; index < EVENT_TYPES.size(); index++) {
+            if ((mask & (1L << index)) != 0) {
+                eventTypes.add(EVENT_TYPES.get(index));
+            }
+        }
+        return eventTypes;
+    }
+}
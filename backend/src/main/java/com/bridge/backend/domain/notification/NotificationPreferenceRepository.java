@@ -0,0 +1,17 @@
+package com.bridge.backend.domain.notification;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface NotificationPreferenceRepository extends JpaRepository<NotificationPreferenceEntity, UUID> {
+    List<NotificationPreferenceEntity> findByTenantIdAndDeletedAtIsNull(UUID tenantId);
+
+    List<NotificationPreferenceEntity> findByTenantIdAndUserIdAndDeletedAtIsNull(UUID tenantId, UUID userId);
+
+    Optional<NotificationPreferenceEntity> findByTenantIdAndUserIdAndProjectIdAndDeletedAtIsNull(UUID tenantId, UUID userId, UUID projectId);
+
+    Optional<NotificationPreferenceEntity> findByTenantIdAndUserIdAndProjectIdIsNullAndDeletedAtIsNull(UUID tenantId, UUID userId);
+}
@@ -0,0 +1,61 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.common.api.AppException;
+import com.bridge.backend.common.tenant.AccessGuardService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class NotificationPreferenceService {
+    private final NotificationPreferenceRepository notificationPreferenceRepository;
+    private final AccessGuardService accessGuardService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public NotificationPreferenceService(NotificationPreferenceRepository notificationPreferenceRepository,
+                                         AccessGuardService accessGuardService,
+                                         ApplicationEventPublisher eventPublisher) {
+        this.notificationPreferenceRepository = notificationPreferenceRepository;
+        this.accessGuardService = accessGuardService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(readOnly = true)
+    public List<NotificationPreferenceEntity> list(UUID tenantId, UUID userId) {
+        return notificationPreferenceRepository.findByTenantIdAndUserIdAndDeletedAtIsNull(tenantId, userId);
+    }
+
+    // projectId == null updates the user's tenant-wide rule; project rules add to it.
+    @Transactional
+    public NotificationPreferenceEntity update(UUID tenantId, UUID userId, UUID projectId, Collection<String> mutedEventTypes, boolean muteAll) {
+        List<String> unknown = mutedEventTypes.stream().filter(eventType -> !NotificationPreferenceMask.isKnown(eventType)).toList();
+        if (!unknown.isEmpty()) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "UNKNOWN_EVENT_TYPE", "알 수 없는 알림 유형입니다: " + String.join(", ", unknown));
+        }
+        if (projectId != null) {
+            accessGuardService.requireProjectMember(projectId, userId, tenantId);
+        }
+
+        NotificationPreferenceEntity preference = (projectId == null
+                ? notificationPreferenceRepository.findByTenantIdAndUserIdAndProjectIdIsNullAndDeletedAtIsNull(tenantId, userId)
+                : notificationPreferenceRepository.findByTenantIdAndUserIdAndProjectIdAndDeletedAtIsNull(tenantId, userId, projectId))
+                .orElseGet(() -> {
+                    NotificationPreferenceEntity created = new NotificationPreferenceEntity();
+                    created.setTenantId(tenantId);
+                    created.setUserId(userId);
+                    created.setProjectId(projectId);
+                    created.setCreatedBy(userId);
+                    return created;
+                });
+        preference.setMutedEventMask(muteAll ? NotificationPreferenceMask.ALL : NotificationPreferenceMask.of(mutedEventTypes));
+        preference.setUpdatedBy(userId);
+        NotificationPreferenceEntity saved = notificationPreferenceRepository.save(preference);
+        eventPublisher.publishEvent(new NotificationPreferenceChangedEvent(tenantId));
+        return saved;
+    }
+}
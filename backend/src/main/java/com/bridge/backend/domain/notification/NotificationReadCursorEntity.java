@@ -0,0 +1,29 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.common.model.TenantScopedEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "notification_read_cursors", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_notification_read_cursor", columnNames = {"tenant_id", "user_id"})
+})
+public class NotificationReadCursorEntity extends TenantScopedEntity {
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "read_through")
+    private OffsetDateTime readThrough;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+}
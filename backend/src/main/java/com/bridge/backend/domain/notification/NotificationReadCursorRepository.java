@@ -0,0 +1,53 @@
+package com.bridge.backend.domain.notification;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface NotificationReadCursorRepository extends JpaRepository<NotificationReadCursorEntity, UUID> {
+    Optional<NotificationReadCursorEntity> findByTenantIdAndUserId(UUID tenantId, UUID userId);
+
+    // Upsert, so it cannot collide with a concurrent first insert of the same cursor (e.g. from markAllRead).
+    // Selecting from users turns the id list into rows; duplicate ids count once.
+    @Modifying
+    @Query(value = """
+            INSERT INTO notification_read_cursors (tenant_id, user_id, unread_count, created_at, updated_at)
+            SELECT :tenantId, u.id, 1, :now, :now
+            FROM users u
+            WHERE u.id IN (:userIds)
+            ON CONFLICT (tenant_id, user_id) DO UPDATE
+                SET unread_count = notification_read_cursors.unread_count + 1, updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int incrementUnread(@Param("tenantId") UUID tenantId,
+                        @Param("userIds") Collection<UUID> userIds,
+                        @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE NotificationReadCursorEntity c
+            SET c.unreadCount = CASE WHEN c.unreadCount > :count THEN c.unreadCount - :count ELSE 0 END,
+                c.updatedAt = :now
+            WHERE c.tenantId = :tenantId AND c.userId = :userId
+            """)
+    int decrementUnread(@Param("tenantId") UUID tenantId,
+                        @Param("userId") UUID userId,
+                        @Param("count") long count,
+                        @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO notification_read_cursors (tenant_id, user_id, read_through, unread_count, created_at, updated_at)
+            VALUES (:tenantId, :userId, :now, 0, :now, :now)
+            ON CONFLICT (tenant_id, user_id) DO UPDATE
+                SET unread_count = 0, read_through = EXCLUDED.read_through, updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int markAllRead(@Param("tenantId") UUID tenantId,
+                    @Param("userId") UUID userId,
+                    @Param("now") OffsetDateTime now);
+}
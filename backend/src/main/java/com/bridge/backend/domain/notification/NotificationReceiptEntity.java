@@ -0,0 +1,29 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.common.model.TenantScopedEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "notification_receipts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_notification_receipt", columnNames = {"notification_id", "user_id"})
+})
+public class NotificationReceiptEntity extends TenantScopedEntity {
+    @Column(name = "notification_id", nullable = false)
+    private UUID notificationId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "read_at", nullable = false)
+    private OffsetDateTime readAt;
+}
@@ -0,0 +1,11 @@
+package com.bridge.backend.domain.notification;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface NotificationReceiptRepository extends JpaRepository<NotificationReceiptEntity, UUID> {
+    List<NotificationReceiptEntity> findByUserIdAndNotificationIdIn(UUID userId, Collection<UUID> notificationIds);
+}
@@ -1,13 +1,88 @@
 package com.bridge.backend.domain.notification;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface NotificationRepository extends JpaRepository<NotificationEntity, UUID> {
-    List<NotificationEntity> findByUserIdAndTenantIdAndDeletedAtIsNullOrderByCreatedAtDesc(UUID userId, UUID tenantId);
+    @Query("""
+            SELECT n FROM NotificationEntity n
+            WHERE n.tenantId = :tenantId AND n.userId = :userId AND n.deletedAt IS NULL
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<NotificationEntity> findInboxPage(@Param("tenantId") UUID tenantId,
+                                           @Param("userId") UUID userId,
+                                           Pageable pageable);
+
+    @Query("""
+            SELECT n FROM NotificationEntity n
+            WHERE n.tenantId = :tenantId AND n.userId = :userId AND n.deletedAt IS NULL
+              AND (n.createdAt < :beforeCreatedAt OR (n.createdAt = :beforeCreatedAt AND n.id < :beforeId))
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<NotificationEntity> findInboxPageBefore(@Param("tenantId") UUID tenantId,
+                                                 @Param("userId") UUID userId,
+                                                 @Param("beforeCreatedAt") OffsetDateTime beforeCreatedAt,
+                                                 @Param("beforeId") UUID beforeId,
+                                                 Pageable pageable);
 
     Optional<NotificationEntity> findByIdAndTenantIdAndDeletedAtIsNull(UUID id, UUID tenantId);
+
+    @Query("""
+            SELECT n FROM NotificationEntity n
+            WHERE n.tenantId = :tenantId AND n.projectId = :projectId AND n.eventType = :eventType
+              AND n.userId IN :userIds AND n.createdAt >= :since
+              AND n.readAt IS NULL AND n.deletedAt IS NULL
+            ORDER BY n.createdAt DESC
+            """)
+    List<NotificationEntity> findCoalescible(@Param("tenantId") UUID tenantId,
+                                             @Param("projectId") UUID projectId,
+                                             @Param("eventType") String eventType,
+                                             @Param("userIds") Collection<UUID> userIds,
+                                             @Param("since") OffsetDateTime since);
+
+    // Touches only the coalescing columns and only while the row is unread, so a concurrent mark-read is never undone.
+    @Modifying
+    @Query("""
+            UPDATE NotificationEntity n
+            SET n.eventCount = n.eventCount + :addedEvents, n.sourceEventIds = :sourceEventIds,
+                n.message = :message, n.updatedAt = :now
+            WHERE n.id = :id AND n.readAt IS NULL AND n.deletedAt IS NULL
+            """)
+    int coalesceUnread(@Param("id") UUID id,
+                       @Param("addedEvents") int addedEvents,
+                       @Param("sourceEventIds") String sourceEventIds,
+                       @Param("message") String message,
+                       @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE NotificationEntity n
+            SET n.readAt = :now, n.updatedAt = :now, n.updatedBy = :userId
+            WHERE n.tenantId = :tenantId AND n.userId = :userId AND n.id IN :ids
+              AND n.readAt IS NULL AND n.deletedAt IS NULL
+            """)
+    int markReadByIds(@Param("tenantId") UUID tenantId,
+                      @Param("userId") UUID userId,
+                      @Param("ids") Collection<UUID> ids,
+                      @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE NotificationEntity n
+            SET n.readAt = :now, n.updatedAt = :now, n.updatedBy = :userId
+            WHERE n.tenantId = :tenantId AND n.userId = :userId
+              AND n.readAt IS NULL AND n.deletedAt IS NULL
+            """)
+    int markAllRead(@Param("tenantId") UUID tenantId,
+                    @Param("userId") UUID userId,
+                    @Param("now") OffsetDateTime now);
 }
@@ -0,0 +1,51 @@
+package com.bridge.backend.domain.notification;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.MessageHandler;
+import jakarta.websocket.Session;
+
+import java.util.UUID;
+
+// One instance per socket, created after the controller has authenticated the handshake.
+public class NotificationSocketEndpoint extends Endpoint {
+    private final NotificationSocketService socketService;
+    private final UUID tenantId;
+    private final UUID userId;
+    private final String appScope;
+    private final String lastEventId;
+    private volatile WebSocketConnection connection;
+
+    NotificationSocketEndpoint(NotificationSocketService socketService, UUID tenantId, UUID userId, String appScope, String lastEventId) {
+        this.socketService = socketService;
+        this.tenantId = tenantId;
+        this.userId = userId;
+        this.appScope = appScope;
+        this.lastEventId = lastEventId;
+    }
+
+    @Override
+    public void onOpen(Session session, EndpointConfig config) {
+        WebSocketConnection opened = socketService.open(session, tenantId, userId, appScope, lastEventId);
+        connection = opened;
+        session.addMessageHandler(String.class, (MessageHandler.Whole<String>) text ->
+                socketService.handleClientMessage(opened, tenantId, userId, appScope, text));
+    }
+
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+        WebSocketConnection current = connection;
+        if (current != null) {
+            current.close(null);
+        }
+    }
+
+    @Override
+    public void onError(Session session, Throwable thr) {
+        WebSocketConnection current = connection;
+        if (current != null) {
+            current.close(null);
+        }
+    }
+}
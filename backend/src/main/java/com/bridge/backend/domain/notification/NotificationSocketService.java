@@ -0,0 +1,168 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.common.api.AppException;
+import com.bridge.backend.config.SecurityProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.websocket.DeploymentException;
+import jakarta.websocket.Extension;
+import jakarta.websocket.Session;
+import jakarta.websocket.server.ServerContainer;
+import jakarta.websocket.server.ServerEndpointConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// WebSocket transport for the notification stream. The upgrade runs inside a normal controller request,
+// so authentication and app scope come from the same filter chain as every other API call.
+@Service
+public class NotificationSocketService {
+    private static final Logger log = LoggerFactory.getLogger(NotificationSocketService.class);
+    static final String SOCKET_PATH = "/api/notifications/socket";
+    private static final int MAX_ACK_IDS = 500;
+    private static final int MAX_FILTER_VALUES = 200;
+
+    private final NotificationStreamService streamService;
+    private final NotificationInboxService notificationInboxService;
+    private final SecurityProperties securityProperties;
+    private final ObjectMapper objectMapper;
+    private final boolean compression;
+    private final int maxMessageBytes;
+
+    public NotificationSocketService(NotificationStreamService streamService,
+                                     NotificationInboxService notificationInboxService,
+                                     SecurityProperties securityProperties,
+                                     ObjectMapper objectMapper,
+                                     @Value("${bridge.notification-socket.compression:true}") boolean compression,
+                                     @Value("${bridge.notification-socket.max-message-bytes:65536}") int maxMessageBytes) {
+        this.streamService = streamService;
+        this.notificationInboxService = notificationInboxService;
+        this.securityProperties = securityProperties;
+        this.objectMapper = objectMapper;
+        this.compression = compression;
+        this.maxMessageBytes = Math.max(1024, maxMessageBytes);
+    }
+
+    public void upgrade(HttpServletRequest request,
+                        HttpServletResponse response,
+                        UUID tenantId,
+                        UUID userId,
+                        String appScope,
+                        String lastEventId) {
+        if (!"websocket".equalsIgnoreCase(request.getHeader("Upgrade"))) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "WEBSOCKET_UPGRADE_REQUIRED", "WebSocket 업그레이드 요청이 필요합니다.");
+        }
+        // Auth rides on cookies, so reject handshakes from pages we do not serve.
+        String origin = request.getHeader("Origin");
+        List<String> allowedOrigins = securityProperties.getAllowedOrigins();
+        if (origin != null && (allowedOrigins == null || !allowedOrigins.contains(origin))) {
+            throw new AppException(HttpStatus.FORBIDDEN, "FORBIDDEN", "권한이 없습니다.");
+        }
+        ServerContainer container = (ServerContainer) request.getServletContext().getAttribute(ServerContainer.class.getName());
+        if (container == null) {
+            throw new AppException(HttpStatus.SERVICE_UNAVAILABLE, "WEBSOCKET_UNAVAILABLE", "WebSocket을 사용할 수 없습니다.");
+        }
+        NotificationSocketEndpoint endpoint = new NotificationSocketEndpoint(this, tenantId, userId, appScope, lastEventId);
+        ServerEndpointConfig config = ServerEndpointConfig.Builder.create(NotificationSocketEndpoint.class, SOCKET_PATH)
+                .configurator(new ServerEndpointConfig.Configurator() {
+                    @Override
+                    public <T> T getEndpointInstance(Class<T> endpointClass) {
+                        return endpointClass.cast(endpoint);
+                    }
+
+                    // permessage-deflate is offered by the container; turning it off trades bandwidth for CPU.
+                    @Override
+                    public List<Extension> getNegotiatedExtensions(List<Extension> installed, List<Extension> requested) {
+                        return compression ? super.getNegotiatedExtensions(installed, requested) : List.of();
+                    }
+                })
+                .build();
+        try {
+            container.upgradeHttpToWebSocket(request, response, config, Map.of());
+        } catch (IOException | DeploymentException ex) {
+            throw new IllegalStateException("WebSocket upgrade failed", ex);
+        }
+    }
+
+    WebSocketConnection open(Session session, UUID tenantId, UUID userId, String appScope, String lastEventId) {
+        session.setMaxTextMessageBufferSize(maxMessageBytes);
+        session.setMaxIdleTimeout(0);
+        return streamService.attach(tenantId, userId, appScope, lastEventId,
+                (capacity, policy, executor, listener) -> new WebSocketConnection(session, objectMapper, capacity, policy, executor, listener));
+    }
+
+    // Client frames: {"type":"ack","ids":[...]} or {"type":"ack","all":true}, and
+    // {"type":"subscribe","projectIds":[...],"eventTypes":[...]} where empty lists mean everything.
+    void handleClientMessage(StreamConnection connection, UUID tenantId, UUID userId, String appScope, String text) {
+        try {
+            ClientMessage message = parse(text);
+            String type = message.type() == null ? "" : message.type();
+            switch (type) {
+                case "ack" -> acknowledge(connection, tenantId, userId, appScope, message);
+                case "subscribe" -> subscribe(connection, message);
+                default -> throw new AppException(HttpStatus.BAD_REQUEST, "UNKNOWN_MESSAGE_TYPE", "지원하지 않는 메시지 유형입니다.");
+            }
+        } catch (AppException ex) {
+            connection.enqueue(StreamEvent.of(null, "socket.error", Map.of("code", ex.getCode(), "message", ex.getMessage())));
+        } catch (RuntimeException ex) {
+            log.warn("Notification socket message failed for user {}", userId, ex);
+            connection.enqueue(StreamEvent.of(null, "socket.error", Map.of("code", "INTERNAL_ERROR", "message", "요청을 처리하지 못했습니다.")));
+        }
+    }
+
+    private void acknowledge(StreamConnection connection, UUID tenantId, UUID userId, String appScope, ClientMessage message) {
+        boolean all = Boolean.TRUE.equals(message.all());
+        List<UUID> ids = message.ids() == null ? List.of() : message.ids();
+        if (!all && ids.isEmpty()) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "NOTIFICATION_IDS_REQUIRED", "읽음 처리할 알림을 지정해 주세요.");
+        }
+        if (ids.size() > MAX_ACK_IDS) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "TOO_MANY_NOTIFICATION_IDS", "한 번에 처리할 수 있는 알림 수를 초과했습니다.");
+        }
+        int updated = all
+                ? notificationInboxService.markAllRead(tenantId, userId)
+                : notificationInboxService.markRead(tenantId, userId, ids);
+        // Other tabs learn about the read through the stream, exactly as with POST /read.
+        streamService.sendToScope(tenantId, userId, appScope, "notification.read", all ? Map.of("all", true) : Map.of("ids", ids));
+        connection.enqueue(StreamEvent.of(null, "socket.ack", Map.of("updated", updated)));
+    }
+
+    private void subscribe(StreamConnection connection, ClientMessage message) {
+        List<UUID> projectIds = message.projectIds() == null ? List.of() : message.projectIds();
+        List<String> eventTypes = message.eventTypes() == null ? List.of() : message.eventTypes();
+        if (projectIds.size() > MAX_FILTER_VALUES || eventTypes.size() > MAX_FILTER_VALUES) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "TOO_MANY_FILTER_VALUES", "구독 필터 값이 너무 많습니다.");
+        }
+        for (String eventType : eventTypes) {
+            if (!NotificationPreferenceMask.isKnown(eventType)) {
+                throw new AppException(HttpStatus.BAD_REQUEST, "UNKNOWN_EVENT_TYPE", "알 수 없는 이벤트 유형입니다: " + eventType);
+            }
+        }
+        Set<String> projects = projectIds.stream().map(UUID::toString).collect(Collectors.toSet());
+        connection.setFilter(new StreamFilter(projects, new HashSet<>(eventTypes)));
+        connection.enqueue(StreamEvent.of(null, "socket.subscribed", Map.of("projectIds", projects, "eventTypes", eventTypes)));
+    }
+
+    private ClientMessage parse(String text) {
+        try {
+            return objectMapper.readValue(text, ClientMessage.class);
+        } catch (JsonProcessingException ex) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "INVALID_MESSAGE", "메시지 형식이 올바르지 않습니다.");
+        }
+    }
+
+    record ClientMessage(String type, List<UUID> ids, Boolean all, List<UUID> projectIds, List<String> eventTypes) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.bridge.backend.domain.notification;
+
+import java.util.function.Consumer;
+
+// Carries stream events between backend nodes; each node delivers only to the emitters it holds.
+public interface NotificationStreamBus {
+    void publish(NotificationStreamMessage message);
+
+    void subscribe(Consumer<NotificationStreamMessage> subscriber);
+}
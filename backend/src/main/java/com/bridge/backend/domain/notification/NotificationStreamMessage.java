@@ -0,0 +1,12 @@
+package com.bridge.backend.domain.notification;
+
+import java.util.UUID;
+
+// appScope is null for events meant for every scope of the user.
+public record NotificationStreamMessage(String originNodeId,
+                                        UUID tenantId,
+                                        UUID userId,
+                                        String appScope,
+                                        String eventType,
+                                        Object payload) {
+}
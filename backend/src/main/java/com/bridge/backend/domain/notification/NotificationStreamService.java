@@ -1,57 +1,268 @@
 package com.bridge.backend.domain.notification;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class NotificationStreamService {
-    private final Map<EmitterKey, SseEmitter> emitters = new ConcurrentHashMap<>();
+    private static final Logger log = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    // tenant+user -> app scope -> open connections; a user may have several tabs per scope.
+    private final Map<UserKey, Map<String, Set<StreamConnection>>> connections = new ConcurrentHashMap<>();
+    // Per-user replay state; compute() on this map is also the lock that orders sends against reconnects.
+    private final Map<UserKey, SseReplayBuffer> replayBuffers = new ConcurrentHashMap<>();
+    // Event ids are "<node>-<sequence>": sequences are only comparable on the node that issued them,
+    // so a reconnect that lands on another node or after a restart resyncs instead of replaying.
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong eventSequence = new AtomicLong();
+    private final NotificationStreamBus streamBus;
+    private final int queueCapacity;
+    private final int replayBufferSize;
+    private final long replayTtlMs;
+    private final StreamConnection.OverflowPolicy overflowPolicy;
+    private final SimpleAsyncTaskExecutor writerExecutor;
+    private final Counter droppedEvents;
+
+    public NotificationStreamService(MeterRegistry meterRegistry,
+                                     NotificationStreamBus streamBus,
+                                     @Value("${bridge.notification-stream.queue-capacity:256}") int queueCapacity,
+                                     @Value("${bridge.notification-stream.overflow-policy:DROP_OLDEST}") String overflowPolicy,
+                                     @Value("${bridge.notification-stream.replay-buffer-size:100}") int replayBufferSize,
+                                     @Value("${bridge.notification-stream.replay-ttl-ms:300000}") long replayTtlMs) {
+        this.streamBus = streamBus;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.replayBufferSize = Math.max(1, replayBufferSize);
+        this.replayTtlMs = Math.max(1L, replayTtlMs);
+        this.overflowPolicy = StreamConnection.OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase());
+        this.writerExecutor = new SimpleAsyncTaskExecutor("sse-writer-");
+        try {
+            writerExecutor.setVirtualThreads(true);
+        } catch (UnsupportedOperationException ex) {
+            log.info("Virtual threads unavailable, SSE writers use platform threads");
+        }
+        this.droppedEvents = Counter.builder("bridge.notification.stream.dropped")
+                .description("SSE events dropped because a connection's outbound queue was full")
+                .tag("policy", this.overflowPolicy.name())
+                .register(meterRegistry);
+        Gauge.builder("bridge.notification.stream.connections", this, NotificationStreamService::connectionCount)
+                .register(meterRegistry);
+        Gauge.builder("bridge.notification.stream.queue.depth", this, NotificationStreamService::queueDepth)
+                .description("Events waiting in SSE outbound queues across all connections")
+                .register(meterRegistry);
+        streamBus.subscribe(this::onBusMessage);
+    }
 
     public SseEmitter connect(UUID tenantId, UUID userId, String appScope) {
-        EmitterKey key = new EmitterKey(tenantId, userId, appScope);
+        return connect(tenantId, userId, appScope, null);
+    }
+
+    // lastEventId is the client's Last-Event-ID; missed events are replayed, or system.resync is sent
+    // when the buffer no longer covers the gap.
+    public SseEmitter connect(UUID tenantId, UUID userId, String appScope, String lastEventId) {
         SseEmitter emitter = new SseEmitter(0L);
-        emitters.put(key, emitter);
-        emitter.onCompletion(() -> emitters.remove(key));
-        emitter.onTimeout(() -> emitters.remove(key));
-        emitter.onError(ignored -> emitters.remove(key));
-        sendToScope(tenantId, userId, appScope, "system.ping", Map.of("connected", true));
+        SseConnection connection = attach(tenantId, userId, appScope, lastEventId,
+                (capacity, policy, executor, listener) -> new SseConnection(emitter, capacity, policy, executor, listener));
+        emitter.onCompletion(() -> connection.close(null));
+        emitter.onTimeout(() -> connection.close(null));
+        emitter.onError(ignored -> connection.close(null));
         return emitter;
     }
 
+    // Registers a connection of any transport; the factory receives the shared queue settings and writer executor.
+    <T extends StreamConnection> T attach(UUID tenantId, UUID userId, String appScope, String lastEventId, ConnectionFactory<T> factory) {
+        UserKey userKey = new UserKey(tenantId, userId);
+        Objects.requireNonNull(appScope, "appScope");
+        T connection = factory.create(queueCapacity, overflowPolicy, writerExecutor, new StreamConnection.Listener() {
+            @Override
+            public void onDropped(StreamConnection dropped) {
+                droppedEvents.increment();
+            }
+
+            @Override
+            public void onClosed(StreamConnection closed, Exception cause) {
+                remove(userKey, appScope, closed);
+            }
+        });
+        // Registering and replaying under the user's buffer lock keeps live sends from interleaving with the replay.
+        replayBuffers.compute(userKey, (key, buffer) -> {
+            long now = System.currentTimeMillis();
+            SseReplayBuffer current = buffer == null
+                    ? new SseReplayBuffer(replayBufferSize, replayTtlMs, eventSequence.get(), now)
+                    : buffer;
+            current.touch(now);
+            // compute() serializes with remove() on the same user, so a connection never lands in a discarded set.
+            connections.compute(userKey, (ignored, scopes) -> {
+                Map<String, Set<StreamConnection>> scoped = scopes == null ? new ConcurrentHashMap<>() : scopes;
+                scoped.computeIfAbsent(appScope, scope -> ConcurrentHashMap.newKeySet()).add(connection);
+                return scoped;
+            });
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replay(connection, current, appScope, lastEventId.trim(), now);
+            }
+            connection.enqueue(StreamEvent.of(eventId(eventSequence.get()), "system.ping", Map.of("connected", true)));
+            return current;
+        });
+        return connection;
+    }
+
+    // Only enqueues; callers such as the outbox consumer never wait on a client's socket.
     public void send(UUID tenantId, UUID userId, String eventType, Object payload) {
-        emitters.keySet().stream()
-                .filter(key -> key.tenantId().equals(tenantId) && key.userId().equals(userId))
-                .forEach(key -> sendToEmitter(key, eventType, payload));
+        publish(new UserKey(tenantId, userId), null, eventType, payload);
     }
 
     public void sendToScope(UUID tenantId, UUID userId, String appScope, String eventType, Object payload) {
-        sendToEmitter(new EmitterKey(tenantId, userId, appScope), eventType, payload);
+        Objects.requireNonNull(appScope, "appScope");
+        publish(new UserKey(tenantId, userId), appScope, eventType, payload);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public int connectionCount() {
+        return connections.values().stream()
+                .flatMap(scopes -> scopes.values().stream())
+                .mapToInt(Set::size)
+                .sum();
+    }
+
+    public int queueDepth() {
+        return connections.values().stream()
+                .flatMap(scopes -> scopes.values().stream())
+                .flatMap(Set::stream)
+                .mapToInt(StreamConnection::queueDepth)
+                .sum();
+    }
+
+    // A comment frame keeps idle proxies from closing the stream and surfaces dead sockets as write failures.
+    // Connections with a backlog are skipped so a heartbeat never displaces a real event.
+    @Scheduled(fixedDelayString = "${bridge.notification-stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        connections.values().forEach(scopes -> scopes.values().forEach(scopeConnections -> scopeConnections.forEach(connection -> {
+            if (connection.queueDepth() == 0) {
+                connection.enqueue(StreamEvent.heartbeatEvent());
+            }
+        })));
+    }
+
+    // Drops replay state for users who have been gone longer than the TTL; their next reconnect resyncs.
+    @Scheduled(fixedDelayString = "${bridge.notification-stream.replay-ttl-ms:300000}")
+    public void pruneReplayBuffers() {
+        long now = System.currentTimeMillis();
+        replayBuffers.keySet().forEach(userKey -> replayBuffers.computeIfPresent(userKey, (key, buffer) ->
+                !connections.containsKey(key) && buffer.isIdle(now) ? null : buffer));
     }
 
-    private void sendToEmitter(EmitterKey key, String eventType, Object payload) {
-        SseEmitter emitter = emitters.get(key);
-        if (emitter == null) {
+    @PreDestroy
+    public void shutdown() {
+        connections.values().forEach(scopes -> scopes.values().forEach(scopeConnections ->
+                scopeConnections.forEach(connection -> connection.close(null))));
+    }
+
+    // Local emitters get the event directly; the bus carries it to the other nodes. Inside a transaction local
+    // delivery, replay buffer included, waits for the commit, so a rolled-back or retried outbox handler never
+    // shows its clients an event twice.
+    private void publish(UserKey userKey, String appScope, String eventType, Object payload) {
+        AfterCommitBatch.<Runnable>add(this, () -> deliverLocally(userKey, appScope, eventType, payload),
+                deliveries -> deliveries.forEach(Runnable::run));
+        streamBus.publish(new NotificationStreamMessage(nodeId, userKey.tenantId(), userKey.userId(), appScope, eventType, payload));
+    }
+
+    private void onBusMessage(NotificationStreamMessage message) {
+        if (nodeId.equals(message.originNodeId())) {
+            return;
+        }
+        deliverLocally(new UserKey(message.tenantId(), message.userId()), message.appScope(), message.eventType(), message.payload());
+    }
+
+    // Users without a buffer never connected to this node recently, so there is nothing to deliver or replay.
+    private void deliverLocally(UserKey userKey, String appScope, String eventType, Object payload) {
+        replayBuffers.computeIfPresent(userKey, (key, buffer) -> {
+            long id = eventSequence.incrementAndGet();
+            buffer.append(id, appScope, eventType, payload, System.currentTimeMillis());
+            Map<String, Set<StreamConnection>> scopes = connections.get(key);
+            if (scopes == null) {
+                return buffer;
+            }
+            scopes.forEach((scope, scopeConnections) -> {
+                if (appScope == null || appScope.equals(scope)) {
+                    scopeConnections.forEach(connection ->
+                            connection.enqueue(StreamEvent.of(eventId(id), eventType, payload)));
+                }
+            });
+            return buffer;
+        });
+    }
+
+    private void replay(StreamConnection connection, SseReplayBuffer buffer, String appScope, String lastEventId, long now) {
+        long lastSeen = parseSequence(lastEventId);
+        List<SseReplayBuffer.Entry> missed = lastSeen < 0 ? null : buffer.since(lastSeen, appScope, now);
+        if (missed == null) {
+            connection.enqueue(StreamEvent.of(null, "system.resync", Map.of("reason", "gap")));
             return;
         }
+        missed.forEach(entry -> connection.enqueue(StreamEvent.of(eventId(entry.id()), entry.eventType(), entry.payload())));
+    }
+
+    private String eventId(long sequence) {
+        return nodeId + "-" + sequence;
+    }
+
+    // -1 when the id was not issued by this node.
+    private long parseSequence(String eventId) {
+        String prefix = nodeId + "-";
+        if (!eventId.startsWith(prefix)) {
+            return -1L;
+        }
         try {
-            emitter.send(SseEmitter.event().name(eventType).data(payload));
-        } catch (IOException ex) {
-            emitter.completeWithError(ex);
-            emitters.remove(key);
+            long sequence = Long.parseLong(eventId.substring(prefix.length()));
+            return sequence <= eventSequence.get() ? sequence : -1L;
+        } catch (NumberFormatException ex) {
+            return -1L;
         }
     }
 
-    private record EmitterKey(UUID tenantId, UUID userId, String appScope) {
-        private EmitterKey {
+    private void remove(UserKey userKey, String appScope, StreamConnection connection) {
+        connections.computeIfPresent(userKey, (key, scopes) -> {
+            scopes.computeIfPresent(appScope, (scope, scopeConnections) -> {
+                scopeConnections.remove(connection);
+                return scopeConnections.isEmpty() ? null : scopeConnections;
+            });
+            return scopes.isEmpty() ? null : scopes;
+        });
+        // Plain get(): this can run inside a compute() on the same key when a send closes a full connection.
+        SseReplayBuffer buffer = replayBuffers.get(userKey);
+        if (buffer != null) {
+            buffer.touch(System.currentTimeMillis());
+        }
+    }
+
+    interface ConnectionFactory<T extends StreamConnection> {
+        T create(int capacity, StreamConnection.OverflowPolicy overflowPolicy, Executor writerExecutor, StreamConnection.Listener listener);
+    }
+
+    private record UserKey(UUID tenantId, UUID userId) {
+        private UserKey {
             Objects.requireNonNull(tenantId, "tenantId");
             Objects.requireNonNull(userId, "userId");
-            Objects.requireNonNull(appScope, "appScope");
         }
     }
 }
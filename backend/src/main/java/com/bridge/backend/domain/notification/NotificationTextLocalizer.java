@@ -103,6 +103,11 @@ public final class NotificationTextLocalizer {
         return title;
     }
 
+    public static String localizeCoalescedMessage(String eventType, int count) {
+        String label = EVENT_TYPE_LABELS.getOrDefault(eventType, eventType);
+        return label + " " + count + "건";
+    }
+
     public static String localizeMessage(String eventType, String message) {
         if (message == null) {
             return "";
@@ -0,0 +1,48 @@
+package com.bridge.backend.domain.notification;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+@Component
+public class NotificationUnreadCounter {
+    private final NotificationReadCursorRepository notificationReadCursorRepository;
+
+    public NotificationUnreadCounter(NotificationReadCursorRepository notificationReadCursorRepository) {
+        this.notificationReadCursorRepository = notificationReadCursorRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public long unreadCount(UUID tenantId, UUID userId) {
+        return notificationReadCursorRepository.findByTenantIdAndUserId(tenantId, userId)
+                .map(NotificationReadCursorEntity::getUnreadCount)
+                .orElse(0L);
+    }
+
+    // One set-based upsert, whether or not the users already have a counter row.
+    @Transactional
+    public void increment(UUID tenantId, Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        notificationReadCursorRepository.incrementUnread(tenantId, userIds, OffsetDateTime.now());
+    }
+
+    @Transactional
+    public void decrement(UUID tenantId, UUID userId, long count) {
+        if (count <= 0) {
+            return;
+        }
+        notificationReadCursorRepository.decrementUnread(tenantId, userId, count, OffsetDateTime.now());
+    }
+
+    @Transactional
+    public OffsetDateTime markAllRead(UUID tenantId, UUID userId) {
+        OffsetDateTime now = OffsetDateTime.now();
+        notificationReadCursorRepository.markAllRead(tenantId, userId, now);
+        return now;
+    }
+}
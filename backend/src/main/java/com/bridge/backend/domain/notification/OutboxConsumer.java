@@ -0,0 +1,112 @@
+package com.bridge.backend.domain.notification;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@Component
+@ConditionalOnProperty(prefix = "bridge.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxConsumer {
+    private static final Logger log = LoggerFactory.getLogger(OutboxConsumer.class);
+
+    private final OutboxService outboxService;
+    private final int partitionCount;
+    private final int batchSize;
+    private final long minIdlePollMs;
+    private final long maxIdlePollMs;
+    private final ExecutorService workerPool;
+    private final Thread dispatcher;
+    private final Semaphore wakeups = new Semaphore(0);
+    private volatile boolean running;
+
+    public OutboxConsumer(OutboxService outboxService, OutboxProperties properties) {
+        this.outboxService = outboxService;
+        this.partitionCount = Math.max(1, properties.getWorkers());
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.minIdlePollMs = Math.max(1L, properties.getMinIdlePollMs());
+        this.maxIdlePollMs = Math.max(minIdlePollMs, properties.getMaxIdlePollMs());
+        this.workerPool = Executors.newFixedThreadPool(partitionCount, new CustomizableThreadFactory("outbox-worker-"));
+        this.dispatcher = new CustomizableThreadFactory("outbox-dispatcher-").newThread(this::dispatchLoop);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        dispatcher.start();
+    }
+
+    @TransactionalEventListener
+    public void onOutboxPublished(OutboxPublishedEvent event) {
+        wakeup();
+    }
+
+    public void wakeup() {
+        if (wakeups.availablePermits() == 0) {
+            wakeups.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        dispatcher.interrupt();
+        workerPool.shutdown();
+    }
+
+    private void dispatchLoop() {
+        long idlePollMs = minIdlePollMs;
+        while (running) {
+            int claimed = pollOnce();
+            if (claimed >= batchSize) {
+                // A partition filled its batch, so more work is likely queued; drain without waiting.
+                idlePollMs = minIdlePollMs;
+                continue;
+            }
+            idlePollMs = claimed > 0 ? minIdlePollMs : Math.min(idlePollMs * 2, maxIdlePollMs);
+            try {
+                if (wakeups.tryAcquire(idlePollMs, TimeUnit.MILLISECONDS)) {
+                    wakeups.drainPermits();
+                    idlePollMs = minIdlePollMs;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int pollOnce() {
+        CompletableFuture<Integer>[] workers = IntStream.range(0, partitionCount)
+                .mapToObj(partition -> CompletableFuture.supplyAsync(() -> consumePartition(partition), workerPool))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(workers).join();
+        int maxClaimed = 0;
+        for (CompletableFuture<Integer> worker : workers) {
+            maxClaimed = Math.max(maxClaimed, worker.join());
+        }
+        return maxClaimed;
+    }
+
+    private int consumePartition(int partition) {
+        try {
+            return outboxService.consumePartition(partition, partitionCount, batchSize);
+        } catch (RuntimeException ex) {
+            log.warn("Outbox partition {} consume failed", partition, ex);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.bridge.backend.domain.notification;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface OutboxDeadLetterRepository extends JpaRepository<OutboxDeadLetterEntity, UUID> {
+    List<OutboxDeadLetterEntity> findTop200ByReplayedAtIsNullAndDeletedAtIsNullOrderByCreatedAtDesc();
+
+    List<OutboxDeadLetterEntity> findTop200ByTenantIdAndReplayedAtIsNullAndDeletedAtIsNullOrderByCreatedAtDesc(UUID tenantId);
+
+    Optional<OutboxDeadLetterEntity> findByIdAndDeletedAtIsNull(UUID id);
+}
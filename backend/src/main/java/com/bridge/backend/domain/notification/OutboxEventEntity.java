@@ -27,6 +27,21 @@ public class OutboxEventEntity extends TenantScopedEntity {
     @Column(name = "event_payload", nullable = false, length = 6000)
     private String eventPayload;
 
+    @Column(name = "project_id")
+    private UUID projectId;
+
+    @Column(name = "actor_user_id")
+    private UUID actorUserId;
+
     @Column(name = "processed_at")
     private OffsetDateTime processedAt;
+
+    @Column(name = "attempt_count", nullable = false)
+    private int attemptCount;
+
+    @Column(name = "last_error", length = 2000)
+    private String lastError;
+
+    @Column(name = "next_attempt_at")
+    private OffsetDateTime nextAttemptAt;
 }
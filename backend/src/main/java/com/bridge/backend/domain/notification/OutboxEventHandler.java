@@ -0,0 +1,342 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.common.model.enums.MemberRole;
+import com.bridge.backend.common.model.enums.NotificationAudience;
+import com.bridge.backend.common.tenant.MembershipSnapshot;
+import com.bridge.backend.common.tenant.MembershipSnapshotCache;
+import com.bridge.backend.domain.auth.UserEntity;
+import com.bridge.backend.domain.auth.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+public class OutboxEventHandler {
+    private final NotificationRepository notificationRepository;
+    private final SharedNotificationRepository sharedNotificationRepository;
+    private final NotificationStreamService notificationStreamService;
+    private final NotificationUnreadCounter notificationUnreadCounter;
+    private final NotificationPreferenceCache notificationPreferenceCache;
+    private final EmailNotificationSender emailNotificationSender;
+    private final UserRepository userRepository;
+    private final OutboxProperties outboxProperties;
+    private final ObjectMapper objectMapper;
+
+    public OutboxEventHandler(NotificationRepository notificationRepository,
+                              SharedNotificationRepository sharedNotificationRepository,
+                              NotificationStreamService notificationStreamService,
+                              NotificationUnreadCounter notificationUnreadCounter,
+                              NotificationPreferenceCache notificationPreferenceCache,
+                              EmailNotificationSender emailNotificationSender,
+                              UserRepository userRepository,
+                              OutboxProperties outboxProperties,
+                              ObjectMapper objectMapper) {
+        this.notificationRepository = notificationRepository;
+        this.sharedNotificationRepository = sharedNotificationRepository;
+        this.notificationStreamService = notificationStreamService;
+        this.notificationUnreadCounter = notificationUnreadCounter;
+        this.notificationPreferenceCache = notificationPreferenceCache;
+        this.emailNotificationSender = emailNotificationSender;
+        this.userRepository = userRepository;
+        this.outboxProperties = outboxProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    // Runs in its own transaction so a failing group rolls back only its own notifications.
+    // Events in a group share tenant, project, actor and type; the newest one supplies the text.
+    // Stream pushes are held until this transaction commits, so the per-event retry of a failed group
+    // does not send them a second time.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void handle(List<OutboxEventEntity> events, MembershipSnapshotCache.View memberships) {
+        OutboxEventEntity event = events.get(events.size() - 1);
+        Map<String, Object> payload = parseJson(event.getEventPayload());
+        UUID actorUserId = event.getActorUserId() != null ? event.getActorUserId() : extractActorUserId(payload);
+        MemberRole actorRole = memberships.tenantMembers(event.getTenantId()).roleOf(actorUserId);
+        UUID projectId = event.getProjectId() != null ? event.getProjectId() : extractProjectId(payload.get("payload"));
+
+        // Muted recipients are dropped before anything is written or pushed.
+        NotificationPreferenceCache.TenantPreferences preferences = notificationPreferenceCache.forTenant(event.getTenantId());
+        List<RecipientTarget> recipients = resolveRecipientTargets(event.getTenantId(), actorUserId, actorRole, projectId, memberships).stream()
+                .filter(recipient -> !preferences.isMuted(recipient.userId(), projectId, event.getEventType()))
+                .toList();
+        if (recipients.isEmpty()) {
+            return;
+        }
+        List<UUID> sourceEventIds = events.stream().map(OutboxEventEntity::getId).toList();
+        if (useFanOutOnRead(event.getTenantId(), recipients.size())) {
+            createSharedNotification(event, actorUserId, actorRole, projectId, recipients, payload, sourceEventIds);
+            List<UUID> recipientIds = recipients.stream().map(RecipientTarget::userId).toList();
+            notificationUnreadCounter.increment(event.getTenantId(), recipientIds);
+            enqueueEmails(event, payload, recipientIds);
+            return;
+        }
+
+        Map<UUID, NotificationEntity> coalescible = findCoalescible(event, projectId, recipients);
+        List<UUID> notifiedUserIds = new ArrayList<>();
+        for (RecipientTarget recipient : recipients) {
+            NotificationEntity open = coalescible.get(recipient.userId());
+            if (open == null || !coalesce(open, recipient, sourceEventIds)) {
+                createNotification(event, projectId, recipient, payload, sourceEventIds);
+                notifiedUserIds.add(recipient.userId());
+            }
+        }
+        notificationUnreadCounter.increment(event.getTenantId(), notifiedUserIds);
+        enqueueEmails(event, payload, notifiedUserIds);
+    }
+
+    // Coalesced updates are not mailed again; only recipients that got a new notification are.
+    private void enqueueEmails(OutboxEventEntity event, Map<String, Object> payload, List<UUID> userIds) {
+        if (userIds.isEmpty() || !emailNotificationSender.enabled()) {
+            return;
+        }
+        String rawEventType = event.getEventType();
+        String title = NotificationTextLocalizer.localizeTitle(rawEventType, String.valueOf(payload.get("title")));
+        String message = NotificationTextLocalizer.localizeMessage(rawEventType, String.valueOf(payload.get("message")));
+        String subject = "[Bridge] " + title;
+        String body = title + "\n\n" + message;
+        for (UserEntity user : userRepository.findByIdInAndDeletedAtIsNull(userIds)) {
+            emailNotificationSender.send(event.getTenantId(), user.getEmail(), subject, body);
+        }
+    }
+
+    private boolean useFanOutOnRead(UUID tenantId, int recipientCount) {
+        if (outboxProperties.getFanOutOnReadTenantIds().contains(tenantId)) {
+            return true;
+        }
+        int threshold = outboxProperties.getFanOutOnReadThreshold();
+        return threshold > 0 && recipientCount >= threshold;
+    }
+
+    private List<RecipientTarget> resolveRecipientTargets(UUID tenantId,
+                                                          UUID actorUserId,
+                                                          MemberRole actorRole,
+                                                          UUID projectId,
+                                                          MembershipSnapshotCache.View memberships) {
+        MembershipSnapshot snapshot = projectId != null
+                ? memberships.projectMembers(projectId)
+                : memberships.tenantMembers(tenantId);
+        return snapshot.members().stream()
+                .filter(member -> tenantId.equals(member.tenantId()))
+                .filter(member -> !member.userId().equals(actorUserId))
+                .filter(member -> isAudienceOf(actorRole, member.role()))
+                .map(member -> new RecipientTarget(member.userId(), toAppScope(member.role())))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private boolean isAudienceOf(MemberRole actorRole, MemberRole memberRole) {
+        if (isPmRole(actorRole)) {
+            return isClientRole(memberRole);
+        }
+        if (isClientRole(actorRole)) {
+            return isPmRole(memberRole);
+        }
+        return true;
+    }
+
+    private void createNotification(OutboxEventEntity event,
+                                    UUID projectId,
+                                    RecipientTarget recipient,
+                                    Map<String, Object> payload,
+                                    List<UUID> sourceEventIds) {
+        String rawEventType = event.getEventType();
+        NotificationEntity notification = new NotificationEntity();
+        notification.setTenantId(event.getTenantId());
+        notification.setUserId(recipient.userId());
+        notification.setProjectId(projectId);
+        notification.setEventType(rawEventType);
+        notification.setTitle(NotificationTextLocalizer.localizeTitle(rawEventType, String.valueOf(payload.get("title"))));
+        notification.setMessage(sourceEventIds.size() > 1
+                ? NotificationTextLocalizer.localizeCoalescedMessage(rawEventType, sourceEventIds.size())
+                : NotificationTextLocalizer.localizeMessage(rawEventType, String.valueOf(payload.get("message"))));
+        notification.setEventCount(sourceEventIds.size());
+        notification.setSourceEventIds(toJson(sourceEventIds));
+        notificationRepository.save(notification);
+
+        notificationStreamService.sendToScope(event.getTenantId(), recipient.userId(), recipient.appScope(), "notification.created",
+                toStreamPayload(notification.getId(), projectId, rawEventType, notification.getTitle(), notification.getMessage(),
+                        notification.getEventCount(), notification.getCreatedAt()));
+    }
+
+    private Map<UUID, NotificationEntity> findCoalescible(OutboxEventEntity event, UUID projectId, List<RecipientTarget> recipients) {
+        long windowMs = outboxProperties.getCoalesceWindowMs();
+        if (windowMs <= 0 || projectId == null) {
+            return Map.of();
+        }
+        Map<UUID, NotificationEntity> latestByUser = new HashMap<>();
+        notificationRepository.findCoalescible(
+                event.getTenantId(),
+                projectId,
+                event.getEventType(),
+                recipients.stream().map(RecipientTarget::userId).toList(),
+                OffsetDateTime.now().minusNanos(windowMs * 1_000_000L)
+        ).forEach(notification -> latestByUser.putIfAbsent(notification.getUserId(), notification));
+        return latestByUser;
+    }
+
+    // Folds new events into the recipient's still-unread row; the client already has it, so only an update is pushed.
+    // Returns false when the row was read in the meantime and a new notification is needed instead.
+    private boolean coalesce(NotificationEntity notification, RecipientTarget recipient, List<UUID> sourceEventIds) {
+        List<UUID> merged = new ArrayList<>(parseEventIds(notification.getSourceEventIds()));
+        merged.addAll(sourceEventIds);
+        int maxEvents = Math.max(1, outboxProperties.getCoalesceMaxEvents());
+        if (merged.size() > maxEvents) {
+            merged = merged.subList(merged.size() - maxEvents, merged.size());
+        }
+        String rawEventType = notification.getEventType();
+        int eventCount = notification.getEventCount() + sourceEventIds.size();
+        String message = NotificationTextLocalizer.localizeCoalescedMessage(rawEventType, eventCount);
+        if (notificationRepository.coalesceUnread(notification.getId(), sourceEventIds.size(), toJson(merged), message, OffsetDateTime.now()) == 0) {
+            return false;
+        }
+
+        notificationStreamService.sendToScope(notification.getTenantId(), recipient.userId(), recipient.appScope(), "notification.updated",
+                toStreamPayload(notification.getId(), notification.getProjectId(), rawEventType, notification.getTitle(), message,
+                        eventCount, notification.getCreatedAt()));
+        return true;
+    }
+
+    // One row for the whole audience; recipients and read state are derived from membership at read time.
+    private void createSharedNotification(OutboxEventEntity event,
+                                          UUID actorUserId,
+                                          MemberRole actorRole,
+                                          UUID projectId,
+                                          List<RecipientTarget> recipients,
+                                          Map<String, Object> payload,
+                                          List<UUID> sourceEventIds) {
+        String rawEventType = event.getEventType();
+        SharedNotificationEntity notification = new SharedNotificationEntity();
+        notification.setTenantId(event.getTenantId());
+        notification.setOutboxEventId(event.getId());
+        notification.setProjectId(projectId);
+        notification.setActorUserId(actorUserId);
+        notification.setAudience(toAudience(actorRole));
+        notification.setEventType(rawEventType);
+        notification.setTitle(NotificationTextLocalizer.localizeTitle(rawEventType, String.valueOf(payload.get("title"))));
+        notification.setMessage(sourceEventIds.size() > 1
+                ? NotificationTextLocalizer.localizeCoalescedMessage(rawEventType, sourceEventIds.size())
+                : NotificationTextLocalizer.localizeMessage(rawEventType, String.valueOf(payload.get("message"))));
+        notification.setEventCount(sourceEventIds.size());
+        notification.setSourceEventIds(toJson(sourceEventIds));
+        sharedNotificationRepository.save(notification);
+
+        Map<String, Object> message = toStreamPayload(notification.getId(), projectId, rawEventType, notification.getTitle(),
+                notification.getMessage(), notification.getEventCount(), notification.getCreatedAt());
+        for (RecipientTarget recipient : recipients) {
+            notificationStreamService.sendToScope(event.getTenantId(), recipient.userId(), recipient.appScope(), "notification.created", message);
+        }
+    }
+
+    // projectId and sourceEventType let stream subscribers filter; eventType stays the localized label clients display.
+    private Map<String, Object> toStreamPayload(UUID id,
+                                                UUID projectId,
+                                                String rawEventType,
+                                                String title,
+                                                String message,
+                                                int eventCount,
+                                                OffsetDateTime createdAt) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", id);
+        payload.put("title", title);
+        payload.put("message", message);
+        payload.put("eventType", NotificationTextLocalizer.localizeEventType(rawEventType));
+        payload.put("sourceEventType", rawEventType);
+        payload.put("eventCount", eventCount);
+        payload.put("createdAt", createdAt);
+        if (projectId != null) {
+            payload.put("projectId", projectId);
+        }
+        return payload;
+    }
+
+    private NotificationAudience toAudience(MemberRole actorRole) {
+        if (isPmRole(actorRole)) {
+            return NotificationAudience.CLIENT;
+        }
+        if (isClientRole(actorRole)) {
+            return NotificationAudience.PM;
+        }
+        return NotificationAudience.ALL;
+    }
+
+    private boolean isClientRole(MemberRole role) {
+        return role == MemberRole.CLIENT_OWNER || role == MemberRole.CLIENT_MEMBER;
+    }
+
+    private boolean isPmRole(MemberRole role) {
+        return role == MemberRole.PM_OWNER || role == MemberRole.PM_MEMBER;
+    }
+
+    private String toAppScope(MemberRole role) {
+        if (role == MemberRole.CLIENT_OWNER || role == MemberRole.CLIENT_MEMBER) {
+            return "client";
+        }
+        return "pm";
+    }
+
+    private UUID extractActorUserId(Map<String, Object> payload) {
+        Object actorRaw = payload.get("userId");
+        if (actorRaw == null) {
+            throw new IllegalArgumentException("Outbox payload is missing userId.");
+        }
+        return UUID.fromString(String.valueOf(actorRaw));
+    }
+
+    @SuppressWarnings("unchecked")
+    private UUID extractProjectId(Object payloadRaw) {
+        if (!(payloadRaw instanceof Map<?, ?> payloadMap)) {
+            return null;
+        }
+        Object projectId = payloadMap.get("projectId");
+        if (projectId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(String.valueOf(projectId));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private List<UUID> parseEventIds(String json) {
+        if (json == null || json.isBlank()) {
+            return List.of();
+        }
+        try {
+            return List.of(objectMapper.readValue(json, UUID[].class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parseJson(String json) {
+        try {
+            return objectMapper.readValue(json, Map.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record RecipientTarget(UUID userId, String appScope) {
+    }
+}
@@ -1,25 +1,77 @@
 package com.bridge.backend.domain.notification;
 
+import com.bridge.backend.common.model.enums.MemberRole;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, UUID> {
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockNamespace, :partition)", nativeQuery = true)
+    boolean tryLockPartition(@Param("lockNamespace") int lockNamespace, @Param("partition") int partition);
+
     @Query(value = """
             SELECT oe.id
             FROM outbox_events oe
             WHERE oe.processed_at IS NULL
               AND oe.deleted_at IS NULL
+              AND (oe.next_attempt_at IS NULL OR oe.next_attempt_at <= now())
+              AND (hashtext(CAST(oe.tenant_id AS text)) & 2147483647) % :partitionCount = :partition
             ORDER BY oe.created_at ASC
             LIMIT :batchSize
             FOR UPDATE SKIP LOCKED
             """, nativeQuery = true)
-    List<UUID> claimUnprocessedBatchForUpdate(@Param("batchSize") int batchSize);
+    List<UUID> claimUnprocessedPartitionForUpdate(@Param("partitionCount") int partitionCount,
+                                                  @Param("partition") int partition,
+                                                  @Param("batchSize") int batchSize);
+
+    @Query("""
+            SELECT new com.bridge.backend.domain.notification.PmEventRow(
+                oe.id, oe.eventType, oe.aggregateType, oe.aggregateId, oe.eventPayload,
+                oe.projectId, oe.actorUserId, tm.role, u.name, oe.createdAt)
+            FROM OutboxEventEntity oe
+            JOIN TenantMemberEntity tm
+              ON tm.tenantId = oe.tenantId AND tm.userId = oe.actorUserId AND tm.deletedAt IS NULL
+            LEFT JOIN UserEntity u
+              ON u.id = oe.actorUserId AND u.deletedAt IS NULL
+            WHERE oe.tenantId = :tenantId
+              AND oe.deletedAt IS NULL
+              AND oe.projectId IN :projectIds
+              AND tm.role IN :actorRoles
+            ORDER BY oe.createdAt DESC, oe.id DESC
+            """)
+    List<PmEventRow> findPmEvents(@Param("tenantId") UUID tenantId,
+                                  @Param("projectIds") Collection<UUID> projectIds,
+                                  @Param("actorRoles") Collection<MemberRole> actorRoles,
+                                  Pageable pageable);
 
-    List<OutboxEventEntity> findTop200ByTenantIdAndDeletedAtIsNullOrderByCreatedAtDesc(UUID tenantId);
+    @Query("""
+            SELECT new com.bridge.backend.domain.notification.PmEventRow(
+                oe.id, oe.eventType, oe.aggregateType, oe.aggregateId, oe.eventPayload,
+                oe.projectId, oe.actorUserId, tm.role, u.name, oe.createdAt)
+            FROM OutboxEventEntity oe
+            JOIN TenantMemberEntity tm
+              ON tm.tenantId = oe.tenantId AND tm.userId = oe.actorUserId AND tm.deletedAt IS NULL
+            LEFT JOIN UserEntity u
+              ON u.id = oe.actorUserId AND u.deletedAt IS NULL
+            WHERE oe.tenantId = :tenantId
+              AND oe.deletedAt IS NULL
+              AND oe.projectId IN :projectIds
+              AND tm.role IN :actorRoles
+              AND (oe.createdAt < :beforeCreatedAt OR (oe.createdAt = :beforeCreatedAt AND oe.id < :beforeId))
+            ORDER BY oe.createdAt DESC, oe.id DESC
+            """)
+    List<PmEventRow> findPmEventsBefore(@Param("tenantId") UUID tenantId,
+                                        @Param("projectIds") Collection<UUID> projectIds,
+                                        @Param("actorRoles") Collection<MemberRole> actorRoles,
+                                        @Param("beforeCreatedAt") OffsetDateTime beforeCreatedAt,
+                                        @Param("beforeId") UUID beforeId,
+                                        Pageable pageable);
 
     List<OutboxEventEntity> findByIdInOrderByCreatedAtAsc(List<UUID> ids);
 }
@@ -0,0 +1,27 @@
+package com.bridge.backend.domain.notification;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bridge.outbox")
+public class OutboxProperties {
+    private boolean enabled = true;
+    private int workers = 4;
+    private int batchSize = 100;
+    private long minIdlePollMs = 250L;
+    private long maxIdlePollMs = 5000L;
+    private int maxAttempts = 5;
+    private long retryBaseDelayMs = 2000L;
+    private long retryMaxDelayMs = 600000L;
+    private int fanOutOnReadThreshold = 100;
+    private long coalesceWindowMs = 60000L;
+    private int coalesceMaxEvents = 500;
+    private Set<UUID> fanOutOnReadTenantIds = new HashSet<>();
+}
@@ -1,42 +1,50 @@
 package com.bridge.backend.domain.notification;
 
-import com.bridge.backend.common.model.enums.MemberRole;
-import com.bridge.backend.domain.admin.TenantMemberEntity;
-import com.bridge.backend.domain.admin.TenantMemberRepository;
-import com.bridge.backend.domain.project.ProjectMemberEntity;
-import com.bridge.backend.domain.project.ProjectMemberRepository;
+import com.bridge.backend.common.api.AppException;
+import com.bridge.backend.common.tenant.MembershipSnapshotCache;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class OutboxService {
+    private static final Logger log = LoggerFactory.getLogger(OutboxService.class);
+    private static final int PARTITION_LOCK_NAMESPACE = 0x0B0C;
+    private static final int MAX_ERROR_LENGTH = 2000;
+
     private final OutboxEventRepository outboxEventRepository;
-    private final NotificationRepository notificationRepository;
-    private final NotificationStreamService notificationStreamService;
-    private final TenantMemberRepository tenantMemberRepository;
-    private final ProjectMemberRepository projectMemberRepository;
+    private final OutboxDeadLetterRepository outboxDeadLetterRepository;
+    private final OutboxEventHandler outboxEventHandler;
+    private final MembershipSnapshotCache membershipSnapshotCache;
+    private final OutboxProperties outboxProperties;
+    private final ApplicationEventPublisher eventPublisher;
     private final ObjectMapper objectMapper;
 
     public OutboxService(OutboxEventRepository outboxEventRepository,
-                         NotificationRepository notificationRepository,
-                         NotificationStreamService notificationStreamService,
-                         TenantMemberRepository tenantMemberRepository,
-                         ProjectMemberRepository projectMemberRepository,
+                         OutboxDeadLetterRepository outboxDeadLetterRepository,
+                         OutboxEventHandler outboxEventHandler,
+                         MembershipSnapshotCache membershipSnapshotCache,
+                         OutboxProperties outboxProperties,
+                         ApplicationEventPublisher eventPublisher,
                          ObjectMapper objectMapper) {
         this.outboxEventRepository = outboxEventRepository;
-        this.notificationRepository = notificationRepository;
-        this.notificationStreamService = notificationStreamService;
-        this.tenantMemberRepository = tenantMemberRepository;
-        this.projectMemberRepository = projectMemberRepository;
+        this.outboxDeadLetterRepository = outboxDeadLetterRepository;
+        this.outboxEventHandler = outboxEventHandler;
+        this.membershipSnapshotCache = membershipSnapshotCache;
+        this.outboxProperties = outboxProperties;
+        this.eventPublisher = eventPublisher;
         this.objectMapper = objectMapper;
     }
 
@@ -47,143 +55,159 @@ public class OutboxService {
         outbox.setAggregateType(aggregateType);
         outbox.setAggregateId(aggregateId);
         outbox.setEventType(eventType);
+        outbox.setActorUserId(userId);
+        outbox.setProjectId(extractProjectId(payload));
         outbox.setEventPayload(toJson(Map.of(
                 "title", title,
                 "message", message,
                 "payload", payload,
                 "userId", userId.toString()
         )));
-        outboxEventRepository.save(outbox);
+        OutboxEventEntity saved = outboxEventRepository.save(outbox);
+        // Delivered after commit so the consumer wakes up only once the row is visible.
+        eventPublisher.publishEvent(new OutboxPublishedEvent(tenantId, saved.getId()));
     }
 
-    @Scheduled(fixedDelay = 1000L)
     @Transactional
-    public void consume() {
-        List<UUID> claimedIds = outboxEventRepository.claimUnprocessedBatchForUpdate(100);
+    public int consumePartition(int partition, int partitionCount, int batchSize) {
+        // Another node already owns this partition; skipping keeps per-tenant order across replicas.
+        if (!outboxEventRepository.tryLockPartition(PARTITION_LOCK_NAMESPACE, partition)) {
+            return 0;
+        }
+        List<UUID> claimedIds = outboxEventRepository.claimUnprocessedPartitionForUpdate(partitionCount, partition, batchSize);
         if (claimedIds.isEmpty()) {
-            return;
+            return 0;
         }
-        outboxEventRepository.findByIdInOrderByCreatedAtAsc(claimedIds).forEach(event -> {
-            Map<String, Object> payload = parseJson(event.getEventPayload());
-            UUID actorUserId = UUID.fromString(String.valueOf(payload.get("userId")));
-            TenantMemberEntity actorMember = tenantMemberRepository
-                    .findByTenantIdAndUserIdAndDeletedAtIsNull(event.getTenantId(), actorUserId)
-                    .orElse(null);
-            UUID projectId = extractProjectId(payload.get("payload"));
-
-            List<RecipientTarget> recipients = resolveRecipientTargets(event.getTenantId(), actorUserId, actorMember, projectId);
-            for (RecipientTarget recipient : recipients) {
-                createNotification(event, recipient, payload);
+        // One membership view per batch, so a burst of events on the same project shares one lookup.
+        MembershipSnapshotCache.View memberships = membershipSnapshotCache.newView();
+        for (List<OutboxEventEntity> group : coalesceGroups(outboxEventRepository.findByIdInOrderByCreatedAtAsc(claimedIds))) {
+            try {
+                outboxEventHandler.handle(group, memberships);
+                group.forEach(this::markProcessed);
+            } catch (RuntimeException ex) {
+                if (group.size() == 1) {
+                    recordFailure(group.get(0), ex);
+                } else {
+                    // Fall back to one-by-one so a single bad event does not drag its siblings into retry.
+                    group.forEach(event -> handleSingle(event, memberships));
+                }
             }
-
-            event.setProcessedAt(OffsetDateTime.now());
-            outboxEventRepository.save(event);
-        });
+            outboxEventRepository.saveAll(group);
+        }
+        return claimedIds.size();
     }
 
-    private List<RecipientTarget> resolveRecipientTargets(UUID tenantId,
-                                                          UUID actorUserId,
-                                                          TenantMemberEntity actorMember,
-                                                          UUID projectId) {
-        if (projectId != null) {
-            List<ProjectMemberEntity> members = projectMemberRepository.findByProjectIdAndDeletedAtIsNull(projectId)
-                    .stream()
-                    .filter(member -> tenantId.equals(member.getTenantId()))
-                    .filter(member -> !member.getUserId().equals(actorUserId))
-                    .toList();
-            if (members.isEmpty()) {
-                return List.of();
-            }
-
-            if (actorMember != null && isPmRole(actorMember.getRole())) {
-                return members.stream()
-                        .filter(member -> isClientRole(member.getRole()))
-                        .map(member -> new RecipientTarget(member.getUserId(), toAppScope(member.getRole())))
-                        .distinct()
-                        .collect(Collectors.toList());
-            }
-            if (actorMember != null && isClientRole(actorMember.getRole())) {
-                return members.stream()
-                        .filter(member -> isPmRole(member.getRole()))
-                        .map(member -> new RecipientTarget(member.getUserId(), toAppScope(member.getRole())))
-                        .distinct()
-                        .collect(Collectors.toList());
-            }
-
-            return members.stream()
-                    .map(member -> new RecipientTarget(member.getUserId(), toAppScope(member.getRole())))
-                    .distinct()
-                    .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<OutboxDeadLetterEntity> listDeadLetters(UUID tenantId) {
+        if (tenantId == null) {
+            return outboxDeadLetterRepository.findTop200ByReplayedAtIsNullAndDeletedAtIsNullOrderByCreatedAtDesc();
         }
+        return outboxDeadLetterRepository.findTop200ByTenantIdAndReplayedAtIsNullAndDeletedAtIsNullOrderByCreatedAtDesc(tenantId);
+    }
 
-        List<TenantMemberEntity> tenantMembers = tenantMemberRepository.findByTenantIdAndDeletedAtIsNull(tenantId)
-                .stream()
-                .filter(member -> !member.getUserId().equals(actorUserId))
-                .toList();
-        if (tenantMembers.isEmpty()) {
-            return List.of();
+    @Transactional
+    public OutboxDeadLetterEntity replayDeadLetter(UUID deadLetterId, UUID actorId) {
+        OutboxDeadLetterEntity deadLetter = outboxDeadLetterRepository.findByIdAndDeletedAtIsNull(deadLetterId)
+                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "DEAD_LETTER_NOT_FOUND", "Dead-letter event not found."));
+        if (deadLetter.getReplayedAt() != null) {
+            throw new AppException(HttpStatus.CONFLICT, "DEAD_LETTER_ALREADY_REPLAYED", "Dead-letter event was already replayed.");
         }
+        OutboxEventEntity event = outboxEventRepository.findById(deadLetter.getOutboxEventId())
+                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "OUTBOX_EVENT_NOT_FOUND", "Outbox event not found."));
+        event.setProcessedAt(null);
+        event.setAttemptCount(0);
+        event.setNextAttemptAt(null);
+        event.setUpdatedBy(actorId);
+        outboxEventRepository.save(event);
+
+        deadLetter.setReplayedAt(OffsetDateTime.now());
+        deadLetter.setUpdatedBy(actorId);
+        OutboxDeadLetterEntity replayed = outboxDeadLetterRepository.save(deadLetter);
+        eventPublisher.publishEvent(new OutboxPublishedEvent(event.getTenantId(), event.getId()));
+        return replayed;
+    }
 
-        if (actorMember != null && isPmRole(actorMember.getRole())) {
-            return tenantMembers.stream()
-                    .filter(member -> isClientRole(member.getRole()))
-                    .map(member -> new RecipientTarget(member.getUserId(), toAppScope(member.getRole())))
-                    .distinct()
-                    .collect(Collectors.toList());
-        }
-        if (actorMember != null && isClientRole(actorMember.getRole())) {
-            return tenantMembers.stream()
-                    .filter(member -> isPmRole(member.getRole()))
-                    .map(member -> new RecipientTarget(member.getUserId(), toAppScope(member.getRole())))
-                    .distinct()
-                    .collect(Collectors.toList());
+    private void handleSingle(OutboxEventEntity event, MembershipSnapshotCache.View memberships) {
+        try {
+            outboxEventHandler.handle(List.of(event), memberships);
+            markProcessed(event);
+        } catch (RuntimeException ex) {
+            recordFailure(event, ex);
         }
+    }
 
-        return tenantMembers.stream()
-                .map(member -> new RecipientTarget(member.getUserId(), toAppScope(member.getRole())))
-                .distinct()
-                .collect(Collectors.toList());
+    private void markProcessed(OutboxEventEntity event) {
+        event.setProcessedAt(OffsetDateTime.now());
+        event.setNextAttemptAt(null);
     }
 
-    private void createNotification(OutboxEventEntity event, RecipientTarget recipient, Map<String, Object> payload) {
-        String rawEventType = event.getEventType();
-        String localizedTitle = NotificationTextLocalizer.localizeTitle(rawEventType, String.valueOf(payload.get("title")));
-        String localizedMessage = NotificationTextLocalizer.localizeMessage(rawEventType, String.valueOf(payload.get("message")));
-        String localizedEventType = NotificationTextLocalizer.localizeEventType(rawEventType);
-
-        NotificationEntity notification = new NotificationEntity();
-        notification.setTenantId(event.getTenantId());
-        notification.setUserId(recipient.userId());
-        notification.setEventType(rawEventType);
-        notification.setTitle(localizedTitle);
-        notification.setMessage(localizedMessage);
-        notificationRepository.save(notification);
-
-        notificationStreamService.sendToScope(event.getTenantId(), recipient.userId(), recipient.appScope(), "notification.created", Map.of(
-                "id", notification.getId(),
-                "title", notification.getTitle(),
-                "message", notification.getMessage(),
-                "eventType", localizedEventType,
-                "createdAt", notification.getCreatedAt()
-        ));
+    // Same-type events from one actor on one project within a batch become a single notification, but only while
+    // they are consecutive within their tenant: any other event of the tenant in between closes the group, so
+    // groups never deliver a tenant's events out of created_at order.
+    private List<List<OutboxEventEntity>> coalesceGroups(List<OutboxEventEntity> events) {
+        if (outboxProperties.getCoalesceWindowMs() <= 0) {
+            return events.stream().map(List::of).toList();
+        }
+        int maxEvents = Math.max(1, outboxProperties.getCoalesceMaxEvents());
+        List<List<OutboxEventEntity>> chunks = new ArrayList<>();
+        Map<UUID, Object> openKeyByTenant = new HashMap<>();
+        Map<UUID, List<OutboxEventEntity>> openChunkByTenant = new HashMap<>();
+        for (OutboxEventEntity event : events) {
+            Object key = event.getProjectId() != null && event.getActorUserId() != null
+                    ? new CoalesceKey(event.getTenantId(), event.getProjectId(), event.getActorUserId(), event.getEventType())
+                    : event.getId();
+            List<OutboxEventEntity> open = openChunkByTenant.get(event.getTenantId());
+            if (open != null && key.equals(openKeyByTenant.get(event.getTenantId())) && open.size() < maxEvents) {
+                open.add(event);
+                continue;
+            }
+            List<OutboxEventEntity> chunk = new ArrayList<>();
+            chunk.add(event);
+            chunks.add(chunk);
+            openKeyByTenant.put(event.getTenantId(), key);
+            openChunkByTenant.put(event.getTenantId(), chunk);
+        }
+        return chunks;
     }
 
-    private boolean isClientRole(MemberRole role) {
-        return role == MemberRole.CLIENT_OWNER || role == MemberRole.CLIENT_MEMBER;
+    private void recordFailure(OutboxEventEntity event, RuntimeException ex) {
+        int attempts = event.getAttemptCount() + 1;
+        event.setAttemptCount(attempts);
+        event.setLastError(describeError(ex));
+        if (attempts < Math.max(1, outboxProperties.getMaxAttempts())) {
+            event.setNextAttemptAt(OffsetDateTime.now().plusNanos(retryDelayMs(attempts) * 1_000_000L));
+            log.warn("Outbox event {} failed (attempt {}), retrying later", event.getId(), attempts, ex);
+            return;
+        }
+
+        OutboxDeadLetterEntity deadLetter = new OutboxDeadLetterEntity();
+        deadLetter.setTenantId(event.getTenantId());
+        deadLetter.setOutboxEventId(event.getId());
+        deadLetter.setAggregateType(event.getAggregateType());
+        deadLetter.setAggregateId(event.getAggregateId());
+        deadLetter.setEventType(event.getEventType());
+        deadLetter.setEventPayload(event.getEventPayload());
+        deadLetter.setAttemptCount(attempts);
+        deadLetter.setLastError(event.getLastError());
+        outboxDeadLetterRepository.save(deadLetter);
+
+        event.setProcessedAt(OffsetDateTime.now());
+        event.setNextAttemptAt(null);
+        log.error("Outbox event {} moved to dead-letter after {} attempts", event.getId(), attempts, ex);
     }
 
-    private boolean isPmRole(MemberRole role) {
-        return role == MemberRole.PM_OWNER || role == MemberRole.PM_MEMBER;
+    private long retryDelayMs(int attempts) {
+        long base = Math.max(1L, outboxProperties.getRetryBaseDelayMs());
+        long max = Math.max(base, outboxProperties.getRetryMaxDelayMs());
+        int exponent = Math.min(attempts - 1, 30);
+        return Math.min(max, base << exponent);
     }
 
-    private String toAppScope(MemberRole role) {
-        if (role == MemberRole.CLIENT_OWNER || role == MemberRole.CLIENT_MEMBER) {
-            return "client";
-        }
-        return "pm";
+    private String describeError(RuntimeException ex) {
+        String description = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+        return description.length() > MAX_ERROR_LENGTH ? description.substring(0, MAX_ERROR_LENGTH) : description;
     }
 
-    @SuppressWarnings("unchecked")
     private UUID extractProjectId(Object payloadRaw) {
         if (!(payloadRaw instanceof Map<?, ?> payloadMap)) {
             return null;
@@ -207,15 +231,6 @@ public class OutboxService {
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> parseJson(String json) {
-        try {
-            return objectMapper.readValue(json, Map.class);
-        } catch (JsonProcessingException e) {
-            throw new IllegalStateException(e);
-        }
-    }
-
-    private record RecipientTarget(UUID userId, String appScope) {
+    private record CoalesceKey(UUID tenantId, UUID projectId, UUID actorUserId, String eventType) {
     }
 }
@@ -0,0 +1,18 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.common.model.enums.MemberRole;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record PmEventRow(UUID id,
+                         String eventType,
+                         String aggregateType,
+                         UUID aggregateId,
+                         String eventPayload,
+                         UUID projectId,
+                         UUID actorUserId,
+                         MemberRole actorRole,
+                         String actorName,
+                         OffsetDateTime createdAt) {
+}
@@ -0,0 +1,169 @@
+package com.bridge.backend.domain.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// LISTEN/NOTIFY bus. NOTIFY is sent once the caller's transaction has committed, in a transaction of its own:
+// other nodes only see events for committed work, and a failing NOTIFY cannot abort or roll back that work.
+@Component
+@ConditionalOnProperty(prefix = "bridge.notification-stream", name = "bus", havingValue = "postgres")
+public class PostgresNotificationStreamBus implements NotificationStreamBus {
+    private static final Logger log = LoggerFactory.getLogger(PostgresNotificationStreamBus.class);
+    private static final String CHANNEL = "bridge_notification_stream";
+    // Postgres rejects NOTIFY payloads of 8000 bytes or more.
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final long MAX_RECONNECT_DELAY_MS = 30000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate notifyTransaction;
+    private final DataSource listenDataSource;
+    private final ObjectMapper objectMapper;
+    private final long pollMs;
+    private final List<Consumer<NotificationStreamMessage>> subscribers = new CopyOnWriteArrayList<>();
+    private final Thread listener;
+    private volatile boolean running;
+
+    public PostgresNotificationStreamBus(JdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         DataSourceProperties dataSourceProperties,
+                                         ObjectMapper objectMapper,
+                                         @Value("${bridge.notification-stream.bus-poll-ms:500}") long pollMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Inside afterCommit the caller's connection is still bound but no longer commits; a new transaction
+        // gets a connection of its own.
+        this.notifyTransaction = new TransactionTemplate(transactionManager);
+        this.notifyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // The listener holds its connection for the life of the node, so it stays out of the shared pool.
+        this.listenDataSource = dataSourceProperties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build();
+        this.objectMapper = objectMapper;
+        this.pollMs = Math.max(10L, pollMs);
+        this.listener = new CustomizableThreadFactory("notification-stream-listener-").newThread(this::listenLoop);
+        this.listener.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listener.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        listener.interrupt();
+    }
+
+    @Override
+    public void publish(NotificationStreamMessage message) {
+        String encoded = encode(message);
+        if (encoded.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            // Too large to ship; remote nodes tell the user's clients to refetch instead.
+            encoded = encode(new NotificationStreamMessage(message.originNodeId(), message.tenantId(), message.userId(),
+                    message.appScope(), "system.resync", Map.of("reason", "oversize")));
+        }
+        AfterCommitBatch.add(this, encoded, this::send);
+    }
+
+    // A transaction's events go out together in one transaction, so a handler fanning out to many
+    // recipients costs one connection checkout and commit rather than one per event.
+    private void send(List<String> encoded) {
+        try {
+            notifyTransaction.executeWithoutResult(status ->
+                    encoded.forEach(payload -> jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload)));
+        } catch (DataAccessException | TransactionException ex) {
+            log.warn("Failed to publish {} notification stream events to other nodes", encoded.size(), ex);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<NotificationStreamMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    private void listenLoop() {
+        long reconnectDelayMs = pollMs;
+        while (running) {
+            try (Connection connection = listenDataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                reconnectDelayMs = pollMs;
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                // Events published while the listener is down are not replayed; clients resync on their next gap.
+                log.warn("Notification stream listener lost its connection, retrying in {} ms", reconnectDelayMs, ex);
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                reconnectDelayMs = Math.min(reconnectDelayMs * 2, MAX_RECONNECT_DELAY_MS);
+            }
+        }
+    }
+
+    private void dispatch(String encoded) {
+        NotificationStreamMessage message;
+        try {
+            message = objectMapper.readValue(encoded, NotificationStreamMessage.class);
+        } catch (JsonProcessingException ex) {
+            log.warn("Ignoring malformed notification stream message", ex);
+            return;
+        }
+        for (Consumer<NotificationStreamMessage> subscriber : subscribers) {
+            try {
+                subscriber.accept(message);
+            } catch (RuntimeException ex) {
+                log.warn("Notification stream subscriber failed for {}", message.eventType(), ex);
+            }
+        }
+    }
+
+    private String encode(NotificationStreamMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
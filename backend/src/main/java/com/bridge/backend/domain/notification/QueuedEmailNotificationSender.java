@@ -0,0 +1,27 @@
+package com.bridge.backend.domain.notification;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+// Never talks to SMTP on the caller's thread; EmailDispatcher drains the queue.
+@Component
+@ConditionalOnProperty(prefix = "bridge.mail", name = "enabled", havingValue = "true")
+public class QueuedEmailNotificationSender implements EmailNotificationSender {
+    private final EmailQueueService emailQueueService;
+
+    public QueuedEmailNotificationSender(EmailQueueService emailQueueService) {
+        this.emailQueueService = emailQueueService;
+    }
+
+    @Override
+    public void send(String to, String subject, String body) {
+        emailQueueService.enqueue(null, to, subject, body);
+    }
+
+    @Override
+    public void send(UUID tenantId, String to, String subject, String body) {
+        emailQueueService.enqueue(tenantId, to, subject, body);
+    }
+}
@@ -0,0 +1,47 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.common.model.TenantScopedEntity;
+import com.bridge.backend.common.model.enums.NotificationAudience;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "shared_notifications")
+public class SharedNotificationEntity extends TenantScopedEntity {
+    @Column(name = "outbox_event_id")
+    private UUID outboxEventId;
+
+    @Column(name = "project_id")
+    private UUID projectId;
+
+    @Column(name = "actor_user_id", nullable = false)
+    private UUID actorUserId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NotificationAudience audience;
+
+    @Column(name = "event_type", nullable = false, length = 120)
+    private String eventType;
+
+    @Column(nullable = false, length = 300)
+    private String title;
+
+    @Column(nullable = false, length = 2000)
+    private String message;
+
+    @Column(name = "event_count", nullable = false)
+    private int eventCount = 1;
+
+    @Column(name = "source_event_ids", columnDefinition = "text")
+    private String sourceEventIds;
+}
@@ -0,0 +1,67 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.common.model.enums.MemberRole;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface SharedNotificationRepository extends JpaRepository<SharedNotificationEntity, UUID> {
+    // Audience is derived from current membership; members only see rows created after they joined.
+    String VISIBLE_TO_USER = """
+            sn.tenantId = :tenantId
+            AND sn.deletedAt IS NULL
+            AND sn.actorUserId <> :userId
+            AND (
+                (sn.projectId IS NOT NULL AND EXISTS (
+                    SELECT pm.id FROM ProjectMemberEntity pm
+                    WHERE pm.projectId = sn.projectId
+                      AND pm.tenantId = sn.tenantId
+                      AND pm.userId = :userId
+                      AND pm.deletedAt IS NULL
+                      AND pm.createdAt <= sn.createdAt
+                      AND (sn.audience = com.bridge.backend.common.model.enums.NotificationAudience.ALL
+                           OR (sn.audience = com.bridge.backend.common.model.enums.NotificationAudience.PM AND pm.role IN :pmRoles)
+                           OR (sn.audience = com.bridge.backend.common.model.enums.NotificationAudience.CLIENT AND pm.role IN :clientRoles))))
+                OR (sn.projectId IS NULL AND EXISTS (
+                    SELECT tm.id FROM TenantMemberEntity tm
+                    WHERE tm.tenantId = sn.tenantId
+                      AND tm.userId = :userId
+                      AND tm.deletedAt IS NULL
+                      AND tm.createdAt <= sn.createdAt
+                      AND (sn.audience = com.bridge.backend.common.model.enums.NotificationAudience.ALL
+                           OR (sn.audience = com.bridge.backend.common.model.enums.NotificationAudience.PM AND tm.role IN :pmRoles)
+                           OR (sn.audience = com.bridge.backend.common.model.enums.NotificationAudience.CLIENT AND tm.role IN :clientRoles))))
+            )
+            """;
+
+    @Query("SELECT sn FROM SharedNotificationEntity sn WHERE " + VISIBLE_TO_USER + " ORDER BY sn.createdAt DESC, sn.id DESC")
+    List<SharedNotificationEntity> findVisibleToUser(@Param("tenantId") UUID tenantId,
+                                                     @Param("userId") UUID userId,
+                                                     @Param("pmRoles") Collection<MemberRole> pmRoles,
+                                                     @Param("clientRoles") Collection<MemberRole> clientRoles,
+                                                     Pageable pageable);
+
+    @Query("SELECT sn FROM SharedNotificationEntity sn WHERE " + VISIBLE_TO_USER
+            + " AND (sn.createdAt < :beforeCreatedAt OR (sn.createdAt = :beforeCreatedAt AND sn.id < :beforeId))"
+            + " ORDER BY sn.createdAt DESC, sn.id DESC")
+    List<SharedNotificationEntity> findVisibleToUserBefore(@Param("tenantId") UUID tenantId,
+                                                           @Param("userId") UUID userId,
+                                                           @Param("pmRoles") Collection<MemberRole> pmRoles,
+                                                           @Param("clientRoles") Collection<MemberRole> clientRoles,
+                                                           @Param("beforeCreatedAt") OffsetDateTime beforeCreatedAt,
+                                                           @Param("beforeId") UUID beforeId,
+                                                           Pageable pageable);
+
+    @Query("SELECT sn FROM SharedNotificationEntity sn WHERE sn.id IN :ids AND " + VISIBLE_TO_USER)
+    List<SharedNotificationEntity> findVisibleToUserByIds(@Param("ids") Collection<UUID> ids,
+                                                          @Param("tenantId") UUID tenantId,
+                                                          @Param("userId") UUID userId,
+                                                          @Param("pmRoles") Collection<MemberRole> pmRoles,
+                                                          @Param("clientRoles") Collection<MemberRole> clientRoles);
+}
@@ -0,0 +1,41 @@
+package com.bridge.backend.domain.notification;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+
+class SseConnection extends StreamConnection {
+    private final SseEmitter emitter;
+
+    SseConnection(SseEmitter emitter, int capacity, OverflowPolicy overflowPolicy, Executor writerExecutor, Listener listener) {
+        super(capacity, overflowPolicy, writerExecutor, listener);
+        this.emitter = emitter;
+    }
+
+    @Override
+    void write(StreamEvent event) throws IOException {
+        if (event.heartbeat()) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+            return;
+        }
+        SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name()).data(event.data());
+        if (event.id() != null) {
+            builder.id(event.id());
+        }
+        emitter.send(builder);
+    }
+
+    @Override
+    void terminate(Exception cause) {
+        try {
+            if (cause == null) {
+                emitter.complete();
+            } else {
+                emitter.completeWithError(cause);
+            }
+        } catch (IllegalStateException ignored) {
+            // Already completed by the container.
+        }
+    }
+}
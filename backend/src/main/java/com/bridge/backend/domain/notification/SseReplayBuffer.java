@@ -0,0 +1,66 @@
+package com.bridge.backend.domain.notification;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Recent SSE events for one user, bounded by count and age, so a reconnect can replay what it missed.
+// Callers serialize access per user; only touch() may be called concurrently.
+class SseReplayBuffer {
+    private final int capacity;
+    private final long ttlMs;
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    // Highest event id that can no longer be replayed; a Last-Event-ID below it means the gap is not covered.
+    private long floor;
+    private volatile long touchedAtMs;
+
+    SseReplayBuffer(int capacity, long ttlMs, long floor, long nowMs) {
+        this.capacity = Math.max(1, capacity);
+        this.ttlMs = Math.max(1L, ttlMs);
+        this.floor = floor;
+        this.touchedAtMs = nowMs;
+    }
+
+    void append(long id, String appScope, String eventType, Object payload, long nowMs) {
+        entries.addLast(new Entry(id, appScope, eventType, payload, nowMs));
+        while (entries.size() > capacity) {
+            floor = entries.removeFirst().id();
+        }
+        touchedAtMs = nowMs;
+    }
+
+    // Events after lastEventId visible to the scope, or null when some of them were already evicted.
+    List<Entry> since(long lastEventId, String appScope, long nowMs) {
+        expire(nowMs);
+        if (lastEventId < floor) {
+            return null;
+        }
+        List<Entry> missed = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.id() > lastEventId && (entry.appScope() == null || entry.appScope().equals(appScope))) {
+                missed.add(entry);
+            }
+        }
+        return missed;
+    }
+
+    void touch(long nowMs) {
+        touchedAtMs = nowMs;
+    }
+
+    boolean isIdle(long nowMs) {
+        expire(nowMs);
+        return entries.isEmpty() && nowMs - touchedAtMs > ttlMs;
+    }
+
+    private void expire(long nowMs) {
+        while (!entries.isEmpty() && nowMs - entries.peekFirst().recordedAtMs() > ttlMs) {
+            floor = entries.removeFirst().id();
+        }
+    }
+
+    // appScope is null for events sent to every scope of the user.
+    record Entry(long id, String appScope, String eventType, Object payload, long recordedAtMs) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.bridge.backend.domain.notification;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// One client connection with a bounded outbound queue; at most one writer task drains it at a time,
+// so a slow client only ever blocks its own writer. Subclasses supply the wire format.
+abstract class StreamConnection {
+    enum OverflowPolicy {
+        DROP_OLDEST,
+        DISCONNECT
+    }
+
+    interface Listener {
+        void onDropped(StreamConnection connection);
+
+        void onClosed(StreamConnection connection, Exception cause);
+    }
+
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Executor writerExecutor;
+    private final Listener listener;
+    private final Deque<StreamEvent> queue = new ArrayDeque<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile StreamFilter filter = StreamFilter.ALL;
+
+    StreamConnection(int capacity, OverflowPolicy overflowPolicy, Executor writerExecutor, Listener listener) {
+        this.capacity = Math.max(1, capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.writerExecutor = writerExecutor;
+        this.listener = listener;
+    }
+
+    void setFilter(StreamFilter filter) {
+        this.filter = filter;
+    }
+
+    int queueDepth() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    void enqueue(StreamEvent event) {
+        if (closed.get() || !filter.accepts(event)) {
+            return;
+        }
+        boolean overflow = false;
+        synchronized (queue) {
+            if (queue.size() >= capacity) {
+                if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                    overflow = true;
+                } else {
+                    queue.pollFirst();
+                }
+                listener.onDropped(this);
+            }
+            if (!overflow) {
+                queue.addLast(event);
+            }
+        }
+        if (overflow) {
+            close(new IOException("SSE outbound queue full"));
+            return;
+        }
+        scheduleDrain();
+    }
+
+    void close(Exception cause) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (queue) {
+            queue.clear();
+        }
+        listener.onClosed(this, cause);
+        terminate(cause);
+    }
+
+    abstract void write(StreamEvent event) throws IOException;
+
+    // Releases the underlying transport; cause is null for a normal shutdown.
+    abstract void terminate(Exception cause);
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                writerExecutor.execute(this::drain);
+            } catch (RuntimeException ex) {
+                draining.set(false);
+                close(ex);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!closed.get()) {
+                StreamEvent next;
+                synchronized (queue) {
+                    next = queue.pollFirst();
+                }
+                if (next == null) {
+                    break;
+                }
+                write(next);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            close(ex);
+        } finally {
+            draining.set(false);
+        }
+        // An event enqueued between the last poll and releasing the flag would otherwise wait for the next send.
+        if (!closed.get() && queueDepth() > 0) {
+            scheduleDrain();
+        }
+    }
+}
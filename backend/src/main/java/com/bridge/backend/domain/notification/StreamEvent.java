@@ -0,0 +1,12 @@
+package com.bridge.backend.domain.notification;
+
+// Transport-neutral stream message; id is null for events that are not replayable.
+record StreamEvent(String id, String name, Object data, boolean heartbeat) {
+    static StreamEvent of(String id, String name, Object data) {
+        return new StreamEvent(id, name, data, false);
+    }
+
+    static StreamEvent heartbeatEvent() {
+        return new StreamEvent(null, null, null, true);
+    }
+}
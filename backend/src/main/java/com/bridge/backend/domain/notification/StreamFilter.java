@@ -0,0 +1,22 @@
+package com.bridge.backend.domain.notification;
+
+import java.util.Map;
+import java.util.Set;
+
+// Client-chosen narrowing of a stream. Only events whose payload names a project or source event type
+// are filtered; read receipts and system events always pass.
+record StreamFilter(Set<String> projectIds, Set<String> eventTypes) {
+    static final StreamFilter ALL = new StreamFilter(Set.of(), Set.of());
+
+    boolean accepts(StreamEvent event) {
+        if (event.heartbeat() || !(event.data() instanceof Map<?, ?> payload)) {
+            return true;
+        }
+        Object projectId = payload.get("projectId");
+        if (!projectIds.isEmpty() && projectId != null && !projectIds.contains(String.valueOf(projectId))) {
+            return false;
+        }
+        Object eventType = payload.get("sourceEventType");
+        return eventTypes.isEmpty() || eventType == null || eventTypes.contains(String.valueOf(eventType));
+    }
+}
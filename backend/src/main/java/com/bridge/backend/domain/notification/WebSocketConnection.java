@@ -0,0 +1,62 @@
+package com.bridge.backend.domain.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Session;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+// Frames are JSON text: {"type":"event","id":...,"event":...,"data":...}; heartbeats are ping frames.
+class WebSocketConnection extends StreamConnection {
+    private final Session session;
+    private final ObjectMapper objectMapper;
+
+    WebSocketConnection(Session session,
+                        ObjectMapper objectMapper,
+                        int capacity,
+                        OverflowPolicy overflowPolicy,
+                        Executor writerExecutor,
+                        Listener listener) {
+        super(capacity, overflowPolicy, writerExecutor, listener);
+        this.session = session;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    void write(StreamEvent event) throws IOException {
+        if (!session.isOpen()) {
+            throw new IOException("WebSocket session closed");
+        }
+        if (event.heartbeat()) {
+            session.getBasicRemote().sendPing(ByteBuffer.allocate(0));
+            return;
+        }
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "event");
+        if (event.id() != null) {
+            frame.put("id", event.id());
+        }
+        frame.put("event", event.name());
+        frame.put("data", event.data());
+        session.getBasicRemote().sendText(objectMapper.writeValueAsString(frame));
+    }
+
+    @Override
+    void terminate(Exception cause) {
+        if (!session.isOpen()) {
+            return;
+        }
+        CloseReason reason = cause == null
+                ? new CloseReason(CloseReason.CloseCodes.GOING_AWAY, "server shutdown")
+                : new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "stream closed");
+        try {
+            session.close(reason);
+        } catch (IOException ignored) {
+            // The peer is already gone.
+        }
+    }
+}
@@ -6,10 +6,12 @@ import com.bridge.backend.common.model.enums.ProjectStatus;
 import com.bridge.backend.common.model.enums.UserStatus;
 import com.bridge.backend.common.security.AuthPrincipal;
 import com.bridge.backend.common.tenant.AccessGuardService;
+import com.bridge.backend.common.tenant.MembershipChangedEvent;
 import com.bridge.backend.domain.admin.TenantMemberEntity;
 import com.bridge.backend.domain.admin.TenantMemberRepository;
 import com.bridge.backend.domain.auth.UserEntity;
 import com.bridge.backend.domain.auth.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -39,19 +41,22 @@ public class ProjectService {
     private final TenantMemberRepository tenantMemberRepository;
     private final PasswordEncoder passwordEncoder;
     private final AccessGuardService accessGuardService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProjectService(ProjectRepository projectRepository,
                           ProjectMemberRepository projectMemberRepository,
                           UserRepository userRepository,
                           TenantMemberRepository tenantMemberRepository,
                           PasswordEncoder passwordEncoder,
-                          AccessGuardService accessGuardService) {
+                          AccessGuardService accessGuardService,
+                          ApplicationEventPublisher eventPublisher) {
         this.projectRepository = projectRepository;
         this.projectMemberRepository = projectMemberRepository;
         this.userRepository = userRepository;
         this.tenantMemberRepository = tenantMemberRepository;
         this.passwordEncoder = passwordEncoder;
         this.accessGuardService = accessGuardService;
+        this.eventPublisher = eventPublisher;
     }
 
     public record ProjectMemberAccount(UUID id,
@@ -106,6 +111,7 @@ public class ProjectService {
         owner.setCreatedBy(principal.getUserId());
         owner.setUpdatedBy(principal.getUserId());
         projectMemberRepository.save(owner);
+        eventPublisher.publishEvent(new MembershipChangedEvent(principal.getTenantId(), saved.getId()));
         return saved;
     }
 
@@ -240,6 +246,7 @@ public class ProjectService {
                 resolvedRole,
                 principal.getUserId()
         );
+        eventPublisher.publishEvent(new MembershipChangedEvent(principal.getTenantId(), projectId));
         return toProjectMemberAccount(savedMember, savedUser, setupCode, setupCodeExpiresAt);
     }
 
@@ -286,6 +293,7 @@ public class ProjectService {
                 role,
                 principal.getUserId()
         );
+        eventPublisher.publishEvent(new MembershipChangedEvent(principal.getTenantId(), projectId));
         return updatedMember;
     }
 
@@ -360,6 +368,7 @@ public class ProjectService {
                 member.getUserId(),
                 principal.getUserId()
         );
+        eventPublisher.publishEvent(new MembershipChangedEvent(principal.getTenantId(), projectId));
         return Map.of("deleted", true);
     }
 
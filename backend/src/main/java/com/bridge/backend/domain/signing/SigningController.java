@@ -255,7 +255,7 @@ public class SigningController {
         }
         Path sourcePdfPath = null;
         Path signedPdfPath = null;
-        try (InputStream sourceStream = storageService.downloadObjectStream(baseVersion.getObjectKey())) {
+        try (InputStream sourceStream = storageService.downloadObjectStream(baseVersion.getObjectKey(), baseVersion.getSize())) {
             sourcePdfPath = Files.createTempFile("signing-source-", ".pdf");
             Files.copy(sourceStream, sourcePdfPath, StandardCopyOption.REPLACE_EXISTING);
             signedPdfPath = pdfSigningService.applyRecipientFields(
@@ -284,7 +284,7 @@ public class SigningController {
                     signedPdfSize,
                     checksum
             );
-            storageService.uploadToPresignedUrl(uploadTarget.uploadUrl(), uploadTarget.contentType(), signedPdfPath);
+            storageService.putObject(uploadTarget.objectKey(), uploadTarget.contentType(), signedPdfPath);
 
             boolean validTicket = storageService.verifyUploadTicket(
                     uploadTarget.uploadTicket(),
@@ -325,7 +325,7 @@ public class SigningController {
                 contractRepository.save(contract);
                 return savedVersion;
             } catch (RuntimeException ex) {
-                storageService.deleteByUploadUrl(uploadTarget.uploadUrl());
+                storageService.deleteObject(uploadTarget.objectKey());
                 throw ex;
             }
         } catch (IOException ex) {
@@ -0,0 +1,34 @@
+ALTER TABLE outbox_events
+    ADD COLUMN IF NOT EXISTS attempt_count INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE outbox_events
+    ADD COLUMN IF NOT EXISTS last_error VARCHAR(2000);
+
+ALTER TABLE outbox_events
+    ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMPTZ;
+
+CREATE TABLE IF NOT EXISTS outbox_dead_letters (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    tenant_id UUID NOT NULL REFERENCES tenants(id),
+    outbox_event_id UUID NOT NULL REFERENCES outbox_events(id),
+    aggregate_type VARCHAR(80) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(120) NOT NULL,
+    event_payload VARCHAR(6000) NOT NULL,
+    attempt_count INTEGER NOT NULL,
+    last_error VARCHAR(2000),
+    replayed_at TIMESTAMPTZ,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    created_by UUID,
+    updated_at TIMESTAMPTZ,
+    updated_by UUID,
+    deleted_at TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_dead_letters_pending_created
+    ON outbox_dead_letters (created_at DESC)
+    WHERE replayed_at IS NULL AND deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_outbox_dead_letters_tenant_pending_created
+    ON outbox_dead_letters (tenant_id, created_at DESC)
+    WHERE replayed_at IS NULL AND deleted_at IS NULL;
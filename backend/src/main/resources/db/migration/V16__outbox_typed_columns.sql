@@ -0,0 +1,27 @@
+ALTER TABLE outbox_events
+    ADD COLUMN IF NOT EXISTS project_id UUID;
+
+ALTER TABLE outbox_events
+    ADD COLUMN IF NOT EXISTS actor_user_id UUID;
+
+WITH extracted AS (
+    SELECT id,
+           event_payload::jsonb -> 'payload' ->> 'projectId' AS project_raw,
+           event_payload::jsonb ->> 'userId' AS actor_raw
+    FROM outbox_events
+)
+UPDATE outbox_events oe
+SET project_id = CASE
+        WHEN e.project_raw ~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$'
+            THEN e.project_raw::uuid
+    END,
+    actor_user_id = CASE
+        WHEN e.actor_raw ~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$'
+            THEN e.actor_raw::uuid
+    END
+FROM extracted e
+WHERE e.id = oe.id;
+
+CREATE INDEX IF NOT EXISTS idx_outbox_tenant_project_active_created
+    ON outbox_events (tenant_id, project_id, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL AND project_id IS NOT NULL;
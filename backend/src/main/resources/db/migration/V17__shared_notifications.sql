@@ -0,0 +1,54 @@
+CREATE TABLE IF NOT EXISTS shared_notifications (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    tenant_id UUID NOT NULL REFERENCES tenants(id),
+    outbox_event_id UUID,
+    project_id UUID,
+    actor_user_id UUID NOT NULL,
+    audience VARCHAR(20) NOT NULL,
+    event_type VARCHAR(120) NOT NULL,
+    title VARCHAR(300) NOT NULL,
+    message VARCHAR(2000) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    created_by UUID,
+    updated_at TIMESTAMPTZ,
+    updated_by UUID,
+    deleted_at TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS idx_shared_notifications_tenant_created
+    ON shared_notifications (tenant_id, created_at DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_shared_notifications_project_created
+    ON shared_notifications (project_id, created_at DESC)
+    WHERE deleted_at IS NULL AND project_id IS NOT NULL;
+
+CREATE TABLE IF NOT EXISTS notification_receipts (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    tenant_id UUID NOT NULL REFERENCES tenants(id),
+    notification_id UUID NOT NULL REFERENCES shared_notifications(id),
+    user_id UUID NOT NULL REFERENCES users(id),
+    read_at TIMESTAMPTZ NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    created_by UUID,
+    updated_at TIMESTAMPTZ,
+    updated_by UUID,
+    deleted_at TIMESTAMPTZ,
+    CONSTRAINT uk_notification_receipt UNIQUE (notification_id, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_receipts_user
+    ON notification_receipts (user_id, notification_id);
+
+CREATE TABLE IF NOT EXISTS notification_read_cursors (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    tenant_id UUID NOT NULL REFERENCES tenants(id),
+    user_id UUID NOT NULL REFERENCES users(id),
+    read_through TIMESTAMPTZ NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    created_by UUID,
+    updated_at TIMESTAMPTZ,
+    updated_by UUID,
+    deleted_at TIMESTAMPTZ,
+    CONSTRAINT uk_notification_read_cursor UNIQUE (tenant_id, user_id)
+);
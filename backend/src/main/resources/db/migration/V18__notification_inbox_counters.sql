@@ -0,0 +1,21 @@
+ALTER TABLE notification_read_cursors
+    ALTER COLUMN read_through DROP NOT NULL;
+
+ALTER TABLE notification_read_cursors
+    ADD COLUMN IF NOT EXISTS unread_count BIGINT NOT NULL DEFAULT 0;
+
+INSERT INTO notification_read_cursors (tenant_id, user_id, unread_count)
+SELECT n.tenant_id, n.user_id, COUNT(*)
+FROM notifications n
+WHERE n.read_at IS NULL AND n.deleted_at IS NULL
+GROUP BY n.tenant_id, n.user_id
+ON CONFLICT (tenant_id, user_id) DO UPDATE
+    SET unread_count = EXCLUDED.unread_count;
+
+CREATE INDEX IF NOT EXISTS idx_notifications_tenant_user_active_created
+    ON notifications (tenant_id, user_id, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_notifications_tenant_user_unread
+    ON notifications (tenant_id, user_id)
+    WHERE read_at IS NULL AND deleted_at IS NULL;
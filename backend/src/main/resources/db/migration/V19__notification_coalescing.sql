@@ -0,0 +1,18 @@
+ALTER TABLE notifications
+    ADD COLUMN IF NOT EXISTS project_id UUID;
+
+ALTER TABLE notifications
+    ADD COLUMN IF NOT EXISTS event_count INT NOT NULL DEFAULT 1;
+
+ALTER TABLE notifications
+    ADD COLUMN IF NOT EXISTS source_event_ids TEXT;
+
+ALTER TABLE shared_notifications
+    ADD COLUMN IF NOT EXISTS event_count INT NOT NULL DEFAULT 1;
+
+ALTER TABLE shared_notifications
+    ADD COLUMN IF NOT EXISTS source_event_ids TEXT;
+
+CREATE INDEX IF NOT EXISTS idx_notifications_coalesce_open
+    ON notifications (tenant_id, project_id, event_type, created_at DESC)
+    WHERE read_at IS NULL AND deleted_at IS NULL AND project_id IS NOT NULL;
@@ -0,0 +1,22 @@
+CREATE TABLE IF NOT EXISTS email_messages (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    tenant_id UUID REFERENCES tenants(id),
+    recipient VARCHAR(320) NOT NULL,
+    recipient_domain VARCHAR(255) NOT NULL,
+    subject VARCHAR(300) NOT NULL,
+    body VARCHAR(6000) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempt_count INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    last_error VARCHAR(2000),
+    sent_at TIMESTAMPTZ,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    created_by UUID,
+    updated_at TIMESTAMPTZ,
+    updated_by UUID,
+    deleted_at TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_messages_due
+    ON email_messages (next_attempt_at)
+    WHERE status IN ('PENDING', 'SENDING') AND deleted_at IS NULL;
@@ -0,0 +1,22 @@
+CREATE TABLE IF NOT EXISTS file_blobs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    tenant_id UUID NOT NULL REFERENCES tenants(id),
+    checksum VARCHAR(120) NOT NULL,
+    size BIGINT NOT NULL,
+    object_key VARCHAR(400) NOT NULL,
+    content_type VARCHAR(120) NOT NULL,
+    ref_count INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    created_by UUID,
+    updated_at TIMESTAMPTZ,
+    updated_by UUID,
+    deleted_at TIMESTAMPTZ
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_file_blobs_content
+    ON file_blobs (tenant_id, checksum, size)
+    WHERE deleted_at IS NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_file_blobs_object_key
+    ON file_blobs (object_key)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,16 @@
+-- Folder rename/move/delete rewrite whole subtrees with one prefix-matching UPDATE, so stored folder paths
+-- must already be in the normalized form the API writes ('/', '/a', '/a/b').
+UPDATE files
+SET folder = COALESCE(
+        NULLIF(regexp_replace(regexp_replace('/' || replace(btrim(folder), '\', '/'), '/+', '/', 'g'), '(.)/$', '\1'), ''),
+        '/')
+WHERE folder !~ '^(/|(/[^/]+)+)$';
+
+-- text_pattern_ops lets LIKE 'prefix/%' use the index regardless of the database collation.
+CREATE INDEX IF NOT EXISTS idx_file_folders_path_prefix
+    ON file_folders (project_id, tenant_id, path text_pattern_ops)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_files_folder_prefix
+    ON files (project_id, tenant_id, folder text_pattern_ops)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,113 @@
+package com.bridge.backend.common.tenant;
+
+import com.bridge.backend.common.model.enums.MemberRole;
+import com.bridge.backend.domain.admin.TenantMemberRepository;
+import com.bridge.backend.domain.project.ProjectMemberEntity;
+import com.bridge.backend.domain.project.ProjectMemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MembershipSnapshotCacheTest {
+
+    @Mock
+    private ProjectMemberRepository projectMemberRepository;
+    @Mock
+    private TenantMemberRepository tenantMemberRepository;
+
+    private MembershipSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new MembershipSnapshotCache(projectMemberRepository, tenantMemberRepository, 2, 300);
+    }
+
+    @Test
+    void repeatedLookupsReuseSnapshot() {
+        UUID tenantId = UUID.randomUUID();
+        UUID projectId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(projectMemberRepository.findByProjectIdAndDeletedAtIsNull(projectId))
+                .thenReturn(List.of(projectMember(tenantId, projectId, userId, MemberRole.CLIENT_OWNER)));
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(cache.projectMembers(projectId).roleOf(userId)).isEqualTo(MemberRole.CLIENT_OWNER);
+        }
+
+        verify(projectMemberRepository, times(1)).findByProjectIdAndDeletedAtIsNull(projectId);
+    }
+
+    @Test
+    void membershipChangeInvalidatesProjectAndTenant() {
+        UUID tenantId = UUID.randomUUID();
+        UUID projectId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(projectMemberRepository.findByProjectIdAndDeletedAtIsNull(projectId))
+                .thenReturn(List.of(projectMember(tenantId, projectId, userId, MemberRole.CLIENT_MEMBER)))
+                .thenReturn(List.of(projectMember(tenantId, projectId, userId, MemberRole.PM_MEMBER)));
+        when(tenantMemberRepository.findByTenantIdAndDeletedAtIsNull(tenantId)).thenReturn(List.of());
+
+        cache.projectMembers(projectId);
+        cache.tenantMembers(tenantId);
+        cache.onMembershipChanged(new MembershipChangedEvent(tenantId, projectId));
+
+        assertThat(cache.projectMembers(projectId).roleOf(userId)).isEqualTo(MemberRole.PM_MEMBER);
+        cache.tenantMembers(tenantId);
+        verify(tenantMemberRepository, times(2)).findByTenantIdAndDeletedAtIsNull(tenantId);
+    }
+
+    @Test
+    void loadRacingAnInvalidationIsNotCachedEvenAfterEviction() {
+        UUID tenantId = UUID.randomUUID();
+        UUID projectId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(projectMemberRepository.findByProjectIdAndDeletedAtIsNull(projectId))
+                .thenAnswer(invocation -> {
+                    // The membership changes mid-load and other lookups push the invalidation out of the LRU.
+                    cache.onMembershipChanged(new MembershipChangedEvent(tenantId, projectId));
+                    cache.tenantMembers(tenantId);
+                    cache.projectMembers(UUID.randomUUID());
+                    cache.projectMembers(UUID.randomUUID());
+                    return List.of(projectMember(tenantId, projectId, userId, MemberRole.CLIENT_MEMBER));
+                })
+                .thenReturn(List.of(projectMember(tenantId, projectId, userId, MemberRole.PM_MEMBER)));
+
+        assertThat(cache.projectMembers(projectId).roleOf(userId)).isEqualTo(MemberRole.CLIENT_MEMBER);
+
+        assertThat(cache.projectMembers(projectId).roleOf(userId)).isEqualTo(MemberRole.PM_MEMBER);
+        verify(projectMemberRepository, times(2)).findByProjectIdAndDeletedAtIsNull(projectId);
+    }
+
+    @Test
+    void viewKeepsOneSnapshotForWholeBatch() {
+        UUID tenantId = UUID.randomUUID();
+        UUID projectId = UUID.randomUUID();
+        when(projectMemberRepository.findByProjectIdAndDeletedAtIsNull(projectId)).thenReturn(List.of());
+
+        MembershipSnapshotCache.View view = cache.newView();
+        MembershipSnapshot first = view.projectMembers(projectId);
+        cache.onMembershipChanged(new MembershipChangedEvent(tenantId, projectId));
+
+        assertThat(view.projectMembers(projectId)).isSameAs(first);
+    }
+
+    private ProjectMemberEntity projectMember(UUID tenantId, UUID projectId, UUID userId, MemberRole role) {
+        ProjectMemberEntity member = new ProjectMemberEntity();
+        member.setTenantId(tenantId);
+        member.setProjectId(projectId);
+        member.setUserId(userId);
+        member.setRole(role);
+        return member;
+    }
+}
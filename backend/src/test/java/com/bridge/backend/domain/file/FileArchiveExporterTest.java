@@ -0,0 +1,122 @@
+package com.bridge.backend.domain.file;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FileArchiveExporterTest {
+
+    @TempDir
+    Path spool;
+
+    private final StorageService storageService = mock(StorageService.class);
+    private FileArchiveExporter exporter;
+
+    @AfterEach
+    void tearDown() {
+        if (exporter != null) {
+            exporter.shutdown();
+        }
+    }
+
+    @Test
+    void writesEntriesInOrderWhilePrefetchingAhead() throws Exception {
+        exporter = new FileArchiveExporter(storageService, 4, 2, spool);
+        List<FileArchiveExporter.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String key = "files/" + i;
+            when(storageService.downloadObjectStream(key, 5L)).thenReturn(stream("body" + i));
+            entries.add(new FileArchiveExporter.Entry("docs/file-" + i + (i % 2 == 0 ? ".pdf" : ".txt"), key, 5L,
+                    i % 2 == 0 ? "application/pdf" : "text/plain", OffsetDateTime.now()));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.write(entries, out);
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                int index = names.size();
+                names.add(entry.getName());
+                assertThat(entry.getMethod()).isEqualTo(index % 2 == 0 ? ZipEntry.STORED : ZipEntry.DEFLATED);
+                assertThat(new String(zip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("body" + index);
+            }
+        }
+        assertThat(names).containsExactly("docs/file-0.pdf", "docs/file-1.txt", "docs/file-2.pdf",
+                "docs/file-3.txt", "docs/file-4.pdf", "docs/file-5.txt");
+        assertThat(spoolFiles()).isEmpty();
+    }
+
+    @Test
+    void clientDisconnectStopsTheExportAndCleansUpSpools() throws Exception {
+        exporter = new FileArchiveExporter(storageService, 2, 3, spool);
+        List<FileArchiveExporter.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            when(storageService.downloadObjectStream("files/" + i, 4L)).thenReturn(stream("data"));
+            entries.add(new FileArchiveExporter.Entry("file-" + i, "files/" + i, 4L, "text/plain", null));
+        }
+        AtomicInteger writes = new AtomicInteger();
+        OutputStream brokenPipe = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (writes.incrementAndGet() > 1) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+
+        assertThatThrownBy(() -> exporter.write(entries, brokenPipe)).isInstanceOf(IOException.class);
+
+        // Prefetches that were still running delete their spool files once they finish.
+        long deadline = System.currentTimeMillis() + 5_000L;
+        while (!spoolFiles().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(spoolFiles()).isEmpty();
+    }
+
+    @Test
+    void onlyKnownCompressedFormatsAreStored() {
+        assertThat(FileArchiveExporter.alreadyCompressed("application/pdf")).isTrue();
+        assertThat(FileArchiveExporter.alreadyCompressed("image/png")).isTrue();
+        assertThat(FileArchiveExporter.alreadyCompressed("image/svg+xml")).isFalse();
+        assertThat(FileArchiveExporter.alreadyCompressed("text/csv; charset=utf-8")).isFalse();
+        assertThat(FileArchiveExporter.alreadyCompressed(null)).isFalse();
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Path> spoolFiles() throws IOException {
+        try (Stream<Path> files = Files.list(spool)) {
+            return files.toList();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.bridge.backend.domain.file;
+
+import com.bridge.backend.common.api.AppException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FileBlobServiceTest {
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final String CHECKSUM = "sha256:" + HASH;
+
+    @Mock
+    private FileBlobRepository fileBlobRepository;
+    @Mock
+    private StorageService storageService;
+
+    @TempDir
+    Path spoolDirectory;
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+    private FileBlobService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FileBlobService(fileBlobRepository, storageService, true, 1024L);
+    }
+
+    @Test
+    void ignoresChecksumsThatAreNotContentHashes() {
+        assertThat(service.findReusable(tenantId, "report.pdf-4-1700000000", 4)).isEmpty();
+        assertThat(service.findReusable(tenantId, CHECKSUM, 4096)).isEmpty();
+        assertThat(service.link(tenantId, userId, "files/a/v1/x", "text/plain", "report.pdf-4-1700000000", 4)).isEqualTo("files/a/v1/x");
+
+        verifyNoInteractions(fileBlobRepository, storageService);
+    }
+
+    @Test
+    void indexesAServerSideCopyOfVerifiedUploadsAndRejectsWrongHashes() {
+        when(fileBlobRepository.findByTenantIdAndObjectKeyAndDeletedAtIsNull(eq(tenantId), any())).thenReturn(Optional.empty());
+        when(storageService.spool("files/a/v1/x")).thenReturn(spooled(HASH));
+        when(fileBlobRepository.findByTenantIdAndChecksumAndSizeAndDeletedAtIsNull(tenantId, CHECKSUM, 4)).thenReturn(Optional.empty());
+
+        String linked = service.link(tenantId, userId, "files/a/v1/x", "text/plain", CHECKSUM, 4);
+        assertThat(linked).startsWith("blobs/" + tenantId + "/" + HASH + "/");
+        ArgumentCaptor<FileBlobEntity> saved = ArgumentCaptor.forClass(FileBlobEntity.class);
+        verify(fileBlobRepository).save(saved.capture());
+        assertThat(saved.getValue().getRefCount()).isEqualTo(1);
+        assertThat(saved.getValue().getObjectKey()).isEqualTo(linked);
+        verify(storageService).putObject(eq(linked), eq("text/plain"), any(Path.class));
+        // The uploader could still overwrite this key through its presigned URL, so nothing may point at it.
+        verify(storageService).deleteObject("files/a/v1/x");
+
+        when(storageService.spool("files/b/v1/y")).thenReturn(spooled("0".repeat(64)));
+        assertThatThrownBy(() -> service.link(tenantId, userId, "files/b/v1/y", "text/plain", CHECKSUM, 4))
+                .isInstanceOfSatisfying(AppException.class, ex -> assertThat(ex.getCode()).isEqualTo("FILE_CHECKSUM_MISMATCH"));
+        verify(storageService).deleteObject("files/b/v1/y");
+    }
+
+    @Test
+    void concurrentDuplicateUploadKeepsTheStoredCopy() {
+        FileBlobEntity existing = blob("blobs/t/" + HASH + "/1", 1);
+        when(fileBlobRepository.findByTenantIdAndObjectKeyAndDeletedAtIsNull(tenantId, "files/b/v1/y")).thenReturn(Optional.empty());
+        when(storageService.spool("files/b/v1/y")).thenReturn(spooled(HASH));
+        when(fileBlobRepository.findByTenantIdAndChecksumAndSizeAndDeletedAtIsNull(tenantId, CHECKSUM, 4)).thenReturn(Optional.of(existing));
+        when(fileBlobRepository.incrementRefCount(eq(existing.getId()), any())).thenReturn(1);
+
+        assertThat(service.link(tenantId, userId, "files/b/v1/y", "text/plain", CHECKSUM, 4)).isEqualTo(existing.getObjectKey());
+        verify(storageService).deleteObject("files/b/v1/y");
+        verify(storageService, never()).putObject(any(), any(), any(Path.class));
+        verify(fileBlobRepository, never()).save(any());
+    }
+
+    @Test
+    void losingTheIndexRaceLinksToTheWinnersCopy() {
+        FileBlobEntity winner = blob("blobs/t/" + HASH + "/1", 1);
+        when(fileBlobRepository.findByTenantIdAndObjectKeyAndDeletedAtIsNull(tenantId, "files/b/v1/y")).thenReturn(Optional.empty());
+        when(storageService.spool("files/b/v1/y")).thenReturn(spooled(HASH));
+        when(fileBlobRepository.findByTenantIdAndChecksumAndSizeAndDeletedAtIsNull(tenantId, CHECKSUM, 4))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(winner));
+        when(fileBlobRepository.save(any())).thenThrow(new DataIntegrityViolationException("uq_file_blobs_content"));
+        when(fileBlobRepository.incrementRefCount(eq(winner.getId()), any())).thenReturn(1);
+
+        assertThat(service.link(tenantId, userId, "files/b/v1/y", "text/plain", CHECKSUM, 4)).isEqualTo(winner.getObjectKey());
+        ArgumentCaptor<String> copy = ArgumentCaptor.forClass(String.class);
+        verify(storageService).putObject(copy.capture(), eq("text/plain"), any(Path.class));
+        verify(storageService).deleteObject(copy.getValue());
+        verify(storageService).deleteObject("files/b/v1/y");
+        verify(storageService, never()).deleteObject(winner.getObjectKey());
+    }
+
+    @Test
+    void releaseDeletesBytesOnlyWithTheLastReference() {
+        FileBlobEntity shared = blob("files/a/v1/x", 2);
+        when(fileBlobRepository.findByTenantIdAndObjectKeyInAndDeletedAtIsNull(tenantId, Set.of("files/a/v1/x"))).thenReturn(List.of(shared));
+        when(fileBlobRepository.retireIfUnreferenced(eq(shared.getId()), any())).thenReturn(0, 1);
+
+        service.release(tenantId, "files/a/v1/x");
+        verify(storageService, never()).deleteObject(any());
+
+        service.release(tenantId, "files/a/v1/x");
+        verify(storageService).deleteObject("files/a/v1/x");
+    }
+
+    @Test
+    void deletingVersionsDropsOneReferencePerVersion() {
+        FileBlobEntity shared = blob("blobs/t/" + HASH + "/1", 3);
+        when(fileBlobRepository.findByTenantIdAndObjectKeyInAndDeletedAtIsNull(tenantId, Set.of(shared.getObjectKey(), "files/c/v1/z")))
+                .thenReturn(List.of(shared));
+        when(fileBlobRepository.retireIfUnreferenced(eq(shared.getId()), any())).thenReturn(0);
+
+        service.release(tenantId, List.of(shared.getObjectKey(), "files/c/v1/z", shared.getObjectKey()));
+
+        verify(fileBlobRepository).decrementRefCount(eq(shared.getId()), eq(2), any());
+        verify(storageService, never()).deleteObject(any());
+    }
+
+    private StorageService.SpooledObject spooled(String sha256) {
+        return new StorageService.SpooledObject(spoolDirectory.resolve(UUID.randomUUID().toString()), 4, sha256);
+    }
+
+    private FileBlobEntity blob(String objectKey, int refCount) {
+        FileBlobEntity blob = new FileBlobEntity();
+        blob.setId(UUID.randomUUID());
+        blob.setTenantId(tenantId);
+        blob.setChecksum(CHECKSUM);
+        blob.setSize(4);
+        blob.setObjectKey(objectKey);
+        blob.setContentType("text/plain");
+        blob.setRefCount(refCount);
+        return blob;
+    }
+}
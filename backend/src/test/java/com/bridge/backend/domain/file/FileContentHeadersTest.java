@@ -0,0 +1,67 @@
+package com.bridge.backend.domain.file;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileContentHeadersTest {
+
+    private static final String ETAG = FileContentHeaders.etag(UUID.randomUUID(), "sha256:abc123");
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+    @Test
+    void ifNoneMatchWithCurrentEtagIsNotModified() {
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + ETAG);
+
+        assertThat(FileContentHeaders.notModified(request, ETAG)).isTrue();
+        assertThat(FileContentHeaders.notModified(new HttpHeaders(), ETAG)).isFalse();
+    }
+
+    @Test
+    void legacyChecksumStillYieldsAValidEntityTag() {
+        UUID versionId = UUID.randomUUID();
+        String etag = FileContentHeaders.etag(versionId, "계약서 최종.pdf-2048-1700000000000");
+
+        assertThat(etag).matches("\"[0-9a-f]{32}\"");
+        assertThat(etag).isEqualTo(FileContentHeaders.etag(versionId, "계약서 최종.pdf-2048-1700000000000"));
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.IF_NONE_MATCH, etag);
+        assertThat(FileContentHeaders.notModified(request, etag)).isTrue();
+    }
+
+    @Test
+    void singleRangeIsResolvedAgainstSize() {
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=100-");
+
+        FileContentHeaders.ByteRange range = FileContentHeaders.resolveRange(request, ETAG, LAST_MODIFIED, 1000);
+
+        assertThat(range).isEqualTo(new FileContentHeaders.ByteRange(100, 999));
+        assertThat(range.length()).isEqualTo(900);
+    }
+
+    @Test
+    void rangeBeyondEndIsUnsatisfiable() {
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=1000-1100");
+
+        assertThat(FileContentHeaders.resolveRange(request, ETAG, LAST_MODIFIED, 1000).satisfiable()).isFalse();
+    }
+
+    @Test
+    void staleIfRangeFallsBackToFullContent() {
+        HttpHeaders request = new HttpHeaders();
+        request.set(HttpHeaders.RANGE, "bytes=0-9");
+        request.set(HttpHeaders.IF_RANGE, "\"previous-version\"");
+
+        assertThat(FileContentHeaders.resolveRange(request, ETAG, LAST_MODIFIED, 1000)).isNull();
+
+        request.set(HttpHeaders.IF_RANGE, ETAG);
+        assertThat(FileContentHeaders.resolveRange(request, ETAG, LAST_MODIFIED, 1000))
+                .isEqualTo(new FileContentHeaders.ByteRange(0, 9));
+    }
+}
@@ -0,0 +1,104 @@
+package com.bridge.backend.domain.file;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+class FileFolderRepositoryTest {
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    @Autowired
+    private FileFolderRepository fileFolderRepository;
+    @Autowired
+    private FileRepository fileRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void relocatesOnlyTheSubtreeMatchedByPrefix() {
+        folders("/a_b", "/a_b/c", "/a_b/c/d", "/aXb", "/a_bc");
+        FileEntity inside = file("/a_b/c");
+        FileEntity sibling = file("/a_bc");
+
+        assertThat(fileFolderRepository.existsInSubtree(projectId, tenantId, "/z", "/z/%")).isFalse();
+        int movedFolders = fileFolderRepository.relocateSubtree(projectId, tenantId, "/a_b", "/a\\_b/%", "/z", userId, OffsetDateTime.now());
+        int movedFiles = fileRepository.relocateFolderSubtree(projectId, tenantId, "/a_b", "/a\\_b/%", "/z", userId, OffsetDateTime.now());
+        entityManager.clear();
+
+        assertThat(movedFolders).isEqualTo(3);
+        assertThat(movedFiles).isEqualTo(1);
+        assertThat(fileFolderRepository.findByProjectIdAndTenantIdAndDeletedAtIsNullOrderByPathAsc(projectId, tenantId))
+                .extracting(FileFolderEntity::getPath)
+                .containsExactly("/aXb", "/a_bc", "/z", "/z/c", "/z/c/d");
+        assertThat(fileRepository.findById(inside.getId()).orElseThrow().getFolder()).isEqualTo("/z/c");
+        assertThat(fileRepository.findById(sibling.getId()).orElseThrow().getFolder()).isEqualTo("/a_bc");
+        assertThat(fileFolderRepository.existsInSubtree(projectId, tenantId, "/z", "/z/%")).isTrue();
+    }
+
+    @Test
+    void relocationCutsPathsWithSupplementaryCharactersAtTheRightCharacter() {
+        String source = "/\uD83D\uDCC1 계약";
+        folders(source, source + "/2024");
+        FileEntity inside = file(source + "/2024");
+
+        fileFolderRepository.relocateSubtree(projectId, tenantId, source, source + "/%", "/archive", userId, OffsetDateTime.now());
+        fileRepository.relocateFolderSubtree(projectId, tenantId, source, source + "/%", "/archive", userId, OffsetDateTime.now());
+        entityManager.clear();
+
+        assertThat(fileFolderRepository.findByProjectIdAndTenantIdAndDeletedAtIsNullOrderByPathAsc(projectId, tenantId))
+                .extracting(FileFolderEntity::getPath)
+                .containsExactly("/archive", "/archive/2024");
+        assertThat(fileRepository.findById(inside.getId()).orElseThrow().getFolder()).isEqualTo("/archive/2024");
+    }
+
+    @Test
+    void softDeletesTheFolderAndEverythingBelowIt() {
+        folders("/docs", "/docs/2024", "/docs-old");
+        file("/docs/2024");
+        file("/docs");
+        FileEntity kept = file("/docs-old");
+
+        OffsetDateTime now = OffsetDateTime.now();
+        assertThat(fileFolderRepository.softDeleteSubtree(projectId, tenantId, "/docs", "/docs/%", userId, now)).isEqualTo(2);
+        assertThat(fileRepository.softDeleteInFolderSubtree(projectId, tenantId, "/docs", "/docs/%", userId, now)).isEqualTo(2);
+        entityManager.clear();
+
+        assertThat(fileRepository.findByProjectIdAndTenantIdAndDeletedAtIsNull(projectId, tenantId))
+                .extracting(FileEntity::getId)
+                .containsExactly(kept.getId());
+    }
+
+    private void folders(String... paths) {
+        for (String path : paths) {
+            FileFolderEntity folder = new FileFolderEntity();
+            folder.setTenantId(tenantId);
+            folder.setProjectId(projectId);
+            folder.setPath(path);
+            entityManager.persist(folder);
+        }
+        entityManager.flush();
+    }
+
+    private FileEntity file(String folder) {
+        FileEntity file = new FileEntity();
+        file.setTenantId(tenantId);
+        file.setProjectId(projectId);
+        file.setName("file in " + folder);
+        file.setFolder(folder);
+        entityManager.persist(file);
+        entityManager.flush();
+        return file;
+    }
+}
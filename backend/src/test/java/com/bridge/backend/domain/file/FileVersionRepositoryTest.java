@@ -0,0 +1,150 @@
+package com.bridge.backend.domain.file;
+
+import com.bridge.backend.common.model.enums.VisibilityScope;
+import com.bridge.backend.domain.contract.ContractEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+class FileVersionRepositoryTest {
+
+    private static final Set<VisibilityScope> ALL_SCOPES = EnumSet.allOf(VisibilityScope.class);
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final UUID projectId = UUID.randomUUID();
+
+    @Autowired
+    private FileVersionRepository fileVersionRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void pagesThroughEveryVersionWithoutGapsOrRepeats() {
+        FileEntity spec = file("spec.pdf", "/docs", VisibilityScope.SHARED);
+        versions(spec, 3, "application/pdf");
+        FileEntity notes = file("notes.txt", "/", VisibilityScope.SHARED);
+        versions(notes, 2, "text/plain");
+
+        List<FileVersionSummary> all = fileVersionRepository.findSummariesByProject(projectId, tenantId, ALL_SCOPES,
+                "/", "/%", false, null, PageRequest.of(0, 10));
+        assertThat(all).hasSize(5);
+
+        List<FileVersionSummary> paged = new ArrayList<>(fileVersionRepository.findSummariesByProject(projectId, tenantId, ALL_SCOPES,
+                "/", "/%", false, null, PageRequest.of(0, 2)));
+        while (true) {
+            FileVersionSummary last = paged.get(paged.size() - 1);
+            List<FileVersionSummary> next = fileVersionRepository.findSummariesByProjectBefore(projectId, tenantId, ALL_SCOPES,
+                    "/", "/%", false, null, last.createdAt(), last.id(), PageRequest.of(0, 2));
+            if (next.isEmpty()) {
+                break;
+            }
+            paged.addAll(next);
+        }
+        assertThat(paged).extracting(FileVersionSummary::id)
+                .containsExactlyElementsOf(all.stream().map(FileVersionSummary::id).toList());
+    }
+
+    @Test
+    void filtersByLatestContentTypeFolderAndVisibility() {
+        FileEntity spec = file("spec.pdf", "/docs/2024", VisibilityScope.SHARED);
+        versions(spec, 2, "application/pdf");
+        versions(file("draft.pdf", "/docs", VisibilityScope.INTERNAL), 1, "application/pdf");
+        versions(file("logo.png", "/docs_old", VisibilityScope.SHARED), 1, "image/png");
+
+        List<FileVersionSummary> rows = fileVersionRepository.findSummariesByProject(projectId, tenantId,
+                EnumSet.of(VisibilityScope.SHARED), "/docs", "/docs/%", true, "application/pdf", PageRequest.of(0, 10));
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.fileId()).isEqualTo(spec.getId());
+            assertThat(row.fileName()).isEqualTo("spec.pdf");
+            assertThat(row.version()).isEqualTo(2);
+            assertThat(row.latest()).isTrue();
+        });
+        assertThat(fileVersionRepository.findSummariesByProject(projectId, tenantId, ALL_SCOPES,
+                "/docs", "/docs/%", false, null, PageRequest.of(0, 10))).hasSize(3);
+    }
+
+    @Test
+    void softDeletesTheVersionsOfFilesInAFolderSubtree() {
+        versions(file("a.pdf", "/docs", VisibilityScope.SHARED), 2, "application/pdf");
+        versions(file("b.pdf", "/docs/2024", VisibilityScope.INTERNAL), 1, "application/pdf");
+        FileEntity kept = file("c.pdf", "/docs-old", VisibilityScope.SHARED);
+        versions(kept, 1, "application/pdf");
+
+        assertThat(fileVersionRepository.findUnreferencedObjectKeysInFolderSubtree(projectId, tenantId, "/docs", "/docs/%")).hasSize(3);
+        assertThat(fileVersionRepository.softDeleteUnreferencedInFolderSubtree(projectId, tenantId, "/docs", "/docs/%", UUID.randomUUID(), OffsetDateTime.now()))
+                .isEqualTo(3);
+        entityManager.clear();
+
+        assertThat(fileVersionRepository.findSummariesByProject(projectId, tenantId, ALL_SCOPES, "/", "/%", false, null, PageRequest.of(0, 10)))
+                .extracting(FileVersionSummary::fileId)
+                .containsExactly(kept.getId());
+    }
+
+    @Test
+    void deletingAFileKeepsTheVersionAContractIsBoundTo() {
+        FileEntity deliverable = file("contract.pdf", "/", VisibilityScope.SHARED);
+        versions(deliverable, 2, "application/pdf");
+        FileVersionEntity signedOff = fileVersionRepository.findByFileIdAndTenantIdAndLatestTrueAndDeletedAtIsNull(deliverable.getId(), tenantId)
+                .orElseThrow();
+        ContractEntity contract = new ContractEntity();
+        contract.setTenantId(tenantId);
+        contract.setProjectId(projectId);
+        contract.setName("Master agreement");
+        contract.setFileVersionId(signedOff.getId());
+        entityManager.persist(contract);
+        entityManager.flush();
+
+        assertThat(fileVersionRepository.findUnreferencedObjectKeysByFile(deliverable.getId(), tenantId))
+                .containsExactly("objects/" + deliverable.getId() + "/1");
+        assertThat(fileVersionRepository.softDeleteUnreferencedByFile(deliverable.getId(), tenantId, UUID.randomUUID(), OffsetDateTime.now()))
+                .isEqualTo(1);
+        entityManager.clear();
+
+        // The contract still resolves to an active version, so its download URL and signing keep working.
+        FileVersionEntity resolved = fileVersionRepository.findById(contract.getFileVersionId()).orElseThrow();
+        assertThat(resolved.getDeletedAt()).isNull();
+        assertThat(resolved.getObjectKey()).isEqualTo(signedOff.getObjectKey());
+    }
+
+    private FileEntity file(String name, String folder, VisibilityScope scope) {
+        FileEntity file = new FileEntity();
+        file.setTenantId(tenantId);
+        file.setProjectId(projectId);
+        file.setName(name);
+        file.setFolder(folder);
+        file.setVisibilityScope(scope);
+        entityManager.persist(file);
+        return file;
+    }
+
+    private void versions(FileEntity file, int count, String contentType) {
+        for (int version = 1; version <= count; version++) {
+            FileVersionEntity entity = new FileVersionEntity();
+            entity.setTenantId(tenantId);
+            entity.setFileId(file.getId());
+            entity.setVersion(version);
+            entity.setObjectKey("objects/" + file.getId() + "/" + version);
+            entity.setContentType(contentType);
+            entity.setSize(10L * version);
+            entity.setChecksum("checksum-" + version);
+            entity.setLatest(version == count);
+            entityManager.persist(entity);
+        }
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,113 @@
+package com.bridge.backend.domain.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalStorageBackendTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void storesObjectsInShardedDirectoriesAndStreamsSlices() throws Exception {
+        LocalStorageBackend backend = backend();
+        backend.put("files/a/v1/one", "application/pdf", "0123456789".getBytes(StandardCharsets.UTF_8));
+
+        Path stored = backend.objectPath("files/a/v1/one");
+        assertThat(root.resolve("objects").relativize(stored).getNameCount()).isEqualTo(3);
+        assertThat(backend.contentType("files/a/v1/one")).isEqualTo("application/pdf");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        backend.transferTo("files/a/v1/one", 3, 4, out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("3456");
+
+        StorageService.ObjectStream range = backend.open("files/a/v1/one", 8, 9);
+        try (var input = range.body()) {
+            assertThat(range.partial()).isTrue();
+            assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("89");
+        }
+    }
+
+    @Test
+    void rejectsBodiesThatDoNotMatchTheDeclaredSize() throws Exception {
+        LocalStorageBackend backend = backend();
+
+        assertThatThrownBy(() -> backend.receive("files/a/v1/short", "text/plain", new ByteArrayInputStream(new byte[3]), 4))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> backend.receive("files/a/v1/long", "text/plain", new ByteArrayInputStream(new byte[5]), 4))
+                .isInstanceOf(IOException.class);
+
+        assertThat(backend.exists("files/a/v1/short")).isFalse();
+        assertThat(backend.exists("files/a/v1/long")).isFalse();
+        try (Stream<Path> leftovers = Files.list(root.resolve("tmp"))) {
+            assertThat(leftovers).isEmpty();
+        }
+    }
+
+    @Test
+    void assemblesMultipartUploadsInPartOrder() throws Exception {
+        LocalStorageBackend backend = backend();
+        String uploadId = backend.initiateMultipart("files/b/v2/big", "application/zip");
+
+        backend.receivePart("files/b/v2/big", uploadId, 2, new ByteArrayInputStream("world".getBytes(StandardCharsets.UTF_8)), 5);
+        backend.receivePart("files/b/v2/big", uploadId, 1, new ByteArrayInputStream("hello ".getBytes(StandardCharsets.UTF_8)), 6);
+        var parts = backend.listParts("files/b/v2/big", uploadId);
+        assertThat(parts).extracting(StorageService.UploadedPart::partNumber).containsExactly(1, 2);
+
+        backend.completeMultipart("files/b/v2/big", uploadId, parts);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        backend.transferTo("files/b/v2/big", 0, backend.size("files/b/v2/big"), out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("hello world");
+        assertThat(backend.contentType("files/b/v2/big")).isEqualTo("application/zip");
+        assertThat(Files.exists(root.resolve("uploads").resolve(uploadId))).isFalse();
+        assertThatThrownBy(() -> backend.listParts("files/other", uploadId)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void presignedUrlsVerifyOnlyTheSignedClaims() {
+        LocalStorageBackend backend = backend();
+        Map<String, String> query = query(backend.presignUpload("files/c/v1/doc", "application/pdf", 42, 900));
+        long expires = Long.parseLong(query.get("expires"));
+
+        assertThat(backend.verify(new LocalStorageBackend.SignedRequest(
+                "PUT", "files/c/v1/doc", expires, "application/pdf", 42L, null, null), query.get("signature"))).isTrue();
+        assertThat(backend.verify(new LocalStorageBackend.SignedRequest(
+                "PUT", "files/c/v1/doc", expires, "application/pdf", 43L, null, null), query.get("signature"))).isFalse();
+        assertThat(backend.verify(new LocalStorageBackend.SignedRequest(
+                "GET", "files/c/v1/doc", expires, "application/pdf", 42L, null, null), query.get("signature"))).isFalse();
+        long past = Instant.now().minusSeconds(1).getEpochSecond();
+        assertThat(backend.verify(new LocalStorageBackend.SignedRequest(
+                "PUT", "files/c/v1/doc", past, "application/pdf", 42L, null, null), query.get("signature"))).isFalse();
+    }
+
+    private LocalStorageBackend backend() {
+        return new LocalStorageBackend(root.toString(), "http://localhost:8080/", "test-presign-secret");
+    }
+
+    private Map<String, String> query(String url) {
+        assertThat(url).startsWith("http://localhost:8080" + LocalStorageBackend.OBJECTS_PATH + "?");
+        Map<String, String> query = new HashMap<>();
+        for (String pair : URI.create(url).getRawQuery().split("&")) {
+            String[] parts = pair.split("=", 2);
+            query.put(parts[0], URLDecoder.decode(parts[1], StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+}
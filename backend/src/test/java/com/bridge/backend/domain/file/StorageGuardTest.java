@@ -0,0 +1,59 @@
+package com.bridge.backend.domain.file;
+
+import com.bridge.backend.common.api.AppException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StorageGuardTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(1_000L);
+
+    @Test
+    void opensAfterConsecutiveFailuresAndClosesOnceAProbeSucceeds() {
+        StorageGuard guard = new StorageGuard(registry, 2, 500L, 4, 4, 4, now::get);
+
+        // Storage answered, so a missing object does not count against its health.
+        guard.acquire(StorageGuard.Operation.READ).complete(new S3StorageBackend.StorageResponseException("download", 404));
+        guard.acquire(StorageGuard.Operation.READ).complete(new IllegalStateException("timeout"));
+        assertThat(guard.isOpen()).isFalse();
+        guard.acquire(StorageGuard.Operation.WRITE).complete(new S3StorageBackend.StorageResponseException("upload", 503));
+        assertThat(guard.isOpen()).isTrue();
+
+        assertThatThrownBy(() -> guard.acquire(StorageGuard.Operation.CONTROL)).isInstanceOfSatisfying(
+                AppException.class, ex -> assertThat(ex.getCode()).isEqualTo("STORAGE_UNAVAILABLE"));
+        assertThat(registry.get("bridge.storage.rejected").tag("reason", "circuit_open").counter().count()).isEqualTo(1.0);
+
+        now.addAndGet(500L);
+        StorageGuard.Permit probe = guard.acquire(StorageGuard.Operation.READ);
+        // Only the probe goes through while storage is being tested.
+        assertThatThrownBy(() -> guard.acquire(StorageGuard.Operation.READ)).isInstanceOf(AppException.class);
+        probe.complete(null);
+
+        guard.acquire(StorageGuard.Operation.READ).complete(null);
+        assertThat(registry.get("bridge.storage.circuit.open").gauge().value()).isZero();
+    }
+
+    @Test
+    void bulkheadLimitsEachOperationSeparately() {
+        StorageGuard guard = new StorageGuard(registry, 5, 500L, 1, 1, 1, now::get);
+        CompletableFuture<String> slowRead = new CompletableFuture<>();
+
+        CompletableFuture<String> read = guard.call(StorageGuard.Operation.READ, () -> slowRead);
+
+        assertThatThrownBy(() -> guard.call(StorageGuard.Operation.READ, () -> CompletableFuture.completedFuture("x")))
+                .isInstanceOfSatisfying(AppException.class, ex -> assertThat(ex.getCode()).isEqualTo("STORAGE_BUSY"));
+        assertThat(guard.call(StorageGuard.Operation.WRITE, () -> CompletableFuture.completedFuture("w")).join()).isEqualTo("w");
+
+        slowRead.complete("r");
+        assertThat(read.join()).isEqualTo("r");
+        assertThat(guard.call(StorageGuard.Operation.READ, () -> CompletableFuture.completedFuture("again")).join()).isEqualTo("again");
+        assertThat(registry.get("bridge.storage.bulkhead.available").tag("operation", "read").gauge().value()).isEqualTo(1.0);
+    }
+}
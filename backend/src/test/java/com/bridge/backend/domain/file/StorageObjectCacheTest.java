@@ -0,0 +1,119 @@
+package com.bridge.backend.domain.file;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StorageObjectCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void servesRepeatReadsFromDiskAndEvictsLeastRecentlyUsed() throws Exception {
+        StorageObjectCache cache = new StorageObjectCache(registry, true, directory, 10, 10);
+        AtomicInteger fetches = new AtomicInteger();
+
+        assertThat(read(cache, "a", loader("aaaa", fetches))).isEqualTo("aaaa");
+        assertThat(read(cache, "b", loader("bbbb", fetches))).isEqualTo("bbbb");
+        assertThat(read(cache, "a", loader("xxxx", fetches))).isEqualTo("aaaa");
+        // "b" is now the least recently used and has to make room.
+        assertThat(read(cache, "c", loader("cccc", fetches))).isEqualTo("cccc");
+        assertThat(read(cache, "a", loader("xxxx", fetches))).isEqualTo("aaaa");
+        assertThat(read(cache, "b", loader("BBBB", fetches))).isEqualTo("BBBB");
+
+        assertThat(fetches.get()).isEqualTo(4);
+        assertThat(cache.cachedBytes()).isLessThanOrEqualTo(10);
+        assertThat(count("hit")).isEqualTo(2.0);
+        assertThat(count("miss")).isEqualTo(4.0);
+        assertThat(registry.get("bridge.storage.cache.evictions").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void concurrentMissesShareOneFetch() throws Exception {
+        StorageObjectCache cache = new StorageObjectCache(registry, true, directory, 1024, 1024);
+        AtomicInteger fetches = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<InputStream> slowLoader = () -> {
+            fetches.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return new ByteArrayInputStream("contract".getBytes(StandardCharsets.UTF_8));
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> reads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                reads.add(executor.submit(() -> read(cache, "files/contract.pdf", slowLoader)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> read : reads) {
+                assertThat(read.get(5, TimeUnit.SECONDS)).isEqualTo("contract");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(fetches.get()).isEqualTo(1);
+        assertThat(count("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void keepsWarmEntriesAcrossRestartsAndSkipsLargeObjects() throws Exception {
+        StorageObjectCache first = new StorageObjectCache(registry, true, directory, 100, 8);
+        read(first, "kept", loader("warm", new AtomicInteger()));
+
+        StorageObjectCache restarted = new StorageObjectCache(new SimpleMeterRegistry(), true, directory, 100, 8);
+        AtomicInteger fetches = new AtomicInteger();
+        assertThat(read(restarted, "kept", loader("cold", fetches))).isEqualTo("warm");
+        assertThat(fetches.get()).isZero();
+        assertThat(restarted.accepts(8)).isTrue();
+        assertThat(restarted.accepts(9)).isFalse();
+        assertThat(StorageObjectCache.disabled().accepts(1)).isFalse();
+    }
+
+    private String read(StorageObjectCache cache, String key, Supplier<InputStream> loader) throws Exception {
+        try (FileChannel channel = cache.open(key, loader)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full.
+            }
+            return new String(buffer.array(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private Supplier<InputStream> loader(String content, AtomicInteger fetches) {
+        return () -> {
+            fetches.incrementAndGet();
+            return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private double count(String result) {
+        return registry.get("bridge.storage.cache.requests").tag("result", result).counter().count();
+    }
+}
@@ -1,18 +1,41 @@
 package com.bridge.backend.domain.file;
 
+import com.bridge.backend.common.api.AppException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class StorageServiceTest {
 
     private final StorageService storageService = new StorageService(
-            "http://localhost:9000",
-            "bridge",
+            new S3StorageBackend("http://localhost:9000", "bridge", "minio", "minio123", "us-east-1", guard()),
+            StorageObjectCache.disabled(),
             "test-presign-secret",
             new ObjectMapper()
     );
@@ -62,4 +85,289 @@ class StorageServiceTest {
 
         assertThat(verified).isFalse();
     }
+
+    @Test
+    void signedUrlsRoundTripThroughStorage() throws Exception {
+        SigV4StandIn storage = SigV4StandIn.start();
+        try {
+            StorageService service = storage.storageService();
+            byte[] bytes = "signed upload".getBytes(StandardCharsets.UTF_8);
+            StorageService.UploadTarget target = service.createUploadTarget(UUID.randomUUID(), 1, "text/plain", bytes.length, "sha256:x");
+
+            assertThat(clientPut(target.uploadUrl(), target.contentType(), bytes)).isEqualTo(200);
+
+            assertThat(service.downloadObject(target.objectKey())).isEqualTo(bytes);
+            service.deleteObject(target.objectKey());
+            assertThat(storage.objects).isEmpty();
+        } finally {
+            storage.stop();
+        }
+    }
+
+    @Test
+    void uploadUrlRejectsBodyOfDifferentSizeOrType() throws Exception {
+        SigV4StandIn storage = SigV4StandIn.start();
+        try {
+            StorageService service = storage.storageService();
+            StorageService.UploadTarget target = service.createUploadTarget(UUID.randomUUID(), 1, "text/plain", 4, "sha256:x");
+
+            assertThat(clientPut(target.uploadUrl(), "text/plain", new byte[5])).isEqualTo(403);
+            assertThat(clientPut(target.uploadUrl(), "application/pdf", new byte[4])).isEqualTo(403);
+            assertThat(clientPut(target.uploadUrl().replace("/v1/", "/v2/"), "text/plain", new byte[4])).isEqualTo(403);
+            assertThat(storage.objects).isEmpty();
+        } finally {
+            storage.stop();
+        }
+    }
+
+    @Test
+    void multipartUploadResumesFromListedParts() throws Exception {
+        SigV4StandIn storage = SigV4StandIn.start();
+        try {
+            StorageService service = storage.storageService();
+            byte[] first = "first-part|".getBytes(StandardCharsets.UTF_8);
+            byte[] second = "second-part".getBytes(StandardCharsets.UTF_8);
+            StorageService.MultipartUpload upload = service.initiateMultipartUpload(
+                    UUID.randomUUID(), 2, "application/zip", first.length + second.length, "sha256:y");
+
+            // Parts arrive out of order, as they do when uploaded in parallel.
+            putPart(service.createUploadPartPresign(upload.objectKey(), upload.uploadId(), 2), second);
+            assertThat(service.listUploadedParts(upload.objectKey(), upload.uploadId()))
+                    .extracting(StorageService.UploadedPart::partNumber)
+                    .containsExactly(2);
+            putPart(service.createUploadPartPresign(upload.objectKey(), upload.uploadId(), 1), first);
+
+            List<StorageService.UploadedPart> parts = service.listUploadedParts(upload.objectKey(), upload.uploadId());
+            assertThat(parts).extracting(StorageService.UploadedPart::size).containsExactly((long) first.length, (long) second.length);
+            service.completeMultipartUpload(upload.objectKey(), upload.uploadId(), parts);
+
+            assertThat(new String(service.downloadObject(upload.objectKey()), StandardCharsets.UTF_8)).isEqualTo("first-part|second-part");
+            assertThat(service.verifyUploadTicketFor(upload.uploadTicket(), UUID.randomUUID(), upload.objectKey())).isFalse();
+        } finally {
+            storage.stop();
+        }
+    }
+
+    @Test
+    void multipartPartSizeKeepsPartCountWithinLimit() {
+        assertThat(StorageService.multipartPartSize(1024L)).isEqualTo(16L * 1024 * 1024);
+        long huge = 400L * 1024 * 1024 * 1024;
+        long partSize = StorageService.multipartPartSize(huge);
+        assertThat((huge + partSize - 1) / partSize).isLessThanOrEqualTo(10000L);
+        assertThat(partSize % (1024 * 1024)).isZero();
+    }
+
+    @Test
+    void serverSideUploadSignsItsOwnRequest() throws Exception {
+        SigV4StandIn storage = SigV4StandIn.start();
+        try {
+            StorageService service = storage.storageService();
+            byte[] bytes = "signed pdf".getBytes(StandardCharsets.UTF_8);
+
+            service.putObject("files/x/v2/signed", "application/pdf", bytes);
+
+            assertThat(service.downloadObject("files/x/v2/signed")).isEqualTo(bytes);
+        } finally {
+            storage.stop();
+        }
+    }
+
+    @Test
+    void unhealthyStorageIsRetriedThenFailsFast() throws Exception {
+        SigV4StandIn storage = SigV4StandIn.start();
+        try {
+            StorageService service = storage.storageService();
+            byte[] bytes = "unlucky".getBytes(StandardCharsets.UTF_8);
+            storage.unavailable = true;
+
+            for (int i = 0; i < 2; i++) {
+                assertThatThrownBy(() -> service.putObject("files/y/v1/doc", "text/plain", bytes))
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("503");
+            }
+            assertThat(storage.requests.get()).isEqualTo(6);
+
+            assertThatThrownBy(() -> service.downloadObject("files/y/v1/doc"))
+                    .isInstanceOfSatisfying(AppException.class, ex -> assertThat(ex.getCode()).isEqualTo("STORAGE_UNAVAILABLE"));
+            assertThat(storage.requests.get()).isEqualTo(6);
+        } finally {
+            storage.stop();
+        }
+    }
+
+    private static StorageGuard guard() {
+        return new StorageGuard(new SimpleMeterRegistry(), 2, 60_000L, 4, 4, 4);
+    }
+
+    private static int clientPut(String url, String contentType, byte[] bytes) throws Exception {
+        return HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(url))
+                        .header("Content-Type", contentType)
+                        .PUT(HttpRequest.BodyPublishers.ofByteArray(bytes))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static void putPart(String url, byte[] bytes) throws Exception {
+        HttpResponse<Void> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(url)).PUT(HttpRequest.BodyPublishers.ofByteArray(bytes)).build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertThat(response.statusCode()).isEqualTo(200);
+    }
+
+    // Minimal S3-compatible endpoint that verifies query-string SigV4 the way storage would.
+    private static final class SigV4StandIn {
+        private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+        private final HttpServer server;
+        private final S3RequestSigner signer = new S3RequestSigner("minio", "minio123", "us-east-1");
+        private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        private final Map<String, TreeMap<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+        private final AtomicInteger requests = new AtomicInteger();
+        private volatile boolean unavailable;
+
+        private SigV4StandIn(HttpServer server) {
+            this.server = server;
+        }
+
+        static SigV4StandIn start() throws IOException {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            SigV4StandIn standIn = new SigV4StandIn(server);
+            server.createContext("/", standIn::handle);
+            server.start();
+            return standIn;
+        }
+
+        StorageService storageService() {
+            S3StorageBackend backend = new S3StorageBackend("http://127.0.0.1:" + server.getAddress().getPort(), "bridge",
+                    "minio", "minio123", "us-east-1", guard());
+            return new StorageService(backend, StorageObjectCache.disabled(), "test-presign-secret", new ObjectMapper());
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            try (exchange; InputStream body = exchange.getRequestBody()) {
+                byte[] bytes = body.readAllBytes();
+                requests.incrementAndGet();
+                if (!verified(exchange)) {
+                    exchange.sendResponseHeaders(403, -1);
+                    return;
+                }
+                if (unavailable) {
+                    exchange.sendResponseHeaders(503, -1);
+                    return;
+                }
+                String path = exchange.getRequestURI().getPath();
+                Map<String, String> query = query(exchange);
+                if (query.containsKey("uploads") || query.containsKey("uploadId")) {
+                    handleMultipart(exchange, path, query, bytes);
+                    return;
+                }
+                switch (exchange.getRequestMethod()) {
+                    case "PUT" -> {
+                        objects.put(path, bytes);
+                        exchange.sendResponseHeaders(200, -1);
+                    }
+                    case "GET" -> {
+                        byte[] stored = objects.get(path);
+                        if (stored == null) {
+                            exchange.sendResponseHeaders(404, -1);
+                            return;
+                        }
+                        exchange.sendResponseHeaders(200, stored.length);
+                        exchange.getResponseBody().write(stored);
+                    }
+                    case "DELETE" -> {
+                        objects.remove(path);
+                        exchange.sendResponseHeaders(204, -1);
+                    }
+                    default -> exchange.sendResponseHeaders(405, -1);
+                }
+            }
+        }
+
+        private void handleMultipart(HttpExchange exchange, String path, Map<String, String> query, byte[] bytes) throws IOException {
+            String method = exchange.getRequestMethod();
+            if ("POST".equals(method) && query.containsKey("uploads")) {
+                String uploadId = UUID.randomUUID().toString();
+                uploads.put(uploadId, new TreeMap<>());
+                respondXml(exchange, "<InitiateMultipartUploadResult><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+                return;
+            }
+            TreeMap<Integer, byte[]> parts = uploads.get(query.get("uploadId"));
+            if (parts == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            switch (method) {
+                case "PUT" -> {
+                    parts.put(Integer.parseInt(query.get("partNumber")), bytes);
+                    exchange.getResponseHeaders().add("ETag", "\"etag-" + query.get("partNumber") + "\"");
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                case "GET" -> {
+                    StringBuilder xml = new StringBuilder("<ListPartsResult><IsTruncated>false</IsTruncated>");
+                    parts.forEach((number, part) -> xml.append("<Part><PartNumber>").append(number)
+                            .append("</PartNumber><ETag>&quot;etag-").append(number).append("&quot;</ETag><Size>")
+                            .append(part.length).append("</Size></Part>"));
+                    respondXml(exchange, xml.append("</ListPartsResult>").toString());
+                }
+                case "POST" -> {
+                    ByteArrayOutputStream assembled = new ByteArrayOutputStream();
+                    for (byte[] part : parts.values()) {
+                        assembled.write(part);
+                    }
+                    objects.put(path, assembled.toByteArray());
+                    uploads.remove(query.get("uploadId"));
+                    respondXml(exchange, "<CompleteMultipartUploadResult/>");
+                }
+                case "DELETE" -> {
+                    uploads.remove(query.get("uploadId"));
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+
+        private void respondXml(HttpExchange exchange, String xml) throws IOException {
+            byte[] body = xml.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+
+        private Map<String, String> query(HttpExchange exchange) {
+            Map<String, String> query = new HashMap<>();
+            for (String pair : exchange.getRequestURI().getRawQuery().split("&")) {
+                String[] parts = pair.split("=", 2);
+                query.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8),
+                        parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "");
+            }
+            return query;
+        }
+
+        private boolean verified(HttpExchange exchange) {
+            Map<String, String> query = query(exchange);
+            Map<String, String> parameters = new HashMap<>(query);
+            parameters.keySet().removeIf(name -> name.startsWith("X-Amz-"));
+            Instant signedAt = Instant.from(AMZ_DATE.parse(query.get("X-Amz-Date")));
+            long expires = Long.parseLong(query.get("X-Amz-Expires"));
+            if (Instant.now().isAfter(signedAt.plusSeconds(expires))) {
+                return false;
+            }
+            Map<String, String> signedHeaders = new HashMap<>();
+            for (String name : query.get("X-Amz-SignedHeaders").split(";")) {
+                if (!"host".equals(name)) {
+                    String value = exchange.getRequestHeaders().getFirst(name);
+                    signedHeaders.put(name, value == null ? "" : value);
+                }
+            }
+            URI base = URI.create("http://" + exchange.getRequestHeaders().getFirst("Host"));
+            String expected = signer.presign(exchange.getRequestMethod(), base, exchange.getRequestURI().getPath(),
+                    parameters, signedHeaders, expires, signedAt);
+            return expected.endsWith("X-Amz-Signature=" + query.get("X-Amz-Signature"));
+        }
+    }
 }
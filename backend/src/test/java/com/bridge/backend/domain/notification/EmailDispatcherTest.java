@@ -0,0 +1,112 @@
+package com.bridge.backend.domain.notification;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private EmailQueueService emailQueueService;
+
+    private final EmailProperties emailProperties = new EmailProperties();
+    private EmailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        emailProperties.setBatchSize(10);
+        emailProperties.setConcurrency(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void claimedMessagesAreDeliveredAndMarkedSent() throws Exception {
+        dispatcher = new EmailDispatcher(emailQueueService, mailSender(ServerSetupTest.SMTP.getPort()), emailProperties);
+        EmailMessageEntity first = message("pm@bridge.local");
+        EmailMessageEntity second = message("client@customer.test");
+        when(emailQueueService.claimDue(anyInt())).thenReturn(List.of(first, second));
+
+        dispatcher.dispatch();
+
+        assertThat(smtp.getReceivedMessages()).hasSize(2);
+        verify(emailQueueService).markSent(List.of(first.getId()));
+        verify(emailQueueService).markSent(List.of(second.getId()));
+        verify(emailQueueService, never()).markFailed(any(), anyString());
+    }
+
+    @Test
+    void messagesOverDomainLimitAreDeferred() {
+        emailProperties.setPerDomainPerMinute(2);
+        dispatcher = new EmailDispatcher(emailQueueService, mailSender(ServerSetupTest.SMTP.getPort()), emailProperties);
+        EmailMessageEntity first = message("a@bulk.test");
+        EmailMessageEntity second = message("b@bulk.test");
+        EmailMessageEntity third = message("c@bulk.test");
+        when(emailQueueService.claimDue(anyInt())).thenReturn(List.of(first, second, third));
+
+        dispatcher.dispatch();
+
+        assertThat(smtp.getReceivedMessages()).hasSize(2);
+        verify(emailQueueService).defer(eq(List.of(third.getId())), any());
+    }
+
+    @Test
+    void unreachableServerFailsEveryMessageInTheBatch() {
+        dispatcher = new EmailDispatcher(emailQueueService, mailSender(ServerSetupTest.SMTP.getPort() + 7), emailProperties);
+        EmailMessageEntity first = message("a@bridge.local");
+        EmailMessageEntity second = message("b@bridge.local");
+        when(emailQueueService.claimDue(anyInt())).thenReturn(List.of(first, second));
+
+        dispatcher.dispatch();
+
+        verify(emailQueueService, times(2)).markFailed(any(), anyString());
+        verify(emailQueueService, never()).markSent(any());
+    }
+
+    private JavaMailSenderImpl mailSender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(port);
+        sender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        return sender;
+    }
+
+    private EmailMessageEntity message(String recipient) {
+        EmailMessageEntity message = new EmailMessageEntity();
+        message.setId(UUID.randomUUID());
+        message.setRecipient(recipient);
+        message.setRecipientDomain(recipient.substring(recipient.indexOf('@') + 1));
+        message.setSubject("[Bridge] 요청 생성");
+        message.setBody("요청 생성\n\n새 요청이 등록되었습니다.");
+        return message;
+    }
+}
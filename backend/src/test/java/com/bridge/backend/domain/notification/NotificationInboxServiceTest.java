@@ -0,0 +1,90 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.common.api.AppException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationInboxServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private SharedNotificationRepository sharedNotificationRepository;
+    @Mock
+    private NotificationReceiptRepository notificationReceiptRepository;
+    @Mock
+    private NotificationReadCursorRepository notificationReadCursorRepository;
+    @Mock
+    private NotificationUnreadCounter notificationUnreadCounter;
+    @Mock
+    private NotificationPreferenceCache notificationPreferenceCache;
+
+    @InjectMocks
+    private NotificationInboxService notificationInboxService;
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void bulkReadDecrementsCounterByRowsActuallyUpdated() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(notificationRepository.markReadByIds(eq(tenantId), eq(userId), eq(ids), any(OffsetDateTime.class))).thenReturn(2);
+        when(sharedNotificationRepository.findVisibleToUserByIds(eq(ids), eq(tenantId), eq(userId), anyCollection(), anyCollection()))
+                .thenReturn(List.of());
+
+        int updated = notificationInboxService.markRead(tenantId, userId, ids);
+
+        assertThat(updated).isEqualTo(2);
+        verify(notificationUnreadCounter).decrement(tenantId, userId, 2);
+    }
+
+    @Test
+    void sharedNotificationAlreadyCoveredByCursorIsNotCountedTwice() {
+        SharedNotificationEntity shared = new SharedNotificationEntity();
+        shared.setId(UUID.randomUUID());
+        shared.setCreatedAt(OffsetDateTime.now().minusHours(1));
+        NotificationReadCursorEntity cursor = new NotificationReadCursorEntity();
+        cursor.setReadThrough(OffsetDateTime.now());
+        when(notificationRepository.findByIdAndTenantIdAndDeletedAtIsNull(shared.getId(), tenantId)).thenReturn(Optional.empty());
+        when(sharedNotificationRepository.findVisibleToUserByIds(eq(List.of(shared.getId())), eq(tenantId), eq(userId), anyCollection(), anyCollection()))
+                .thenReturn(List.of(shared));
+        when(notificationReadCursorRepository.findByTenantIdAndUserId(tenantId, userId)).thenReturn(Optional.of(cursor));
+        when(notificationReceiptRepository.findByUserIdAndNotificationIdIn(eq(userId), anyList())).thenReturn(List.of());
+
+        notificationInboxService.markRead(tenantId, userId, shared.getId());
+
+        verify(notificationReceiptRepository).saveAll(List.of());
+        verify(notificationUnreadCounter).decrement(tenantId, userId, 0);
+    }
+
+    @Test
+    void unknownNotificationIsNotFound() {
+        UUID id = UUID.randomUUID();
+        when(notificationRepository.findByIdAndTenantIdAndDeletedAtIsNull(id, tenantId)).thenReturn(Optional.empty());
+        when(sharedNotificationRepository.findVisibleToUserByIds(eq(List.of(id)), eq(tenantId), eq(userId), anyCollection(), anyCollection()))
+                .thenReturn(List.of());
+
+        assertThatThrownBy(() -> notificationInboxService.markRead(tenantId, userId, id))
+                .isInstanceOf(AppException.class);
+        verify(notificationUnreadCounter, never()).decrement(any(), any(), any(Long.class));
+    }
+}
@@ -0,0 +1,110 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.config.SecurityProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationSocketServiceTest {
+
+    @Mock
+    private NotificationStreamService streamService;
+    @Mock
+    private NotificationInboxService notificationInboxService;
+
+    @Test
+    void ackMarksNotificationsReadAndNotifiesOtherTabs() {
+        NotificationSocketService socketService = newService();
+        RecordingConnection connection = new RecordingConnection();
+        UUID tenantId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        UUID notificationId = UUID.randomUUID();
+        when(notificationInboxService.markRead(tenantId, userId, List.of(notificationId))).thenReturn(1);
+
+        socketService.handleClientMessage(connection, tenantId, userId, "pm",
+                "{\"type\":\"ack\",\"ids\":[\"" + notificationId + "\"]}");
+
+        verify(streamService).sendToScope(eq(tenantId), eq(userId), eq("pm"), eq("notification.read"), eq(Map.of("ids", List.of(notificationId))));
+        assertThat(connection.events).singleElement().satisfies(event -> {
+            assertThat(event.name()).isEqualTo("socket.ack");
+            assertThat(event.data()).isEqualTo(Map.of("updated", 1));
+        });
+    }
+
+    @Test
+    void subscribeFiltersByProjectAndEventType() {
+        NotificationSocketService socketService = newService();
+        RecordingConnection connection = new RecordingConnection();
+        UUID projectId = UUID.randomUUID();
+
+        socketService.handleClientMessage(connection, UUID.randomUUID(), UUID.randomUUID(), "pm",
+                "{\"type\":\"subscribe\",\"projectIds\":[\"" + projectId + "\"],\"eventTypes\":[\"request.created\"]}");
+        connection.events.clear();
+        connection.enqueue(StreamEvent.of("n-1", "notification.created", Map.of("projectId", projectId, "sourceEventType", "request.created")));
+        connection.enqueue(StreamEvent.of("n-2", "notification.created", Map.of("projectId", UUID.randomUUID(), "sourceEventType", "request.created")));
+        connection.enqueue(StreamEvent.of("n-3", "notification.created", Map.of("projectId", projectId, "sourceEventType", "post.created")));
+        connection.enqueue(StreamEvent.of(null, "notification.read", Map.of("all", true)));
+
+        assertThat(connection.events).extracting(StreamEvent::name).containsExactly("notification.created", "notification.read");
+        assertThat(connection.events.get(0).id()).isEqualTo("n-1");
+    }
+
+    @Test
+    void unknownMessageIsReportedOnTheSocket() {
+        NotificationSocketService socketService = newService();
+        RecordingConnection connection = new RecordingConnection();
+
+        socketService.handleClientMessage(connection, UUID.randomUUID(), UUID.randomUUID(), "pm", "{\"type\":\"subscribe\",\"eventTypes\":[\"nope\"]}");
+
+        assertThat(connection.events).singleElement().satisfies(event -> {
+            assertThat(event.name()).isEqualTo("socket.error");
+            assertThat(event.data()).asInstanceOf(InstanceOfAssertFactories.MAP).containsEntry("code", "UNKNOWN_EVENT_TYPE");
+        });
+        verifyNoInteractions(notificationInboxService);
+    }
+
+    private NotificationSocketService newService() {
+        return new NotificationSocketService(streamService, notificationInboxService, new SecurityProperties(), new ObjectMapper(), true, 65536);
+    }
+
+    // Captures what would be written, in order, without a real socket.
+    private static final class RecordingConnection extends StreamConnection {
+        private final List<StreamEvent> events = new ArrayList<>();
+
+        private RecordingConnection() {
+            super(16, OverflowPolicy.DROP_OLDEST, Runnable::run, new Listener() {
+                @Override
+                public void onDropped(StreamConnection connection) {
+                }
+
+                @Override
+                public void onClosed(StreamConnection connection, Exception cause) {
+                }
+            });
+        }
+
+        @Override
+        void write(StreamEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        void terminate(Exception cause) {
+        }
+    }
+}
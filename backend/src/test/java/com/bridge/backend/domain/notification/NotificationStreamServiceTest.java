@@ -0,0 +1,113 @@
+package com.bridge.backend.domain.notification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationStreamServiceTest {
+
+    private final InMemoryNotificationStreamBus streamBus = new InMemoryNotificationStreamBus();
+    private final NotificationStreamService streamService = newNode();
+
+    @Test
+    void secondTabDoesNotReplaceFirstTab() {
+        UUID tenantId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+
+        SseEmitter first = streamService.connect(tenantId, userId, "pm");
+        SseEmitter second = streamService.connect(tenantId, userId, "pm");
+        streamService.connect(tenantId, userId, "client");
+
+        assertThat(first).isNotSameAs(second);
+        assertThat(streamService.connectionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void sendingToUserWithoutConnectionsIsANoOp() {
+        streamService.connect(UUID.randomUUID(), UUID.randomUUID(), "pm");
+
+        streamService.send(UUID.randomUUID(), UUID.randomUUID(), "notification.created", Map.of("id", "x"));
+        streamService.sendToScope(UUID.randomUUID(), UUID.randomUUID(), "pm", "notification.created", Map.of("id", "x"));
+        streamService.heartbeat();
+
+        assertThat(streamService.connectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void sendsAreForwardedToOtherNodesButNotEchoedBack() {
+        NotificationStreamService otherNode = newNode();
+        List<NotificationStreamMessage> published = new ArrayList<>();
+        streamBus.subscribe(published::add);
+        UUID tenantId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        otherNode.connect(tenantId, userId, "pm");
+
+        streamService.sendToScope(tenantId, userId, "pm", "notification.created", Map.of("id", "x"));
+
+        assertThat(published).singleElement().satisfies(message -> {
+            assertThat(message.originNodeId()).isEqualTo(streamService.nodeId());
+            assertThat(message.appScope()).isEqualTo("pm");
+        });
+        assertThat(otherNode.nodeId()).isNotEqualTo(streamService.nodeId());
+    }
+
+    @Test
+    void transactionalSendsReachLocalClientsOnlyAfterCommit() {
+        UUID tenantId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        RecordingConnection connection = streamService.attach(tenantId, userId, "pm", null, (capacity, policy, executor, listener) ->
+                new RecordingConnection(capacity, policy, listener));
+        connection.events.clear();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            streamService.sendToScope(tenantId, userId, "pm", "notification.created", Map.of("id", "rolled-back"));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(connection.events).isEmpty();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            streamService.sendToScope(tenantId, userId, "pm", "notification.created", Map.of("id", "first"));
+            streamService.sendToScope(tenantId, userId, "pm", "notification.updated", Map.of("id", "first"));
+            assertThat(connection.events).isEmpty();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(connection.events).extracting(StreamEvent::name).containsExactly("notification.created", "notification.updated");
+    }
+
+    private NotificationStreamService newNode() {
+        return new NotificationStreamService(new SimpleMeterRegistry(), streamBus, 16, "DROP_OLDEST", 10, 60000L);
+    }
+
+    private static final class RecordingConnection extends StreamConnection {
+        private final List<StreamEvent> events = new ArrayList<>();
+
+        private RecordingConnection(int capacity, OverflowPolicy overflowPolicy, Listener listener) {
+            super(capacity, overflowPolicy, Runnable::run, listener);
+        }
+
+        @Override
+        void write(StreamEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        void terminate(Exception cause) {
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.common.model.BaseEntity;
+import com.bridge.backend.common.model.enums.MemberRole;
+import com.bridge.backend.common.model.enums.NotificationAudience;
+import com.bridge.backend.common.tenant.MembershipSnapshot;
+import com.bridge.backend.common.tenant.MembershipSnapshotCache;
+import com.bridge.backend.domain.auth.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxEventHandlerTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private SharedNotificationRepository sharedNotificationRepository;
+    @Mock
+    private NotificationStreamService notificationStreamService;
+    @Mock
+    private NotificationUnreadCounter notificationUnreadCounter;
+    @Mock
+    private NotificationPreferenceCache notificationPreferenceCache;
+    @Mock
+    private EmailNotificationSender emailNotificationSender;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private MembershipSnapshotCache.View memberships;
+
+    private final OutboxProperties outboxProperties = new OutboxProperties();
+    private final UUID tenantId = UUID.randomUUID();
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID actorId = UUID.randomUUID();
+    private final UUID clientOwnerId = UUID.randomUUID();
+    private OutboxEventHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new OutboxEventHandler(
+                notificationRepository,
+                sharedNotificationRepository,
+                notificationStreamService,
+                notificationUnreadCounter,
+                notificationPreferenceCache,
+                emailNotificationSender,
+                userRepository,
+                outboxProperties,
+                new ObjectMapper()
+        );
+        MembershipSnapshot project = MembershipSnapshot.of(List.of(
+                new MembershipSnapshot.Member(tenantId, actorId, MemberRole.PM_OWNER),
+                new MembershipSnapshot.Member(tenantId, clientOwnerId, MemberRole.CLIENT_OWNER),
+                new MembershipSnapshot.Member(tenantId, UUID.randomUUID(), MemberRole.CLIENT_MEMBER)
+        ));
+        when(memberships.tenantMembers(tenantId)).thenReturn(project);
+        when(memberships.projectMembers(projectId)).thenReturn(project);
+        when(notificationPreferenceCache.forTenant(tenantId)).thenReturn(preferences(Map.of()));
+    }
+
+    @Test
+    void smallAudienceGetsOneRowPerRecipient() {
+        outboxProperties.setFanOutOnReadThreshold(10);
+        when(notificationRepository.save(any(NotificationEntity.class))).thenAnswer(invocation -> persisted(invocation.getArgument(0)));
+
+        handler.handle(List.of(event()), memberships);
+
+        verify(notificationRepository, times(2)).save(any(NotificationEntity.class));
+        verify(sharedNotificationRepository, never()).save(any());
+        verify(notificationUnreadCounter).increment(eq(tenantId), argThat(userIds -> userIds.size() == 2));
+    }
+
+    @Test
+    void largeAudienceStoresSingleSharedRow() {
+        outboxProperties.setFanOutOnReadThreshold(2);
+        when(sharedNotificationRepository.save(any(SharedNotificationEntity.class))).thenAnswer(invocation -> persisted(invocation.getArgument(0)));
+
+        handler.handle(List.of(event()), memberships);
+
+        verify(notificationRepository, never()).save(any());
+        verify(sharedNotificationRepository).save(argThat(shared ->
+                shared.getAudience() == NotificationAudience.CLIENT && projectId.equals(shared.getProjectId())));
+        verify(notificationStreamService, times(2)).sendToScope(eq(tenantId), any(), eq("client"), eq("notification.created"), any());
+    }
+
+    @Test
+    void unreadRowWithinWindowIsCoalescedInsteadOfDuplicated() {
+        outboxProperties.setFanOutOnReadThreshold(10);
+        OutboxEventEntity event = event();
+        NotificationEntity open = openNotification(event);
+        when(notificationRepository.coalesceUnread(eq(open.getId()), eq(1), any(), any(), any())).thenReturn(1);
+        when(notificationRepository.save(any(NotificationEntity.class))).thenAnswer(invocation -> persisted(invocation.getArgument(0)));
+
+        handler.handle(List.of(event), memberships);
+
+        // Only the coalescing columns are written; the loaded row is never saved back over a concurrent read.
+        verify(notificationRepository).coalesceUnread(eq(open.getId()), eq(1), any(), any(), any());
+        verify(notificationRepository, never()).save(open);
+        verify(notificationStreamService).sendToScope(eq(tenantId), eq(clientOwnerId), eq("client"), eq("notification.updated"),
+                argThat(payload -> payload instanceof Map<?, ?> map && Integer.valueOf(2).equals(map.get("eventCount"))));
+        verify(notificationUnreadCounter).increment(eq(tenantId), argThat(userIds -> userIds.size() == 1 && !userIds.contains(clientOwnerId)));
+    }
+
+    @Test
+    void rowReadBeforeCoalescingGetsANewNotification() {
+        outboxProperties.setFanOutOnReadThreshold(10);
+        OutboxEventEntity event = event();
+        NotificationEntity open = openNotification(event);
+        when(notificationRepository.coalesceUnread(eq(open.getId()), eq(1), any(), any(), any())).thenReturn(0);
+        when(notificationRepository.save(any(NotificationEntity.class))).thenAnswer(invocation -> persisted(invocation.getArgument(0)));
+
+        handler.handle(List.of(event), memberships);
+
+        verify(notificationRepository, times(2)).save(any(NotificationEntity.class));
+        verify(notificationStreamService, never()).sendToScope(any(), any(), any(), eq("notification.updated"), any());
+        verify(notificationUnreadCounter).increment(eq(tenantId), argThat(userIds -> userIds.size() == 2 && userIds.contains(clientOwnerId)));
+    }
+
+    @Test
+    void mutedRecipientGetsNoRowAndNoPush() {
+        outboxProperties.setFanOutOnReadThreshold(10);
+        OutboxEventEntity event = event();
+        when(notificationPreferenceCache.forTenant(tenantId))
+                .thenReturn(preferences(Map.of(clientOwnerId, NotificationPreferenceMask.of(event.getEventType()))));
+        when(notificationRepository.save(any(NotificationEntity.class))).thenAnswer(invocation -> persisted(invocation.getArgument(0)));
+
+        handler.handle(List.of(event), memberships);
+
+        verify(notificationRepository, times(1)).save(any(NotificationEntity.class));
+        verify(notificationStreamService, never()).sendToScope(eq(tenantId), eq(clientOwnerId), any(), any(), any());
+    }
+
+    private NotificationEntity openNotification(OutboxEventEntity event) {
+        NotificationEntity open = persisted(new NotificationEntity());
+        open.setTenantId(tenantId);
+        open.setUserId(clientOwnerId);
+        open.setEventType(event.getEventType());
+        open.setTitle("t");
+        open.setMessage("m");
+        open.setSourceEventIds("[\"" + UUID.randomUUID() + "\"]");
+        when(notificationRepository.findCoalescible(eq(tenantId), eq(projectId), eq(event.getEventType()), any(), any()))
+                .thenReturn(List.of(open));
+        return open;
+    }
+
+    private NotificationPreferenceCache.TenantPreferences preferences(Map<UUID, Long> defaultMasks) {
+        return new NotificationPreferenceCache.TenantPreferences(defaultMasks, Map.of());
+    }
+
+    private <T extends BaseEntity> T persisted(T entity) {
+        entity.setId(UUID.randomUUID());
+        entity.setCreatedAt(OffsetDateTime.now());
+        return entity;
+    }
+
+    private OutboxEventEntity event() {
+        OutboxEventEntity event = new OutboxEventEntity();
+        event.setId(UUID.randomUUID());
+        event.setTenantId(tenantId);
+        event.setProjectId(projectId);
+        event.setActorUserId(actorId);
+        event.setEventType("file.version.created");
+        event.setEventPayload("{\"title\":\"t\",\"message\":\"m\",\"payload\":{}}");
+        return event;
+    }
+}
@@ -0,0 +1,177 @@
+package com.bridge.backend.domain.notification;
+
+import com.bridge.backend.common.tenant.MembershipSnapshotCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private OutboxDeadLetterRepository outboxDeadLetterRepository;
+    @Mock
+    private OutboxEventHandler outboxEventHandler;
+    @Mock
+    private MembershipSnapshotCache membershipSnapshotCache;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final OutboxProperties outboxProperties = new OutboxProperties();
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxProperties.setMaxAttempts(3);
+        outboxService = new OutboxService(
+                outboxEventRepository,
+                outboxDeadLetterRepository,
+                outboxEventHandler,
+                membershipSnapshotCache,
+                outboxProperties,
+                eventPublisher,
+                new ObjectMapper()
+        );
+    }
+
+    @Test
+    void failingEventDoesNotBlockRestOfBatch() {
+        OutboxEventEntity poison = event(0);
+        OutboxEventEntity healthy = event(0);
+        stubClaim(poison, healthy);
+        doThrow(new IllegalArgumentException("Invalid UUID string: null")).when(outboxEventHandler).handle(eq(List.of(poison)), any());
+
+        int consumed = outboxService.consumePartition(0, 4, 100);
+
+        assertThat(consumed).isEqualTo(2);
+        assertThat(poison.getProcessedAt()).isNull();
+        assertThat(poison.getAttemptCount()).isEqualTo(1);
+        assertThat(poison.getNextAttemptAt()).isNotNull();
+        assertThat(poison.getLastError()).contains("Invalid UUID string");
+        assertThat(healthy.getProcessedAt()).isNotNull();
+        verify(outboxDeadLetterRepository, never()).save(any(OutboxDeadLetterEntity.class));
+    }
+
+    @Test
+    void eventMovesToDeadLetterAfterMaxAttempts() {
+        OutboxEventEntity poison = event(2);
+        stubClaim(poison);
+        doThrow(new IllegalStateException("broken payload")).when(outboxEventHandler).handle(eq(List.of(poison)), any());
+
+        outboxService.consumePartition(1, 4, 100);
+
+        assertThat(poison.getAttemptCount()).isEqualTo(3);
+        assertThat(poison.getProcessedAt()).isNotNull();
+        assertThat(poison.getNextAttemptAt()).isNull();
+        verify(outboxDeadLetterRepository).save(argThat(deadLetter ->
+                deadLetter.getOutboxEventId().equals(poison.getId())
+                        && deadLetter.getAttemptCount() == 3
+                        && deadLetter.getLastError().contains("broken payload")));
+    }
+
+    @Test
+    void sameProjectBurstIsHandledAsOneGroupAndFallsBackOnFailure() {
+        UUID tenantId = UUID.randomUUID();
+        UUID projectId = UUID.randomUUID();
+        UUID actorId = UUID.randomUUID();
+        OutboxEventEntity first = projectEvent(tenantId, projectId, actorId);
+        OutboxEventEntity poison = projectEvent(tenantId, projectId, actorId);
+        stubClaim(first, poison);
+        doAnswer(invocation -> {
+            List<OutboxEventEntity> group = invocation.getArgument(0);
+            if (group.contains(poison)) {
+                throw new IllegalStateException("broken payload");
+            }
+            return null;
+        }).when(outboxEventHandler).handle(any(), any());
+
+        outboxService.consumePartition(0, 4, 100);
+
+        verify(outboxEventHandler).handle(eq(List.of(first, poison)), any());
+        verify(outboxEventHandler).handle(eq(List.of(first)), any());
+        assertThat(first.getProcessedAt()).isNotNull();
+        assertThat(poison.getProcessedAt()).isNull();
+        assertThat(poison.getAttemptCount()).isEqualTo(1);
+    }
+
+    @Test
+    void coalescingNeverReordersEventsOfATenant() {
+        UUID tenantId = UUID.randomUUID();
+        UUID projectId = UUID.randomUUID();
+        UUID actorId = UUID.randomUUID();
+        OutboxEventEntity first = projectEvent(tenantId, projectId, actorId);
+        OutboxEventEntity between = projectEvent(tenantId, projectId, actorId);
+        between.setEventType("post.created");
+        OutboxEventEntity last = projectEvent(tenantId, projectId, actorId);
+        OutboxEventEntity otherTenant = event(0);
+        OutboxEventEntity sameRun = projectEvent(tenantId, projectId, actorId);
+        stubClaim(first, between, last, otherTenant, sameRun);
+        List<List<OutboxEventEntity>> handled = new ArrayList<>();
+        doAnswer(invocation -> handled.add(invocation.getArgument(0))).when(outboxEventHandler).handle(any(), any());
+
+        outboxService.consumePartition(0, 4, 100);
+
+        // Another tenant's event does not break a run; an event of the same tenant does.
+        assertThat(handled).containsExactly(List.of(first), List.of(between), List.of(last, sameRun), List.of(otherTenant));
+    }
+
+    @Test
+    void partitionLockedByAnotherNodeIsSkipped() {
+        when(outboxEventRepository.tryLockPartition(anyInt(), anyInt())).thenReturn(false);
+
+        int consumed = outboxService.consumePartition(2, 4, 100);
+
+        assertThat(consumed).isZero();
+        verify(outboxEventRepository, never()).claimUnprocessedPartitionForUpdate(anyInt(), anyInt(), anyInt());
+    }
+
+    private void stubClaim(OutboxEventEntity... events) {
+        List<UUID> ids = Arrays.stream(events).map(OutboxEventEntity::getId).toList();
+        when(outboxEventRepository.tryLockPartition(anyInt(), anyInt())).thenReturn(true);
+        when(outboxEventRepository.claimUnprocessedPartitionForUpdate(anyInt(), anyInt(), anyInt())).thenReturn(ids);
+        when(outboxEventRepository.findByIdInOrderByCreatedAtAsc(ids)).thenReturn(List.of(events));
+    }
+
+    private OutboxEventEntity projectEvent(UUID tenantId, UUID projectId, UUID actorId) {
+        OutboxEventEntity event = event(0);
+        event.setTenantId(tenantId);
+        event.setProjectId(projectId);
+        event.setActorUserId(actorId);
+        event.setEventType("file.version.created");
+        return event;
+    }
+
+    private OutboxEventEntity event(int attemptCount) {
+        OutboxEventEntity event = new OutboxEventEntity();
+        event.setId(UUID.randomUUID());
+        event.setTenantId(UUID.randomUUID());
+        event.setAggregateType("post");
+        event.setAggregateId(UUID.randomUUID());
+        event.setEventType("post.created");
+        event.setEventPayload("{}");
+        event.setAttemptCount(attemptCount);
+        return event;
+    }
+}
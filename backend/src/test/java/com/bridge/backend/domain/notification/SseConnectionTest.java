@@ -0,0 +1,94 @@
+package com.bridge.backend.domain.notification;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseConnectionTest {
+
+    @Test
+    void slowClientDropsOldestWithoutBlockingPublisher() throws Exception {
+        BlockingEmitter emitter = new BlockingEmitter();
+        RecordingListener listener = new RecordingListener();
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            SseConnection connection = new SseConnection(emitter, 2, StreamConnection.OverflowPolicy.DROP_OLDEST, writer, listener);
+
+            connection.enqueue(event("first"));
+            assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+            connection.enqueue(event("second"));
+            connection.enqueue(event("third"));
+            connection.enqueue(event("fourth"));
+
+            assertThat(connection.queueDepth()).isEqualTo(2);
+            assertThat(listener.dropped.get()).isEqualTo(1);
+            assertThat(connection.isClosed()).isFalse();
+        } finally {
+            emitter.release.countDown();
+            writer.shutdownNow();
+        }
+    }
+
+    @Test
+    void disconnectPolicyClosesConnectionWhenQueueIsFull() throws Exception {
+        BlockingEmitter emitter = new BlockingEmitter();
+        RecordingListener listener = new RecordingListener();
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            SseConnection connection = new SseConnection(emitter, 1, StreamConnection.OverflowPolicy.DISCONNECT, writer, listener);
+
+            connection.enqueue(event("first"));
+            assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+            connection.enqueue(event("second"));
+            connection.enqueue(event("third"));
+
+            assertThat(connection.isClosed()).isTrue();
+            assertThat(listener.closed.get()).isEqualTo(1);
+        } finally {
+            emitter.release.countDown();
+            writer.shutdownNow();
+        }
+    }
+
+    private StreamEvent event(String id) {
+        return StreamEvent.of(id, "notification.created", id);
+    }
+
+    private static final class BlockingEmitter extends SseEmitter {
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class RecordingListener implements StreamConnection.Listener {
+        private final AtomicInteger dropped = new AtomicInteger();
+        private final AtomicInteger closed = new AtomicInteger();
+
+        @Override
+        public void onDropped(StreamConnection connection) {
+            dropped.incrementAndGet();
+        }
+
+        @Override
+        public void onClosed(StreamConnection connection, Exception cause) {
+            closed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.bridge.backend.domain.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseReplayBufferTest {
+
+    @Test
+    void replaysOnlyEventsAfterLastEventIdForTheScope() {
+        SseReplayBuffer buffer = new SseReplayBuffer(10, 60000L, 100L, 0L);
+        buffer.append(101L, "pm", "notification.created", Map.of("id", "a"), 0L);
+        buffer.append(102L, "client", "notification.created", Map.of("id", "b"), 0L);
+        buffer.append(103L, null, "notification.read", Map.of("id", "c"), 0L);
+
+        assertThat(buffer.since(101L, "pm", 1000L))
+                .extracting(SseReplayBuffer.Entry::id)
+                .containsExactly(103L);
+        assertThat(buffer.since(100L, "client", 1000L))
+                .extracting(SseReplayBuffer.Entry::id)
+                .containsExactly(102L, 103L);
+    }
+
+    @Test
+    void gapIsNotCoveredOnceEventsAreEvictedOrExpired() {
+        SseReplayBuffer buffer = new SseReplayBuffer(2, 60000L, 100L, 0L);
+        buffer.append(101L, "pm", "notification.created", Map.of(), 0L);
+        buffer.append(102L, "pm", "notification.created", Map.of(), 0L);
+        buffer.append(103L, "pm", "notification.created", Map.of(), 30000L);
+
+        assertThat(buffer.since(100L, "pm", 30000L)).isNull();
+        assertThat(buffer.since(101L, "pm", 30000L)).hasSize(2);
+        assertThat(buffer.since(101L, "pm", 61000L)).isNull();
+        assertThat(buffer.since(102L, "pm", 61000L)).extracting(SseReplayBuffer.Entry::id).containsExactly(103L);
+    }
+
+    @Test
+    void idleOnlyAfterTtlSinceLastActivity() {
+        SseReplayBuffer buffer = new SseReplayBuffer(2, 60000L, 100L, 0L);
+        buffer.append(101L, "pm", "notification.created", Map.of(), 0L);
+        buffer.touch(50000L);
+
+        assertThat(buffer.isIdle(61000L)).isFalse();
+        assertThat(buffer.isIdle(111000L)).isTrue();
+    }
+}
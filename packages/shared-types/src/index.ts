@@ -45,4 +45,5 @@ export type FileCommentStatus = "OPEN" | "RESOLVED";
 export type NotificationEventType =
   | "notification.created"
   | "notification.read"
-  | "system.ping";
+  | "system.ping"
+  | "system.resync";